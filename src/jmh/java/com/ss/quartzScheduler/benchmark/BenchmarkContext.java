@@ -0,0 +1,50 @@
+package com.ss.quartzScheduler.benchmark;
+
+import com.ss.quartzScheduler.QuartzSchedulerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application without the web layer for benchmarks that need the real persistence and
+ * scheduler wiring. Each context gets its own in-memory H2 database.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        List<String> allProperties = new ArrayList<>();
+        allProperties.add("spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+        allProperties.add("logging.level.root=WARN");
+        allProperties.addAll(List.of(properties));
+
+        return new SpringApplicationBuilder(QuartzSchedulerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(allProperties.toArray(new String[0]))
+                .run();
+    }
+
+    /**
+     * Delete a directory created by a benchmark, such as a write-ahead log directory
+     */
+    static void deleteDirectory(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
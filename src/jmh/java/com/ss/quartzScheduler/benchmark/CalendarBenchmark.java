@@ -0,0 +1,67 @@
+package com.ss.quartzScheduler.benchmark;
+
+import com.ss.quartzScheduler.calendar.BitmapCalendar;
+import com.ss.quartzScheduler.model.enums.CalendarType;
+import org.openjdk.jmh.annotations.*;
+import org.quartz.impl.calendar.HolidayCalendar;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for checking fire times against ten years of holidays: Quartz's HolidayCalendar, which looks up
+ * the start of the day in a sorted set of dates, and the BitmapCalendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CalendarBenchmark {
+
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+    private HolidayCalendar holidayCalendar;
+    private BitmapCalendar bitmapCalendar;
+    private long from;
+    private long to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        holidayCalendar = new HolidayCalendar(TimeZone.getTimeZone(ZONE));
+        List<LocalDate> holidays = new ArrayList<>();
+        for (LocalDate date = LocalDate.of(2026, 1, 1); date.getYear() < 2036; date = date.plusDays(37)) {
+            holidays.add(date);
+            holidayCalendar.addExcludedDate(Date.from(date.atStartOfDay(ZONE).toInstant()));
+        }
+        bitmapCalendar = new BitmapCalendar(CalendarType.HOLIDAY, "benchmark", TimeZone.getTimeZone(ZONE),
+                holidays, List.of(), null, null);
+
+        from = LocalDate.of(2026, 1, 1).atStartOfDay(ZONE).toInstant().toEpochMilli();
+        to = LocalDate.of(2035, 12, 31).atStartOfDay(ZONE).toInstant().toEpochMilli();
+    }
+
+    @Benchmark
+    public boolean holidayCalendarIsTimeIncluded() {
+        return holidayCalendar.isTimeIncluded(ThreadLocalRandom.current().nextLong(from, to));
+    }
+
+    @Benchmark
+    public boolean bitmapCalendarIsTimeIncluded() {
+        return bitmapCalendar.isTimeIncluded(ThreadLocalRandom.current().nextLong(from, to));
+    }
+
+    @Benchmark
+    public long holidayCalendarNextIncludedTime() {
+        return holidayCalendar.getNextIncludedTime(ThreadLocalRandom.current().nextLong(from, to));
+    }
+
+    @Benchmark
+    public long bitmapCalendarNextIncludedTime() {
+        return bitmapCalendar.getNextIncludedTime(ThreadLocalRandom.current().nextLong(from, to));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ss.quartzScheduler.benchmark;
+
+import com.ss.quartzScheduler.util.CronUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the CronUtil methods used on the scheduling and preview paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CronUtilBenchmark {
+
+    @Param({"0 0/5 * * * ?", "0 0 12 ? * 2,4,6", "0 0 9 1 * ?"})
+    public String cronExpression;
+
+    private final List<Integer> daysOfWeek = List.of(2, 4, 6);
+    private final LocalDateTime dateTime = LocalDateTime.of(2025, 9, 8, 10, 30, 15);
+
+    @Benchmark
+    public String generateCronDaily() {
+        return CronUtil.generateCron(0, 30, 9, 1, 1, 2025, true, "daily", null);
+    }
+
+    @Benchmark
+    public String generateCronWeekly() {
+        return CronUtil.generateCron(0, 30, 9, 1, 1, 2025, true, "weekly", daysOfWeek);
+    }
+
+    @Benchmark
+    public String decodeCron() {
+        return CronUtil.decodeCron(cronExpression);
+    }
+
+    @Benchmark
+    public LocalDateTime[] getNextExecutionTimes() {
+        return CronUtil.getNextExecutionTimes(cronExpression, 10);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return CronUtil.formatDate(dateTime);
+    }
+}
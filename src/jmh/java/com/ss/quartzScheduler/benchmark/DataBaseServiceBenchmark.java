@@ -0,0 +1,82 @@
+package com.ss.quartzScheduler.benchmark;
+
+import com.ss.quartzScheduler.job.HelloWorldJob;
+import com.ss.quartzScheduler.model.enums.JobStatus;
+import com.ss.quartzScheduler.service.DataBaseService;
+import org.openjdk.jmh.annotations.*;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.quartz.JobBuilder.newJob;
+
+/**
+ * Benchmarks for the DataBaseService calls made on every job fire, against in-memory H2.
+ * These measure the cost paid by the calling job thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataBaseServiceBenchmark {
+
+    // Number of distinct jobs written to, so status writes are spread over several rows
+    @Param({"1", "100"})
+    public int jobCount;
+
+    private ConfigurableApplicationContext context;
+    private DataBaseService dataBaseService;
+    private JobExecutionContext[] executionContexts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("dbServiceBenchmark");
+        dataBaseService = DataBaseService.getInstance();
+
+        Date now = new Date();
+        executionContexts = new JobExecutionContext[jobCount];
+        for (int i = 0; i < jobCount; i++) {
+            JobDetail jobDetail = newJob(HelloWorldJob.class).withIdentity("benchJob" + i, "benchGroup").build();
+            OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger()
+                    .withIdentity("benchTrigger" + i, "benchGroup")
+                    .withSchedule(SimpleScheduleBuilder.repeatSecondlyForever())
+                    .build();
+            TriggerFiredBundle bundle = new TriggerFiredBundle(jobDetail, trigger, null, false, now, now, null,
+                    new Date(now.getTime() + 1000));
+            executionContexts[i] = new JobExecutionContextImpl(null, bundle, new HelloWorldJob(null));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void storeJobMetadata() {
+        dataBaseService.storeJobMetadata(nextContext());
+    }
+
+    @Benchmark
+    public void storeJobUserData() {
+        JobExecutionContext executionContext = nextContext();
+        LocalDateTime now = LocalDateTime.now();
+        dataBaseService.storeJobUserData(executionContext.getJobDetail().getKey().getName(), "benchGroup",
+                now, now, now.plusSeconds(1), JobStatus.COMPLETED.name());
+    }
+
+    private JobExecutionContext nextContext() {
+        JobExecutionContext executionContext = executionContexts[next];
+        next = (next + 1) % jobCount;
+        return executionContext;
+    }
+}
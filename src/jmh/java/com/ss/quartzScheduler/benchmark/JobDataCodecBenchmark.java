@@ -0,0 +1,70 @@
+package com.ss.quartzScheduler.benchmark;
+
+import com.ss.quartzScheduler.jobstore.JobDataCodec;
+import org.openjdk.jmh.annotations.*;
+import org.quartz.JobDataMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for encoding and decoding the job data of an ADR job the way the JDBC job store persists it:
+ * Java serialization of the JobDataMap, used before, and the JobDataCodec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JobDataCodecBenchmark {
+
+    private JobDataMap jobData;
+    private byte[] serialized;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        jobData = new JobDataMap();
+        jobData.put("cusips", "037833100,594918104,88160R101,02079K305,023135106");
+        jobData.put("partitionSize", 50);
+        jobData.put("workflowRunId", 1_700_000_000_000L);
+        jobData.put("lastScheduledTime", new Date());
+
+        serialized = serialize(jobData);
+        encoded = JobDataCodec.encode(jobData);
+    }
+
+    @Benchmark
+    public byte[] javaSerializationWrite() throws IOException {
+        return serialize(jobData);
+    }
+
+    @Benchmark
+    public byte[] codecWrite() {
+        return JobDataCodec.encode(jobData);
+    }
+
+    @Benchmark
+    public Object javaSerializationRead() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> codecRead() throws IOException {
+        return JobDataCodec.decode(encoded);
+    }
+
+    private static byte[] serialize(JobDataMap data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(data);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,131 @@
+package com.ss.quartzScheduler.benchmark;
+
+import com.ss.quartzScheduler.jobfactory.CachingJobFactory;
+import com.ss.quartzScheduler.jobfactory.StatelessJob;
+import org.openjdk.jmh.annotations.*;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.TriggerBuilder;
+import org.quartz.spi.JobFactory;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.scheduling.quartz.SpringBeanJobFactory;
+
+import java.time.Clock;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.quartz.JobBuilder.newJob;
+
+/**
+ * Benchmarks for creating a job instance on every fire: the reflective factory used before, Spring's
+ * SpringBeanJobFactory that autowires each new instance, and the CachingJobFactory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JobFactoryBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+    private JobFactory reflectiveFactory;
+    private SpringBeanJobFactory springBeanJobFactory;
+    private CachingJobFactory cachingJobFactory;
+
+    private TriggerFiredBundle plainBundle;
+    private TriggerFiredBundle injectedBundle;
+    private TriggerFiredBundle statelessBundle;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(Clock.class, Clock::systemUTC);
+        context.refresh();
+
+        reflectiveFactory = (bundle, scheduler) -> {
+            try {
+                return bundle.getJobDetail().getJobClass().getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new SchedulerException(e);
+            }
+        };
+        springBeanJobFactory = new SpringBeanJobFactory();
+        springBeanJobFactory.setApplicationContext(context);
+        cachingJobFactory = new CachingJobFactory(context.getAutowireCapableBeanFactory());
+
+        plainBundle = bundle(PlainJob.class);
+        injectedBundle = bundle(InjectedJob.class);
+        statelessBundle = bundle(StatelessInjectedJob.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Job reflectiveNoArg() throws SchedulerException {
+        return reflectiveFactory.newJob(plainBundle, null);
+    }
+
+    @Benchmark
+    public Job cachingNoArg() throws SchedulerException {
+        return cachingJobFactory.newJob(plainBundle, null);
+    }
+
+    @Benchmark
+    public Job springInjected() throws SchedulerException {
+        return springBeanJobFactory.newJob(injectedBundle, null);
+    }
+
+    @Benchmark
+    public Job cachingInjected() throws SchedulerException {
+        return cachingJobFactory.newJob(injectedBundle, null);
+    }
+
+    @Benchmark
+    public Job cachingStateless() throws SchedulerException {
+        return cachingJobFactory.newJob(statelessBundle, null);
+    }
+
+    private static TriggerFiredBundle bundle(Class<? extends Job> jobClass) {
+        Date now = new Date();
+        OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger()
+                .withIdentity(jobClass.getSimpleName(), "benchGroup")
+                .withSchedule(SimpleScheduleBuilder.repeatSecondlyForever())
+                .build();
+        return new TriggerFiredBundle(newJob(jobClass).withIdentity(jobClass.getSimpleName(), "benchGroup").build(),
+                trigger, null, false, now, now, null, new Date(now.getTime() + 1000));
+    }
+
+    public static class PlainJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+
+    public static class InjectedJob implements Job {
+
+        private final Clock clock;
+
+        public InjectedJob(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            clock.millis();
+        }
+    }
+
+    @StatelessJob
+    public static class StatelessInjectedJob extends InjectedJob {
+
+        public StatelessInjectedJob(Clock clock) {
+            super(clock);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.ss.quartzScheduler.benchmark;
+
+import com.ss.quartzScheduler.job.HelloWorldJob;
+import com.ss.quartzScheduler.jobstore.WalJobStore;
+import com.ss.quartzScheduler.model.enums.JobStoreType;
+import org.openjdk.jmh.annotations.*;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.JobPersistenceException;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.quartz.impl.jdbcjobstore.JobStoreTX;
+import org.quartz.simpl.CascadingClassLoadHelper;
+import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.JobStore;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.SchedulerSignaler;
+import org.quartz.spi.TriggerFiredBundle;
+import org.quartz.spi.TriggerFiredResult;
+import org.quartz.utils.ConnectionProvider;
+import org.quartz.utils.DBConnectionManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+/**
+ * Trigger acquisition latency of the JDBC job store and the in-memory store backed by a write-ahead log,
+ * measured directly on the store without a scheduler thread in between.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JobStoreBenchmark {
+
+    private static final int TRIGGER_COUNT = 1000;
+    private static final String GROUP = "jobStoreBenchmark";
+    private static final String DATA_SOURCE = "jobStoreBenchmarkDS";
+
+    // Fired triggers move an hour ahead, acquire far enough ahead to keep finding them
+    private static final long FAR_FUTURE = Long.MAX_VALUE / 2;
+
+    @Param({"JDBC", "WAL"})
+    public JobStoreType jobStoreType;
+
+    private ConfigurableApplicationContext context;
+    private Path walDirectory;
+    private JobStore jobStore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ClassLoadHelper loadHelper = new CascadingClassLoadHelper();
+        loadHelper.initialize();
+
+        if (jobStoreType == JobStoreType.JDBC) {
+            // The application creates the Quartz tables, the store under test uses them under its own name
+            context = BenchmarkContext.start("jobStoreBenchmark");
+            DataSource dataSource = context.getBean(DataSource.class);
+            DBConnectionManager.getInstance().addConnectionProvider(DATA_SOURCE, new ConnectionProvider() {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return dataSource.getConnection();
+                }
+
+                @Override
+                public void shutdown() {
+                }
+
+                @Override
+                public void initialize() {
+                }
+            });
+            JobStoreTX store = new JobStoreTX();
+            store.setDataSource(DATA_SOURCE);
+            store.setInstanceId("benchmark");
+            store.setInstanceName(GROUP);
+            store.setMisfireThreshold(TimeUnit.DAYS.toMillis(1));
+            jobStore = store;
+        } else {
+            walDirectory = Files.createTempDirectory("jobStoreBenchmark");
+            WalJobStore store = new WalJobStore();
+            store.setWalDirectory(walDirectory.toString());
+            store.setInstanceName(GROUP);
+            store.setMisfireThreshold(TimeUnit.DAYS.toMillis(1));
+            jobStore = store;
+        }
+        jobStore.initialize(loadHelper, new NoOpSignaler());
+        jobStore.schedulerStarted();
+
+        for (int i = 0; i < TRIGGER_COUNT; i++) {
+            JobDetail jobDetail = newJob(HelloWorldJob.class).withIdentity("job-" + i, GROUP).build();
+            OperableTrigger trigger = (OperableTrigger) newTrigger()
+                    .withIdentity("trigger-" + i, GROUP)
+                    .forJob(jobDetail)
+                    .startNow()
+                    .withSchedule(simpleSchedule().withIntervalInHours(1).repeatForever())
+                    .build();
+            trigger.computeFirstFireTime(null);
+            jobStore.storeJobAndTrigger(jobDetail, trigger);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        jobStore.shutdown();
+        if (context != null) {
+            context.close();
+        }
+        BenchmarkContext.deleteDirectory(walDirectory);
+    }
+
+    /**
+     * Acquire the next due trigger and hand it back, as a scheduler thread does when it cannot run it
+     */
+    @Benchmark
+    public List<OperableTrigger> acquireAndRelease() throws JobPersistenceException {
+        List<OperableTrigger> acquired = jobStore.acquireNextTriggers(FAR_FUTURE, 1, 0L);
+        for (OperableTrigger trigger : acquired) {
+            jobStore.releaseAcquiredTrigger(trigger);
+        }
+        return acquired;
+    }
+
+    /**
+     * Full store round trip of one fire: acquire, mark fired and complete
+     */
+    @Benchmark
+    public int acquireFireComplete() throws JobPersistenceException {
+        List<OperableTrigger> acquired = jobStore.acquireNextTriggers(FAR_FUTURE, 1, 0L);
+        int fired = 0;
+        for (TriggerFiredResult result : jobStore.triggersFired(acquired)) {
+            TriggerFiredBundle bundle = result.getTriggerFiredBundle();
+            if (bundle != null) {
+                jobStore.triggeredJobComplete(bundle.getTrigger(), bundle.getJobDetail(),
+                        CompletedExecutionInstruction.NOOP);
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Signaler for a store used without a scheduler
+     */
+    private static class NoOpSignaler implements SchedulerSignaler {
+        @Override
+        public void notifyTriggerListenersMisfired(Trigger trigger) {
+        }
+
+        @Override
+        public void notifySchedulerListenersFinalized(Trigger trigger) {
+        }
+
+        @Override
+        public void notifySchedulerListenersJobDeleted(JobKey jobKey) {
+        }
+
+        @Override
+        public void signalSchedulingChange(long candidateNewNextFireTime) {
+        }
+
+        @Override
+        public void notifySchedulerListenersError(String string, SchedulerException jpe) {
+        }
+    }
+}
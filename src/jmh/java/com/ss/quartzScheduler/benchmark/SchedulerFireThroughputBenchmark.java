@@ -0,0 +1,96 @@
+package com.ss.quartzScheduler.benchmark;
+
+import com.ss.quartzScheduler.model.enums.JobStoreType;
+import org.openjdk.jmh.annotations.*;
+import org.quartz.*;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end fire throughput of the scheduler as configured in application.yml, with the JDBC job store and
+ * with the in-memory store backed by a write-ahead log.
+ * Each invocation schedules a batch of one-shot triggers for a no-op job and waits until all have fired.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SchedulerFireThroughputBenchmark {
+
+    private static final int FIRES_PER_INVOCATION = 1000;
+    private static final String GROUP = "fireBenchmark";
+
+    private static volatile CountDownLatch firedLatch;
+
+    @Param({"JDBC", "WAL"})
+    public JobStoreType jobStoreType;
+
+    private ConfigurableApplicationContext context;
+    private Scheduler scheduler;
+    private Path walDirectory;
+    private int round;
+
+    /**
+     * No-op job that only counts down the latch of the running invocation
+     */
+    public static class NoOpJob implements Job {
+        @Override
+        public void execute(JobExecutionContext context) {
+            firedLatch.countDown();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        walDirectory = Files.createTempDirectory("fireThroughputBenchmark");
+        context = BenchmarkContext.start("fireThroughputBenchmark", "scheduler.job-store.type=" + jobStoreType,
+                "scheduler.job-store.wal.directory=" + walDirectory);
+        scheduler = context.getBean(Scheduler.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        BenchmarkContext.deleteDirectory(walDirectory);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearJobs() throws SchedulerException {
+        scheduler.deleteJobs(scheduler.getJobKeys(GroupMatcher.jobGroupEquals(GROUP)).stream().toList());
+        round++;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FIRES_PER_INVOCATION)
+    public void fireOneShotTriggers() throws SchedulerException, InterruptedException {
+        firedLatch = new CountDownLatch(FIRES_PER_INVOCATION);
+
+        Map<JobDetail, Set<? extends Trigger>> jobs = new HashMap<>();
+        for (int i = 0; i < FIRES_PER_INVOCATION; i++) {
+            JobDetail jobDetail = JobBuilder.newJob(NoOpJob.class)
+                    .withIdentity("job-" + round + "-" + i, GROUP)
+                    .build();
+            Trigger trigger = TriggerBuilder.newTrigger()
+                    .withIdentity("trigger-" + round + "-" + i, GROUP)
+                    .startNow()
+                    .build();
+            jobs.put(jobDetail, Set.of(trigger));
+        }
+        scheduler.scheduleJobs(jobs, true);
+
+        if (!firedLatch.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Only " + (FIRES_PER_INVOCATION - firedLatch.getCount()) + " of "
+                    + FIRES_PER_INVOCATION + " triggers fired");
+        }
+    }
+}
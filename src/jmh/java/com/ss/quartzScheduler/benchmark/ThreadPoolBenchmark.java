@@ -0,0 +1,70 @@
+package com.ss.quartzScheduler.benchmark;
+
+import com.ss.quartzScheduler.threadpool.VirtualThreadPool;
+import org.openjdk.jmh.annotations.*;
+import org.quartz.SchedulerConfigException;
+import org.quartz.simpl.SimpleThreadPool;
+import org.quartz.spi.ThreadPool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares SimpleThreadPool with VirtualThreadPool for blocking jobs.
+ * Each invocation submits a batch of jobs that sleep, the way ADRJob waits on downstream systems,
+ * and waits until all of them have finished.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ThreadPoolBenchmark {
+
+    private static final int JOBS_PER_INVOCATION = 500;
+    private static final long JOB_SLEEP_MS = 20;
+
+    @Param({"simple", "virtual"})
+    public String poolType;
+
+    @Param({"10", "100", "500"})
+    public int threadCount;
+
+    private ThreadPool threadPool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SchedulerConfigException {
+        if ("virtual".equals(poolType)) {
+            threadPool = new VirtualThreadPool(threadCount);
+        } else {
+            threadPool = new SimpleThreadPool(threadCount, Thread.NORM_PRIORITY);
+        }
+        threadPool.setInstanceName("ThreadPoolBenchmark");
+        threadPool.initialize();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        threadPool.shutdown(true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JOBS_PER_INVOCATION)
+    public void runBlockingJobs() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(JOBS_PER_INVOCATION);
+        for (int i = 0; i < JOBS_PER_INVOCATION; i++) {
+            // Same hand-off as QuartzSchedulerThread: wait for capacity, then submit
+            threadPool.blockForAvailableThreads();
+            threadPool.runInThread(() -> {
+                try {
+                    Thread.sleep(JOB_SLEEP_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
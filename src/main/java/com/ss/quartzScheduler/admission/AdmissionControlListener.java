@@ -0,0 +1,221 @@
+package com.ss.quartzScheduler.admission;
+
+import com.ss.quartzScheduler.config.AdmissionProperties;
+import com.ss.quartzScheduler.metrics.JobMetricsListener;
+import com.ss.quartzScheduler.model.dto.AdmissionLimitDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Global trigger listener admitting fires by job group, with a token bucket rate limit and a limit of jobs
+ * running at the same time. A fire over a limit is vetoed and deferred: the job is fired again later by a
+ * one-shot trigger carrying the same trigger data. A fire is only rejected after being deferred
+ * {@code scheduler.admission.max-deferrals} times.
+ * <p>
+ * Limits and counters are per node. Jobs that set a {@link CompletionStage} as their result hold their
+ * in-flight slot until it completes.
+ */
+@Slf4j
+@Component
+public class AdmissionControlListener implements TriggerListener {
+
+    // Group of the triggers firing deferred jobs again
+    public static final String DEFERRED_TRIGGER_GROUP = "ADMISSION_DEFERRED";
+
+    // JobExecutionContext key marking a fire that was deferred, so job listeners do not treat it as failed
+    public static final String DEFERRED_KEY = "admissionDeferred";
+
+    // Trigger JobDataMap key counting how often a fire was deferred
+    private static final String DEFERRALS_KEY = "admissionDeferrals";
+
+    // JobExecutionContext key of the limiter holding the fire's in-flight slot
+    private static final String LIMITER_KEY = "admissionLimiter";
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    // Limiters by job group; kept once created, since their meters read them
+    private final Map<String, GroupLimiter> limiters = new ConcurrentHashMap<>();
+
+    public AdmissionControlListener(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        properties.getGroups().forEach(this::setLimit);
+    }
+
+    @Override
+    public String getName() {
+        return "admissionControlListener";
+    }
+
+    @Override
+    public void triggerFired(Trigger trigger, JobExecutionContext context) {
+    }
+
+    @Override
+    public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+        GroupLimiter limiter = limiters.get(trigger.getJobKey().getGroup());
+        if (limiter == null) {
+            return false;
+        }
+
+        GroupLimiter.Decision decision = limiter.tryAcquire();
+        if (decision.admitted()) {
+            limiter.admitted.increment();
+            context.put(LIMITER_KEY, limiter);
+            return false;
+        }
+
+        long delayMs = decision.retryAfterMs() > 0 ? decision.retryAfterMs() : properties.getDeferDelayMs();
+        if (defer(context, delayMs)) {
+            limiter.deferred.increment();
+            log.debug("Deferred fire of {} by at least {}ms, {} limit of group {} reached", trigger.getJobKey(),
+                    delayMs, decision.limit(), trigger.getJobKey().getGroup());
+        } else {
+            limiter.rejected.increment();
+        }
+        return true;
+    }
+
+    @Override
+    public void triggerMisfired(Trigger trigger) {
+    }
+
+    @Override
+    public void triggerComplete(Trigger trigger, JobExecutionContext context,
+                                Trigger.CompletedExecutionInstruction triggerInstructionCode) {
+        if (!(context.get(LIMITER_KEY) instanceof GroupLimiter limiter)) {
+            return;
+        }
+        if (context.getResult() instanceof CompletionStage<?> completion) {
+            completion.whenComplete((result, error) -> limiter.release());
+        } else {
+            limiter.release();
+        }
+    }
+
+    /**
+     * Set or replace the limits of a job group
+     */
+    public void setLimit(String groupName, AdmissionProperties.Limit limit) {
+        limiters.compute(groupName, (group, limiter) -> {
+            if (limiter != null) {
+                limiter.update(limit);
+                return limiter;
+            }
+            return register(group, new GroupLimiter(limit));
+        });
+        log.info("Admission limits of group {}: {}/s, burst {}, {} in flight", groupName, limit.getRatePerSecond(),
+                limit.getBurst(), limit.getMaxInFlight());
+    }
+
+    /**
+     * Remove the limits of a job group, its counters are kept
+     */
+    public void removeLimit(String groupName) {
+        GroupLimiter limiter = limiters.get(groupName);
+        if (limiter != null) {
+            limiter.update(new AdmissionProperties.Limit());
+        }
+    }
+
+    /**
+     * Get the limits and counters of every job group that has or had limits
+     */
+    public List<AdmissionLimitDto> getLimits() {
+        return limiters.entrySet().stream()
+                .map(entry -> {
+                    GroupLimiter limiter = entry.getValue();
+                    AdmissionProperties.Limit limit = limiter.limit();
+                    return new AdmissionLimitDto(entry.getKey(), limit.getRatePerSecond(), limit.getBurst(),
+                            limit.getMaxInFlight(), limiter.inFlight(), limiter.admitted.sum(),
+                            limiter.deferred.sum(), limiter.rejected.sum());
+                })
+                .sorted(Comparator.comparing(AdmissionLimitDto::getGroupName))
+                .toList();
+    }
+
+    /**
+     * Fire the job again after {@code scheduler.admission.defer-delay-ms} with the trigger data of this fire, for
+     * jobs that cannot run the fire now
+     *
+     * @return false if the fire was rejected instead
+     */
+    public boolean defer(JobExecutionContext context) {
+        return defer(context, properties.getDeferDelayMs());
+    }
+
+    /**
+     * Fire the job again after a delay with the trigger data of this fire, and mark the fire as deferred.
+     * The delay is spread by up to {@code scheduler.admission.defer-delay-ms}, so deferred fires do not all come
+     * back at the same time.
+     *
+     * @return false if the fire was rejected instead
+     */
+    public boolean defer(JobExecutionContext context, long delayMs) {
+        Trigger trigger = context.getTrigger();
+        JobDataMap data = new JobDataMap(trigger.getJobDataMap());
+        int deferrals = data.containsKey(DEFERRALS_KEY) ? data.getIntValue(DEFERRALS_KEY) : 0;
+        if (deferrals >= properties.getMaxDeferrals()) {
+            log.warn("Rejected fire of {} after {} deferrals", trigger.getJobKey(), deferrals);
+            return false;
+        }
+        data.put(DEFERRALS_KEY, deferrals + 1);
+
+        Trigger deferred = TriggerBuilder.newTrigger()
+                .forJob(trigger.getJobKey())
+                .withIdentity("deferred-" + context.getFireInstanceId(), DEFERRED_TRIGGER_GROUP)
+                .usingJobData(data)
+                .withPriority(trigger.getPriority())
+                .startAt(new Date(System.currentTimeMillis() + delayMs
+                        + ThreadLocalRandom.current().nextLong(Math.max(1, properties.getDeferDelayMs()))))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+        try {
+            context.getScheduler().scheduleJob(deferred);
+            context.put(DEFERRED_KEY, Boolean.TRUE);
+            return true;
+        } catch (SchedulerException e) {
+            log.error("Rejected fire of {}, it could not be deferred", trigger.getJobKey(), e);
+            return false;
+        }
+    }
+
+    private GroupLimiter register(String groupName, GroupLimiter limiter) {
+        FunctionCounter.builder("scheduler.admission.admitted", limiter, l -> l.admitted.sum())
+                .description("Fires admitted by the job group's limits")
+                .tag(JobMetricsListener.TAG_GROUP, groupName)
+                .register(meterRegistry);
+        FunctionCounter.builder("scheduler.admission.deferred", limiter, l -> l.deferred.sum())
+                .description("Fires over the job group's limits deferred by rescheduling")
+                .tag(JobMetricsListener.TAG_GROUP, groupName)
+                .register(meterRegistry);
+        FunctionCounter.builder("scheduler.admission.rejected", limiter, l -> l.rejected.sum())
+                .description("Fires rejected after too many deferrals or when they could not be deferred")
+                .tag(JobMetricsListener.TAG_GROUP, groupName)
+                .register(meterRegistry);
+        Gauge.builder("scheduler.admission.in-flight", limiter, GroupLimiter::inFlight)
+                .description("Jobs of the group holding an in-flight slot")
+                .tag(JobMetricsListener.TAG_GROUP, groupName)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
@@ -0,0 +1,100 @@
+package com.ss.quartzScheduler.admission;
+
+import com.ss.quartzScheduler.config.AdmissionProperties;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket and in-flight limit of one job group, with its admission counters.
+ * Limits can be changed while fires hold slots, the tokens and in-flight count are kept.
+ */
+public final class GroupLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    final LongAdder admitted = new LongAdder();
+    final LongAdder deferred = new LongAdder();
+    final LongAdder rejected = new LongAdder();
+
+    // Source of System.nanoTime() values the bucket is refilled by
+    private final LongSupplier nanoClock;
+
+    private double ratePerSecond;
+    private double burst;
+    private int maxInFlight;
+
+    private double tokens;
+    private long refilledAt;
+    private int inFlight;
+
+    public GroupLimiter(AdmissionProperties.Limit limit) {
+        this(limit, System::nanoTime);
+    }
+
+    public GroupLimiter(AdmissionProperties.Limit limit, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.refilledAt = nanoClock.getAsLong();
+        update(limit);
+        tokens = burst;
+    }
+
+    /**
+     * Replace the limits; a removed limit is an unlimited one
+     */
+    public synchronized void update(AdmissionProperties.Limit limit) {
+        ratePerSecond = Math.max(0, limit.getRatePerSecond());
+        burst = limit.getBurst() > 0 ? limit.getBurst() : Math.max(1, Math.ceil(ratePerSecond));
+        maxInFlight = Math.max(0, limit.getMaxInFlight());
+        tokens = Math.min(tokens, burst);
+    }
+
+    /**
+     * Take a token and an in-flight slot, or neither when one of them is not available
+     */
+    public synchronized Decision tryAcquire() {
+        if (maxInFlight > 0 && inFlight >= maxInFlight) {
+            return new Decision(false, "in-flight", 0);
+        }
+        if (ratePerSecond > 0) {
+            long now = nanoClock.getAsLong();
+            tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerSecond / NANOS_PER_SECOND);
+            refilledAt = now;
+            if (tokens < 1) {
+                return new Decision(false, "rate", (long) Math.ceil((1 - tokens) * 1000 / ratePerSecond));
+            }
+            tokens--;
+        }
+        inFlight++;
+        return Decision.ADMITTED;
+    }
+
+    public synchronized void release() {
+        if (inFlight > 0) {
+            inFlight--;
+        }
+    }
+
+    public synchronized AdmissionProperties.Limit limit() {
+        AdmissionProperties.Limit limit = new AdmissionProperties.Limit();
+        limit.setRatePerSecond(ratePerSecond);
+        limit.setBurst((int) burst);
+        limit.setMaxInFlight(maxInFlight);
+        return limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Outcome of an admission attempt
+     *
+     * @param limit        limit that was reached, "rate" or "in-flight"
+     * @param retryAfterMs time until the rate limit admits a fire again
+     */
+    public record Decision(boolean admitted, String limit, long retryAfterMs) {
+
+        static final Decision ADMITTED = new Decision(true, null, 0);
+    }
+}
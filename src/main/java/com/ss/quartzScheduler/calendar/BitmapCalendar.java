@@ -0,0 +1,203 @@
+package com.ss.quartzScheduler.calendar;
+
+import com.ss.quartzScheduler.model.enums.CalendarType;
+import org.quartz.impl.calendar.BaseCalendar;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Quartz calendar of holidays and, for business calendars, business days and hours, compiled into bitmaps.
+ * <p>
+ * Every year is compiled once, on first use, into a bitmap of its included days, and the business hours into one
+ * bitmap of the included seconds of a day. {@link #isTimeIncluded} is then two bit lookups, and
+ * {@link #getNextIncludedTime} finds the next set bit instead of stepping through dates. Only the definition is
+ * serialized into QRTZ_CALENDARS; the bitmaps are rebuilt after loading.
+ */
+public class BitmapCalendar extends BaseCalendar {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final CalendarType type;
+
+    // Excluded dates
+    private final TreeSet<LocalDate> holidays;
+
+    // Included days of the week
+    private final EnumSet<DayOfWeek> businessDays;
+
+    // Included time of day, from start inclusive to end exclusive; null for the whole day
+    private final LocalTime businessHoursStart;
+    private final LocalTime businessHoursEnd;
+
+    // Included days by year, bit n is day of year n + 1
+    private transient ConcurrentMap<Integer, BitSet> dayBitmaps;
+
+    // Included seconds of an included day; null when the whole day is included
+    private transient BitSet secondBitmap;
+
+    /**
+     * @param businessDays       included days of the week, all days when empty
+     * @param businessHoursStart start of the included time of day, the whole day when null
+     * @param businessHoursEnd   end of the included time of day, exclusive, the end of the day when null
+     */
+    public BitmapCalendar(CalendarType type, String description, TimeZone timeZone, Collection<LocalDate> holidays,
+                          Collection<DayOfWeek> businessDays, LocalTime businessHoursStart,
+                          LocalTime businessHoursEnd) {
+        if (startSecond(businessHoursStart) >= endSecond(businessHoursEnd)) {
+            throw new IllegalArgumentException("Business hours must end after they start");
+        }
+        this.type = type;
+        this.holidays = new TreeSet<>(holidays);
+        this.businessDays = businessDays.isEmpty() ? EnumSet.allOf(DayOfWeek.class) : EnumSet.copyOf(businessDays);
+        this.businessHoursStart = businessHoursStart;
+        this.businessHoursEnd = businessHoursEnd;
+        setDescription(description);
+        setTimeZone(timeZone);
+        compile();
+    }
+
+    public CalendarType getType() {
+        return type;
+    }
+
+    public NavigableSet<LocalDate> getHolidays() {
+        return Collections.unmodifiableNavigableSet(holidays);
+    }
+
+    public Set<DayOfWeek> getBusinessDays() {
+        return Collections.unmodifiableSet(businessDays);
+    }
+
+    public LocalTime getBusinessHoursStart() {
+        return businessHoursStart;
+    }
+
+    public LocalTime getBusinessHoursEnd() {
+        return businessHoursEnd;
+    }
+
+    @Override
+    public boolean isTimeIncluded(long timeStamp) {
+        if (!super.isTimeIncluded(timeStamp)) {
+            return false;
+        }
+        ZonedDateTime time = Instant.ofEpochMilli(timeStamp).atZone(zone());
+        return dayBitmap(time.getYear()).get(time.getDayOfYear() - 1)
+                && (secondBitmap == null || secondBitmap.get(time.toLocalTime().toSecondOfDay()));
+    }
+
+    @Override
+    public long getNextIncludedTime(long timeStamp) {
+        // Base calendars like HolidayCalendar answer with the start of a day, never go back before the time stamp
+        long next = nextIncludedTime(Math.max(timeStamp, super.getNextIncludedTime(timeStamp)));
+
+        // Also skip the times excluded by a base calendar
+        while (getBaseCalendar() != null && !getBaseCalendar().isTimeIncluded(next)) {
+            next = nextIncludedTime(Math.max(next, getBaseCalendar().getNextIncludedTime(next)));
+        }
+        return next;
+    }
+
+    /**
+     * Next time at or after the time stamp included by this calendar alone
+     */
+    private long nextIncludedTime(long timeStamp) {
+        ZonedDateTime time = Instant.ofEpochMilli(timeStamp).atZone(zone());
+        LocalDate date = time.toLocalDate();
+        int second = time.toLocalTime().toSecondOfDay();
+        boolean sameDay = true;
+
+        // Terminates: at least one business day a week and a finite set of holidays
+        while (true) {
+            int day = dayBitmap(date.getYear()).nextSetBit(date.getDayOfYear() - 1);
+            if (day < 0) {
+                date = LocalDate.of(date.getYear() + 1, 1, 1);
+                second = 0;
+                sameDay = false;
+                continue;
+            }
+            if (day != date.getDayOfYear() - 1) {
+                date = date.withDayOfYear(day + 1);
+                second = 0;
+                sameDay = false;
+            }
+
+            int includedSecond = secondBitmap == null ? second : secondBitmap.nextSetBit(second);
+            if (includedSecond >= 0) {
+                if (sameDay && includedSecond == second) {
+                    return timeStamp;
+                }
+                return date.atTime(LocalTime.ofSecondOfDay(includedSecond)).atZone(zone()).toInstant()
+                        .toEpochMilli();
+            }
+            date = date.plusDays(1);
+            second = 0;
+            sameDay = false;
+        }
+    }
+
+    /**
+     * Bitmap of the included days of a year, compiled on first use
+     */
+    private BitSet dayBitmap(int year) {
+        return dayBitmaps.computeIfAbsent(year, ignored -> {
+            LocalDate first = LocalDate.of(year, 1, 1);
+            BitSet days = new BitSet(first.lengthOfYear());
+            for (LocalDate date = first; date.getYear() == year; date = date.plusDays(1)) {
+                if (businessDays.contains(date.getDayOfWeek()) && !holidays.contains(date)) {
+                    days.set(date.getDayOfYear() - 1);
+                }
+            }
+            return days;
+        });
+    }
+
+    private void compile() {
+        dayBitmaps = new ConcurrentHashMap<>();
+        if (businessHoursStart == null && businessHoursEnd == null) {
+            secondBitmap = null;
+            return;
+        }
+        secondBitmap = new BitSet(SECONDS_PER_DAY);
+        secondBitmap.set(startSecond(businessHoursStart), endSecond(businessHoursEnd));
+    }
+
+    private static int startSecond(LocalTime start) {
+        return start != null ? start.toSecondOfDay() : 0;
+    }
+
+    private static int endSecond(LocalTime end) {
+        return end != null ? end.toSecondOfDay() : SECONDS_PER_DAY;
+    }
+
+    private ZoneId zone() {
+        return getTimeZone() != null ? getTimeZone().toZoneId() : ZoneId.systemDefault();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        compile();
+    }
+}
@@ -0,0 +1,162 @@
+package com.ss.quartzScheduler.calendar;
+
+import com.ss.quartzScheduler.exception.JobManagementException;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import com.ss.quartzScheduler.model.dto.CalendarDto;
+import com.ss.quartzScheduler.model.dto.CalendarRequest;
+import com.ss.quartzScheduler.model.enums.CalendarType;
+import com.ss.quartzScheduler.model.enums.DayOfWeekEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Calendar;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TimeZone;
+
+/**
+ * Holiday and business calendars, stored as {@link BitmapCalendar}s in every lane shard so triggers can use them
+ * whichever scheduler their job is routed to.
+ * <p>
+ * Replacing a calendar recomputes the next fire time of every trigger using it, in the same job store transaction
+ * that stores the calendar.
+ */
+@Slf4j
+@Component
+public class CalendarService {
+
+    private final SchedulerLanes schedulerLanes;
+
+    public CalendarService(SchedulerLanes schedulerLanes) {
+        this.schedulerLanes = schedulerLanes;
+    }
+
+    /**
+     * Create or replace a calendar and reschedule the triggers using it
+     */
+    public void putCalendar(String calendarName, CalendarRequest request)
+            throws JobManagementException, SchedulerException {
+        BitmapCalendar calendar = compile(request);
+        for (Scheduler scheduler : schedulerLanes.getSchedulers()) {
+            scheduler.addCalendar(calendarName, calendar, true, true);
+        }
+        log.info("Stored {} calendar {} with {} holidays in {} schedulers", request.getType(), calendarName,
+                calendar.getHolidays().size(), schedulerLanes.getSchedulers().size());
+    }
+
+    /**
+     * Get all holiday and business calendars
+     */
+    public List<CalendarDto> getCalendars() throws SchedulerException {
+        Scheduler scheduler = schedulerLanes.getSchedulers().iterator().next();
+        List<CalendarDto> calendars = new ArrayList<>();
+        for (String calendarName : scheduler.getCalendarNames()) {
+            if (scheduler.getCalendar(calendarName) instanceof BitmapCalendar calendar) {
+                calendars.add(toDto(calendarName, calendar));
+            }
+        }
+        return calendars;
+    }
+
+    /**
+     * Get a holiday or business calendar
+     */
+    public Optional<CalendarDto> getCalendar(String calendarName) throws SchedulerException {
+        Calendar calendar = schedulerLanes.getSchedulers().iterator().next().getCalendar(calendarName);
+        return calendar instanceof BitmapCalendar bitmapCalendar
+                ? Optional.of(toDto(calendarName, bitmapCalendar))
+                : Optional.empty();
+    }
+
+    /**
+     * Remove a calendar that no trigger uses anymore. When a shard refuses to remove it, the shards it was already
+     * removed from get it back, so the calendar stays in every shard or in none.
+     *
+     * @throws JobManagementException if the calendar does not exist or triggers still use it
+     */
+    public void removeCalendar(String calendarName) throws JobManagementException {
+        Map<Scheduler, Calendar> removed = new LinkedHashMap<>();
+        for (Scheduler scheduler : schedulerLanes.getSchedulers()) {
+            try {
+                Calendar calendar = scheduler.getCalendar(calendarName);
+                if (calendar != null && scheduler.deleteCalendar(calendarName)) {
+                    removed.put(scheduler, calendar);
+                }
+            } catch (SchedulerException e) {
+                restore(calendarName, removed);
+                throw new JobManagementException("Calendar " + calendarName + " cannot be removed: " +
+                        e.getMessage(), e);
+            }
+        }
+        if (removed.isEmpty()) {
+            throw new JobManagementException("Calendar does not exist: " + calendarName);
+        }
+        log.info("Removed calendar {}", calendarName);
+    }
+
+    /**
+     * Store a calendar again in the schedulers it was removed from
+     */
+    private static void restore(String calendarName, Map<Scheduler, Calendar> removed) {
+        removed.forEach((scheduler, calendar) -> {
+            try {
+                scheduler.addCalendar(calendarName, calendar, true, false);
+            } catch (SchedulerException e) {
+                log.error("Failed to restore calendar {} in {}", calendarName, schedulerName(scheduler), e);
+            }
+        });
+    }
+
+    private static String schedulerName(Scheduler scheduler) {
+        try {
+            return scheduler.getSchedulerName();
+        } catch (SchedulerException e) {
+            return "unknown scheduler";
+        }
+    }
+
+    /**
+     * Build the calendar of a request; a business calendar defaults to Monday to Friday
+     */
+    private static BitmapCalendar compile(CalendarRequest request) throws JobManagementException {
+        try {
+            TimeZone timeZone = request.getTimeZone() != null
+                    ? TimeZone.getTimeZone(ZoneId.of(request.getTimeZone()))
+                    : TimeZone.getDefault();
+            List<LocalDate> holidays = request.getHolidays() != null ? request.getHolidays() : List.of();
+            if (request.getType() == CalendarType.HOLIDAY) {
+                return new BitmapCalendar(CalendarType.HOLIDAY, request.getDescription(), timeZone, holidays,
+                        List.of(), null, null);
+            }
+
+            List<DayOfWeek> businessDays = request.getBusinessDays() == null || request.getBusinessDays().isEmpty()
+                    ? List.copyOf(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY))
+                    : request.getBusinessDays().stream().map(day -> DayOfWeek.valueOf(day.name())).toList();
+            return new BitmapCalendar(CalendarType.BUSINESS, request.getDescription(), timeZone, holidays,
+                    businessDays, request.getBusinessHoursStart(), request.getBusinessHoursEnd());
+
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw new JobManagementException("Invalid calendar: " + e.getMessage(), e);
+        }
+    }
+
+    private static CalendarDto toDto(String calendarName, BitmapCalendar calendar) {
+        List<DayOfWeekEnum> businessDays = calendar.getBusinessDays().stream()
+                .map(day -> DayOfWeekEnum.valueOf(day.name()))
+                .toList();
+        return new CalendarDto(calendarName, calendar.getType(), calendar.getDescription(),
+                calendar.getTimeZone() != null ? calendar.getTimeZone().getID() : null,
+                List.copyOf(calendar.getHolidays()), businessDays, calendar.getBusinessHoursStart(),
+                calendar.getBusinessHoursEnd());
+    }
+}
@@ -0,0 +1,43 @@
+package com.ss.quartzScheduler.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admission limits applied when triggers fire, by job group. Groups without limits are always admitted.
+ * Limits apply per node and are the initial limits, they can be changed at runtime through the API.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "scheduler.admission")
+public class AdmissionProperties {
+
+    // Delay of fires deferred by the in-flight limit, also the most added to spread deferred fires apart
+    private long deferDelayMs = 1000;
+
+    // Times one fire is deferred before it is rejected
+    private int maxDeferrals = 50;
+
+    // Limits by job group
+    private Map<String, Limit> groups = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        // Fires admitted per second, 0 for no rate limit
+        private double ratePerSecond;
+
+        // Fires admitted at once after an idle period, at least 1; 0 for one second worth of the rate
+        private int burst;
+
+        // Jobs of the group running at the same time, 0 for no limit
+        private int maxInFlight;
+    }
+}
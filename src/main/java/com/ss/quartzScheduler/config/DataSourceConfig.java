@@ -0,0 +1,155 @@
+package com.ss.quartzScheduler.config;
+
+import com.ss.quartzScheduler.metrics.PoolMetricsTrackerFactory;
+import com.ss.quartzScheduler.model.enums.JobStoreType;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.quartz.QuartzDataSource;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pools partitioned per subsystem, so a busy subsystem cannot starve the others and each pool's
+ * saturation, wait time and leaks can be seen on its own:
+ * <ul>
+ *     <li>status (primary): JPA repositories, job status, checkpoints and suspensions</li>
+ *     <li>triggerStore: the Quartz job store of all lanes and shards</li>
+ *     <li>executionMetadata: execution metadata writes, history exports and retention</li>
+ * </ul>
+ * All pools connect to {@code spring.datasource.url}.
+ */
+@Slf4j
+@Configuration
+public class DataSourceConfig {
+
+    public static final String EXECUTION_METADATA_DATA_SOURCE = "executionMetadataDataSource";
+
+    private static final String STATUS_POOL = "status";
+    private static final String TRIGGER_STORE_POOL = "triggerStore";
+    private static final String EXECUTION_METADATA_POOL = "executionMetadata";
+
+    // Connections used next to the workers: the metadata flusher, retention and one history export
+    private static final int EXECUTION_METADATA_CONNECTIONS = 3;
+
+    // Connections used next to the workers: the status cache flusher and the suspension registry poller
+    private static final int STATUS_BACKGROUND_CONNECTIONS = 2;
+
+    // Connections of a scheduler next to its workers: the scheduler thread and the misfire handler
+    private static final int SCHEDULER_BACKGROUND_CONNECTIONS = 2;
+
+    // Maximum number of jobs running at the same time in the default lane
+    @Value("${spring.quartz.properties.org.quartz.threadPool.threadCount:10}")
+    private int threadCount;
+
+    @Value("${scheduler.job-store.type:JDBC}")
+    private JobStoreType jobStoreType;
+
+    private final LaneProperties laneProperties;
+    private final DataSourcePoolProperties poolProperties;
+
+    public DataSourceConfig(LaneProperties laneProperties, DataSourcePoolProperties poolProperties) {
+        this.laneProperties = laneProperties;
+        this.poolProperties = poolProperties;
+    }
+
+    // Configured with spring.datasource.hikari, like the auto-configured pool it replaces
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(STATUS_POOL);
+        dataSource.setMetricsTrackerFactory(new PoolMetricsTrackerFactory(meterRegistry, dataSource));
+        return dataSource;
+    }
+
+    @Bean
+    @QuartzDataSource
+    public HikariDataSource triggerStoreDataSource(DataSourceProperties properties, MeterRegistry meterRegistry) {
+        DataSourcePoolProperties.Pool pool = poolProperties.getTriggerStore();
+        int size = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : requiredTriggerStoreConnections();
+        return createPool(properties, TRIGGER_STORE_POOL, pool, size, meterRegistry);
+    }
+
+    @Bean(EXECUTION_METADATA_DATA_SOURCE)
+    public HikariDataSource executionMetadataDataSource(DataSourceProperties properties,
+                                                        MeterRegistry meterRegistry) {
+        DataSourcePoolProperties.Pool pool = poolProperties.getExecutionMetadata();
+        int size = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : EXECUTION_METADATA_CONNECTIONS;
+        return createPool(properties, EXECUTION_METADATA_POOL, pool, size, meterRegistry);
+    }
+
+    /**
+     * Warn about pools too small for the threads that use them, those threads would wait for connections
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkPoolSizes(ApplicationReadyEvent event) {
+        Map<String, Integer> required = new LinkedHashMap<>();
+        required.put(STATUS_POOL, totalWorkerThreads() + STATUS_BACKGROUND_CONNECTIONS);
+        if (jobStoreType == JobStoreType.JDBC) {
+            required.put(TRIGGER_STORE_POOL, requiredTriggerStoreConnections());
+        }
+        required.put(EXECUTION_METADATA_POOL, EXECUTION_METADATA_CONNECTIONS);
+
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        event.getApplicationContext().getBeansOfType(HikariDataSource.class).values()
+                .forEach(pool -> pools.put(pool.getPoolName(), pool));
+
+        required.forEach((poolName, connections) -> {
+            HikariDataSource pool = pools.get(poolName);
+            if (pool == null) {
+                return;
+            }
+            if (pool.getMaximumPoolSize() < connections) {
+                log.warn("Connection pool {} has {} connections but up to {} threads may use it at the same time " +
+                                "with {} worker threads configured; threads will wait for connections",
+                        poolName, pool.getMaximumPoolSize(), connections, totalWorkerThreads());
+            } else {
+                log.info("Connection pool {} has {} connections for up to {} concurrent users", poolName,
+                        pool.getMaximumPoolSize(), connections);
+            }
+        });
+    }
+
+    private HikariDataSource createPool(DataSourceProperties properties, String poolName,
+                                        DataSourcePoolProperties.Pool pool, int maximumPoolSize,
+                                        MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(poolName);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(Math.min(pool.getMinimumIdle(), maximumPoolSize));
+        dataSource.setConnectionTimeout(pool.getConnectionTimeoutMs());
+        dataSource.setLeakDetectionThreshold(pool.getLeakDetectionThresholdMs());
+        dataSource.setMetricsTrackerFactory(new PoolMetricsTrackerFactory(meterRegistry, dataSource));
+        return dataSource;
+    }
+
+    /**
+     * Every scheduler needs a connection per worker completing a job plus its own background threads
+     */
+    private int requiredTriggerStoreConnections() {
+        int shardCount = Math.max(1, laneProperties.getShards());
+        int connections = 0;
+        for (int threads : laneProperties.laneThreads(threadCount).values()) {
+            connections += shardCount * (laneProperties.threadsPerShard(threads) + SCHEDULER_BACKGROUND_CONNECTIONS);
+        }
+        return connections;
+    }
+
+    private int totalWorkerThreads() {
+        int shardCount = Math.max(1, laneProperties.getShards());
+        return laneProperties.laneThreads(threadCount).values().stream()
+                .mapToInt(threads -> laneProperties.threadsPerShard(threads) * shardCount)
+                .sum();
+    }
+}
@@ -0,0 +1,47 @@
+package com.ss.quartzScheduler.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Connection pools of the subsystems that get their own pool next to the primary (status) pool, which is
+ * configured with {@code spring.datasource.hikari}.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "scheduler.datasource")
+public class DataSourcePoolProperties {
+
+    // Quartz job store of all lanes and shards; sized from the scheduler threads when maximumPoolSize is 0
+    private Pool triggerStore = new Pool(0);
+
+    // Execution metadata writer, history exports and retention housekeeping; 3 connections when maximumPoolSize is 0
+    private Pool executionMetadata = new Pool(4);
+
+    @Getter
+    @Setter
+    public static class Pool {
+
+        // Largest number of connections, 0 to size the pool from the threads using it
+        private int maximumPoolSize;
+
+        // Idle connections kept open
+        private int minimumIdle = 1;
+
+        // Longest a thread waits for a connection before failing
+        private long connectionTimeoutMs = 30_000;
+
+        // Connections held longer than this are logged and counted as leaked, 0 disables
+        private long leakDetectionThresholdMs = 60_000;
+
+        public Pool() {
+        }
+
+        Pool(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.ss.quartzScheduler.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the schedule forecast, which expands every trigger over a horizon to find when worker threads
+ * will be oversubscribed.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "scheduler.forecast")
+public class ForecastProperties {
+
+    // Horizon of a forecast requested without one
+    private int defaultHorizonHours = 24;
+
+    // Longest horizon a forecast may cover
+    private int maxHorizonHours = 168;
+
+    // Executions of the last days the average duration of a job is taken from
+    private int historyDays = 7;
+
+    // Duration assumed for jobs without executions in the history
+    private long defaultDurationMs = 1000;
+
+    // Fire times expanded per trigger, so a trigger firing every second cannot exhaust memory
+    private int maxFiresPerTrigger = 100_000;
+}
@@ -0,0 +1,51 @@
+package com.ss.quartzScheduler.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Execution lanes, each backed by its own schedulers and worker thread pools.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "scheduler.lanes")
+public class LaneProperties {
+
+    // Lane of jobs scheduled without one; runs on the primary scheduler sized by org.quartz.threadPool.threadCount
+    private String defaultLane = "standard";
+
+    // Lane of the internal auto-resume and retention jobs
+    private String housekeepingLane = "housekeeping";
+
+    // Worker threads of each additional lane
+    private Map<String, Integer> threads = new LinkedHashMap<>();
+
+    // Schedulers every lane is split into, each with its own scheduler name and trigger access lock
+    private int shards = 1;
+
+    /**
+     * Worker threads of every lane, the default lane first
+     *
+     * @param defaultLaneThreads threads of the default lane, org.quartz.threadPool.threadCount
+     */
+    public Map<String, Integer> laneThreads(int defaultLaneThreads) {
+        Map<String, Integer> laneThreads = new LinkedHashMap<>();
+        laneThreads.put(defaultLane, defaultLaneThreads);
+        threads.forEach(laneThreads::putIfAbsent);
+        return laneThreads;
+    }
+
+    /**
+     * Worker threads of each shard of a lane, so the shards together have at least the lane's threads
+     */
+    public int threadsPerShard(int laneThreads) {
+        int shardCount = Math.max(1, shards);
+        return Math.max(1, (laneThreads + shardCount - 1) / shardCount);
+    }
+}
@@ -0,0 +1,21 @@
+package com.ss.quartzScheduler.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the execution ledger, which records the completed steps of job executions so lost runs resume where
+ * they stopped.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "scheduler.ledger")
+public class LedgerProperties {
+
+    // Open ledgers not updated for this long belong to runs lost with their node and are resumed on startup;
+    // 0 disables resuming. Must be well above the longest step, running ledgers are touched as steps complete.
+    private long resumeAfterMs = 600_000;
+}
@@ -0,0 +1,58 @@
+package com.ss.quartzScheduler.config;
+
+import com.ss.quartzScheduler.pipeline.PipelineExecutors;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PipelineConfig creates the executors used by job processing pipelines
+ * and shuts them down after the scheduler has stopped.
+ */
+@Configuration
+@DependsOn({"executionMetadataWriter", "jobStatusCache"}) // Stages still completing record metadata and status
+public class PipelineConfig {
+
+    @Value("${scheduler.pipeline.pool-size.dsf:8}")
+    private int dsfPoolSize;
+
+    @Value("${scheduler.pipeline.pool-size.processing:4}")
+    private int processingPoolSize;
+
+    @Value("${scheduler.pipeline.pool-size.email:4}")
+    private int emailPoolSize;
+
+    @Value("${scheduler.pipeline.pool-size.dmc:4}")
+    private int dmcPoolSize;
+
+    @Value("${scheduler.pipeline.pool-size.database:4}")
+    private int databasePoolSize;
+
+    @Value("${scheduler.pipeline.pool-size.partition:8}")
+    private int partitionPoolSize;
+
+    @Value("${scheduler.pipeline.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs;
+
+    @PostConstruct
+    public void init() {
+        Map<String, Integer> poolSizes = new LinkedHashMap<>();
+        poolSizes.put(PipelineExecutors.DSF, dsfPoolSize);
+        poolSizes.put(PipelineExecutors.PROCESSING, processingPoolSize);
+        poolSizes.put(PipelineExecutors.EMAIL, emailPoolSize);
+        poolSizes.put(PipelineExecutors.DMC, dmcPoolSize);
+        poolSizes.put(PipelineExecutors.DATABASE, databasePoolSize);
+        poolSizes.put(PipelineExecutors.PARTITION, partitionPoolSize);
+        PipelineExecutors.init(poolSizes);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PipelineExecutors.shutdown(shutdownTimeoutMs);
+    }
+}
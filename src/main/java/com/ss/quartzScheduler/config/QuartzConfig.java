@@ -1,42 +1,190 @@
 package com.ss.quartzScheduler.config;
 
-import org.quartz.Job;
+import com.ss.quartzScheduler.admission.AdmissionControlListener;
+import com.ss.quartzScheduler.jobfactory.CachingJobFactory;
+import com.ss.quartzScheduler.jobstore.CompactJobDataDelegate;
+import com.ss.quartzScheduler.jobstore.WalJobStore;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import com.ss.quartzScheduler.metrics.JobMetricsListener;
+import com.ss.quartzScheduler.metrics.MeteredRowLockSemaphore;
+import com.ss.quartzScheduler.metrics.TriggerMetricsListener;
+import com.ss.quartzScheduler.model.enums.JobStoreType;
+import com.ss.quartzScheduler.model.enums.ThreadPoolType;
+import com.ss.quartzScheduler.threadpool.VirtualThreadPool;
+import com.ss.quartzScheduler.workflow.WorkflowJobListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.quartz.Scheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.autoconfigure.quartz.QuartzDataSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 
 import javax.sql.DataSource;
-import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
 
 /**
  * Quartz configuration class to set up the SchedulerFactoryBean
- * with H2 database for job persistence and retry/recovery capabilities.
+ * with H2 database for job persistence and retry/recovery capabilities,
+ * or with the in-memory store backed by a write-ahead log for low latency.
+ * Every execution lane gets its own schedulers and worker thread pools, one per shard.
  */
 @Configuration
 public class QuartzConfig {
 
+    // Worker thread pool implementation, SIMPLE (platform threads) or VIRTUAL
+    @Value("${scheduler.thread-pool.type:SIMPLE}")
+    private ThreadPoolType threadPoolType;
+
+    // Maximum number of jobs running at the same time in the default lane
+    @Value("${spring.quartz.properties.org.quartz.threadPool.threadCount:10}")
+    private int threadCount;
+
+    // Where jobs and triggers are kept, JDBC or WAL (in memory with a write-ahead log)
+    @Value("${scheduler.job-store.type:JDBC}")
+    private JobStoreType jobStoreType;
+
+    // Base directory of the write-ahead log, every lane shard logs to a subdirectory named after its scheduler
+    @Value("${scheduler.job-store.wal.directory:data/wal}")
+    private String walDirectory;
+
+    @Value("${scheduler.job-store.wal.segment-size-bytes:16777216}")
+    private int walSegmentSizeBytes;
+
+    @Value("${scheduler.job-store.wal.snapshot-interval-ms:60000}")
+    private long walSnapshotIntervalMs;
+
+    // Flush every record to disk instead of relying on the page cache
+    @Value("${scheduler.job-store.wal.force-on-write:false}")
+    private boolean walForceOnWrite;
+
+    private final LaneProperties laneProperties;
+
+    public QuartzConfig(LaneProperties laneProperties) {
+        this.laneProperties = laneProperties;
+    }
+
+    // Creates jobs with their Spring dependencies, shared by every lane shard
+    @Bean
+    public CachingJobFactory cachingJobFactory(AutowireCapableBeanFactory beanFactory) {
+        return new CachingJobFactory(beanFactory);
+    }
+
+    // Scheduler shuts down first so jobs still running can use the pipelines, services injected into jobs,
+    // and record metadata and status
     @Bean
-    public SchedulerFactoryBean schedulerFactoryBean(DataSource dataSource) {
+    @DependsOn({"executionMetadataWriter", "jobStatusCache", "pipelineConfig", "suspensionRegistry",
+            "metadataRetentionService"})
+    public SchedulerFactoryBean schedulerFactoryBean(@QuartzDataSource DataSource dataSource,
+                                                     CachingJobFactory jobFactory,
+                                                     JobMetricsListener jobMetricsListener,
+                                                     TriggerMetricsListener triggerMetricsListener,
+                                                     AdmissionControlListener admissionControlListener,
+                                                     WorkflowJobListener workflowJobListener) {
+        return createSchedulerFactory(laneProperties.getDefaultLane(), laneProperties.threadsPerShard(threadCount),
+                dataSource, jobFactory, jobMetricsListener, triggerMetricsListener, admissionControlListener,
+                workflowJobListener);
+    }
+
+    // Schedulers of the other lanes and shards, shut down before the services their jobs use like the primary one
+    @Bean(destroyMethod = "shutdown")
+    @DependsOn({"executionMetadataWriter", "jobStatusCache", "pipelineConfig", "suspensionRegistry",
+            "metadataRetentionService"})
+    public SchedulerLanes schedulerLanes(Scheduler scheduler, @QuartzDataSource DataSource dataSource,
+                                         CachingJobFactory jobFactory,
+                                         JobMetricsListener jobMetricsListener,
+                                         TriggerMetricsListener triggerMetricsListener,
+                                         AdmissionControlListener admissionControlListener,
+                                         WorkflowJobListener workflowJobListener,
+                                         JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) throws Exception {
+        int shardCount = Math.max(1, laneProperties.getShards());
+
+        Map<String, List<Scheduler>> shards = new LinkedHashMap<>();
+        List<SchedulerFactoryBean> laneFactories = new ArrayList<>();
+        for (Map.Entry<String, Integer> lane : laneProperties.laneThreads(threadCount).entrySet()) {
+            List<Scheduler> laneShards = new ArrayList<>();
+            for (int shard = 0; shard < shardCount; shard++) {
+                // The first shard of the default lane is the primary scheduler
+                if (shard == 0 && lane.getKey().equals(laneProperties.getDefaultLane())) {
+                    laneShards.add(scheduler);
+                    continue;
+                }
+                SchedulerFactoryBean factory = createSchedulerFactory(SchedulerLanes.shardName(lane.getKey(), shard),
+                        laneProperties.threadsPerShard(lane.getValue()), dataSource, jobFactory, jobMetricsListener,
+                        triggerMetricsListener, admissionControlListener, workflowJobListener);
+                factory.afterPropertiesSet();
+                laneFactories.add(factory);
+                laneShards.add(factory.getObject());
+            }
+            shards.put(lane.getKey(), laneShards);
+        }
+
+        return new SchedulerLanes(laneProperties.getDefaultLane(), shards, laneFactories,
+                jobStoreType == JobStoreType.JDBC ? jdbcTemplate : null, meterRegistry);
+    }
+
+    private SchedulerFactoryBean createSchedulerFactory(String schedulerName, int shardThreadCount,
+                                                        DataSource dataSource,
+                                                        CachingJobFactory jobFactory,
+                                                        JobMetricsListener jobMetricsListener,
+                                                        TriggerMetricsListener triggerMetricsListener,
+                                                        AdmissionControlListener admissionControlListener,
+                                                        WorkflowJobListener workflowJobListener) {
         SchedulerFactoryBean factory = new SchedulerFactoryBean();
 
-        // Persist jobs in H2
-        factory.setDataSource(dataSource);
+        // One scheduler per lane shard, with its own SCHED_NAME and so its own trigger access lock, registered
+        // under that name so jobs can reach other lanes
+        factory.setSchedulerName(schedulerName);
+        factory.setExposeSchedulerInRepository(true);
+
+        // Persist jobs in H2 through the trigger store pool
+        if (jobStoreType == JobStoreType.JDBC) {
+            factory.setDataSource(dataSource);
+        }
         factory.setOverwriteExistingJobs(true);
         factory.setWaitForJobsToCompleteOnShutdown(true);
 
-        // Enable retry/recovery
-        factory.setJobFactory((bundle, scheduler) -> {
-            Job job;
-            try {
-                job = bundle.getJobDetail().getJobClass().getDeclaredConstructor().newInstance();
-            } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
-                     NoSuchMethodException e) {
-                throw new RuntimeException(e);
-            }
-            return job;
-        });
+        // Worker thread pool
+        Properties quartzProperties = new Properties();
+        quartzProperties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(shardThreadCount));
+        if (threadPoolType == ThreadPoolType.VIRTUAL) {
+            quartzProperties.setProperty("org.quartz.threadPool.class", VirtualThreadPool.class.getName());
+        }
+
+        if (jobStoreType == JobStoreType.WAL) {
+            // Keep jobs in memory, logged to the shard's own directory
+            quartzProperties.setProperty("org.quartz.jobStore.class", WalJobStore.class.getName());
+            quartzProperties.setProperty("org.quartz.jobStore.walDirectory", Path.of(walDirectory, schedulerName).toString());
+            quartzProperties.setProperty("org.quartz.jobStore.segmentSizeBytes", String.valueOf(walSegmentSizeBytes));
+            quartzProperties.setProperty("org.quartz.jobStore.snapshotIntervalMs",
+                    String.valueOf(walSnapshotIntervalMs));
+            quartzProperties.setProperty("org.quartz.jobStore.forceOnWrite", String.valueOf(walForceOnWrite));
+        } else {
+            // Time JDBC store lock acquisition
+            quartzProperties.setProperty("org.quartz.jobStore.lockHandler.class",
+                    MeteredRowLockSemaphore.class.getName());
+            // Compact job data, not rewritten when an execution leaves it unchanged
+            quartzProperties.setProperty("org.quartz.jobStore.driverDelegateClass",
+                    CompactJobDataDelegate.class.getName());
+        }
+        factory.setQuartzProperties(quartzProperties);
+
+        // Metrics for every job and trigger, workflow steps started by their upstream steps and admission limits
+        factory.setGlobalJobListeners(jobMetricsListener, workflowJobListener);
+        factory.setGlobalTriggerListeners(triggerMetricsListener, admissionControlListener);
+
+        // Enable retry/recovery, creating jobs without per-fire reflection
+        factory.setJobFactory(jobFactory);
 
         return factory;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.ss.quartzScheduler.config;
+
+import com.ss.quartzScheduler.model.enums.RetentionAction;
+import com.ss.quartzScheduler.model.enums.RetentionBucket;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Retention settings for DREAM_JOB_EXECUTION_METADATA, with an optional policy per job group.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "scheduler.retention")
+public class RetentionProperties {
+
+    // Whether the housekeeping job is scheduled
+    private boolean enabled = true;
+
+    // When the housekeeping job runs
+    private String cron = "0 15 2 * * ?";
+
+    // Rows removed per transaction
+    private int batchSize = 5000;
+
+    // Pause between batches so job metadata writes are not starved of the table
+    private long batchPauseMs = 50;
+
+    // Policy of job groups without their own entry
+    private Policy defaultPolicy = new Policy();
+
+    // Policies by job group
+    private Map<String, Policy> groups = new HashMap<>();
+
+    public Policy policyFor(String jobGroup) {
+        return groups.getOrDefault(jobGroup, defaultPolicy);
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        // Days execution metadata is kept
+        private int days = 30;
+
+        // Bucket the expiry is rounded down to
+        private RetentionBucket bucket = RetentionBucket.DAY;
+
+        // Whether expired rows are deleted or moved to the archive table
+        private RetentionAction action = RetentionAction.DELETE;
+    }
+}
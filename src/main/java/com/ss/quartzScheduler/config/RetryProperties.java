@@ -0,0 +1,51 @@
+package com.ss.quartzScheduler.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.quartz.JobDetail;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Retry settings of failed job executions, with an optional policy per job.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "scheduler.retry")
+public class RetryProperties {
+
+    // Policy of jobs without their own entry
+    private Policy defaultPolicy = new Policy();
+
+    // Policies by job name, or by job class simple name for all jobs of a class
+    private Map<String, Policy> jobs = new HashMap<>();
+
+    public Policy policyFor(JobDetail jobDetail) {
+        Policy policy = jobs.get(jobDetail.getKey().getName());
+        return policy != null ? policy : jobs.getOrDefault(jobDetail.getJobClass().getSimpleName(), defaultPolicy);
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+
+        // Retries after the first failed execution, 0 for none
+        private int maxAttempts = 3;
+
+        // Delay before the first retry
+        private long initialDelayMs = 1000;
+
+        // Factor the delay grows by with every retry
+        private double multiplier = 2.0;
+
+        // Longest delay between retries
+        private long maxDelayMs = 60000;
+
+        // Share of the delay that is randomized, so retries of jobs failing together spread out (0 to 1)
+        private double jitter = 0.5;
+    }
+}
@@ -3,8 +3,14 @@ package com.ss.quartzScheduler.config;
 import com.ss.quartzScheduler.repository.JobExecutionMetadataRepository;
 import com.ss.quartzScheduler.repository.JobUserControlRepository;
 import com.ss.quartzScheduler.service.DataBaseService;
+import com.ss.quartzScheduler.service.ExecutionMetadataWriter;
+import com.ss.quartzScheduler.service.JobStatusCache;
 import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
 
 /**
  * ServiceInitializer is responsible for initializing the database service
@@ -15,16 +21,30 @@ public class ServiceInitializer {
 
     private final JobExecutionMetadataRepository jobExecutionMetadataRepository;
     private final JobUserControlRepository userControlRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource executionMetadataDataSource;
+    private final ExecutionMetadataWriter executionMetadataWriter;
+    private final JobStatusCache jobStatusCache;
 
     public ServiceInitializer(JobExecutionMetadataRepository jobExecutionMetadataRepository,
-                              JobUserControlRepository userControlRepository) {
+                              JobUserControlRepository userControlRepository,
+                              JdbcTemplate jdbcTemplate,
+                              @Qualifier(DataSourceConfig.EXECUTION_METADATA_DATA_SOURCE)
+                              DataSource executionMetadataDataSource,
+                              ExecutionMetadataWriter executionMetadataWriter,
+                              JobStatusCache jobStatusCache) {
         this.jobExecutionMetadataRepository = jobExecutionMetadataRepository;
         this.userControlRepository = userControlRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.executionMetadataDataSource = executionMetadataDataSource;
+        this.executionMetadataWriter = executionMetadataWriter;
+        this.jobStatusCache = jobStatusCache;
     }
 
     @PostConstruct
     public void init() {
-        DataBaseService.init(jobExecutionMetadataRepository, userControlRepository);
+        DataBaseService.init(jobExecutionMetadataRepository, userControlRepository, jdbcTemplate,
+                new JdbcTemplate(executionMetadataDataSource), executionMetadataWriter, jobStatusCache);
 
     }
 }
@@ -1,12 +1,19 @@
 package com.ss.quartzScheduler.controller;
 
+import com.ss.quartzScheduler.admission.AdmissionControlListener;
+import com.ss.quartzScheduler.calendar.CalendarService;
+import com.ss.quartzScheduler.config.AdmissionProperties;
 import com.ss.quartzScheduler.exception.JobManagementException;
+import com.ss.quartzScheduler.forecast.ScheduleForecaster;
 import com.ss.quartzScheduler.model.enums.DayOfWeekEnum;
+import com.ss.quartzScheduler.model.enums.ExportFormat;
 import com.ss.quartzScheduler.model.enums.IntervalType;
 import com.ss.quartzScheduler.model.SuspensionInfo;
 import com.ss.quartzScheduler.model.dto.*;
+import com.ss.quartzScheduler.service.ExecutionHistoryExporter;
 import com.ss.quartzScheduler.service.QuartzJobManagementService;
 import com.ss.quartzScheduler.util.CronUtil;
+import com.ss.quartzScheduler.workflow.WorkflowEngine;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,9 +24,15 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.SchedulerException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
@@ -37,6 +50,11 @@ import static com.ss.quartzScheduler.util.CronUtil.JOB_NAME;
 public class QuartzJobController {
 
     private final QuartzJobManagementService jobManagementService;
+    private final ExecutionHistoryExporter historyExporter;
+    private final WorkflowEngine workflowEngine;
+    private final AdmissionControlListener admissionControl;
+    private final CalendarService calendarService;
+    private final ScheduleForecaster scheduleForecaster;
 
     @PostMapping("/scheduleJob")
     @Operation(
@@ -109,7 +127,13 @@ public class QuartzJobController {
             @RequestParam(required = false) List<DayOfWeekEnum> daysOfWeek,
 
             @Parameter(description = "Job name")
-            @RequestParam(defaultValue = JOB_NAME) String jobName) {
+            @RequestParam(defaultValue = JOB_NAME) String jobName,
+
+            @Parameter(description = "Execution lane (e.g., critical, standard). Defaults to the default lane.")
+            @RequestParam(required = false) String lane,
+
+            @Parameter(description = "Holiday or business calendar whose excluded times the job skips")
+            @RequestParam(required = false) String calendarName) {
 
         Map<String, Object> response = new HashMap<>();
 
@@ -129,13 +153,14 @@ public class QuartzJobController {
                 return ResponseEntity.badRequest().body(response);
             }
 
-            jobManagementService.scheduleJob(jobName, cronExpression);
+            LocalDateTime nextExecutionTime = jobManagementService.scheduleJob(jobName, cronExpression, lane,
+                    calendarName);
 
             response.put("success", true);
             response.put("message", "Job scheduled successfully");
             response.put("jobName", jobName);
             response.put("cronExpression", cronExpression);
-            response.put("nextExecutionTime", CronUtil.getNextExecutionTime(cronExpression));
+            response.put("nextExecutionTime", nextExecutionTime);
 
             return ResponseEntity.ok(response);
 
@@ -147,6 +172,41 @@ public class QuartzJobController {
         }
     }
 
+    @PostMapping("/scheduleJobs/bulk")
+    @Operation(
+            summary = "Schedule a batch of jobs",
+            description = """
+                    Schedule many jobs in a single scheduler transaction.
+                                    
+                    Each item uses the same fields as `/scheduleJob`. CRON expressions are generated and validated
+                    per item; invalid items are reported without failing the rest of the batch.
+                                    
+                    **Notes:**
+                    - With `replace=false` the whole batch fails if any of the jobs already exists.
+                    - Job names must be unique within the batch.
+                    """
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed, see per-item results",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request - Empty batch or missing job names"
+            )
+    })
+    public ResponseEntity<ApiResponse<List<JobScheduleResult>>> scheduleJobs(
+            @Valid @RequestBody BulkJobScheduleRequest request) {
+
+        List<JobScheduleResult> results = jobManagementService.scheduleJobs(request.getJobs(), request.isReplace());
+
+        long scheduled = results.stream().filter(JobScheduleResult::isSuccess).count();
+        String message = String.format("Scheduled %d of %d jobs", scheduled, results.size());
+        return ResponseEntity.ok(ApiResponse.success(message, results));
+    }
+
     @PostMapping("/triggerInstantly")
     @Operation(summary = "Trigger a job immediately",
             description = "Triggers a specific job to run immediately")
@@ -169,7 +229,7 @@ public class QuartzJobController {
             @Valid @RequestBody JobTriggerRequest request) throws JobManagementException {
 
         try {
-            jobManagementService.triggerJob(request.getJobName(), request.getGroupName());
+            jobManagementService.triggerJob(request.getJobName(), request.getGroupName(), request.getLane());
 
             String message = String.format("Job %s.%s triggered successfully",
                     request.getJobName(), request.getGroupName());
@@ -303,13 +363,21 @@ public class QuartzJobController {
             description = "Gets the current status and suspension info of a job")
     public ResponseEntity<ApiResponse<Map<String, Object>>> getJobStatus(
             @Parameter(description = "Job name") @PathVariable String jobName,
-            @Parameter(description = "Group name") @PathVariable String groupName) {
+            @Parameter(description = "Group name") @PathVariable String groupName) throws SchedulerException {
 
         Map<String, Object> status = new HashMap<>();
         status.put("jobName", jobName);
         status.put("groupName", groupName);
+        status.put("lane", jobManagementService.getJobLane(jobName, groupName));
         status.put("suspended", jobManagementService.isJobSuspended(jobName, groupName));
 
+        jobManagementService.getJobStatus(jobName, groupName).ifPresent(control -> {
+            status.put("status", control.getStatus());
+            status.put("lastScheduledTime", control.getLastScheduledTime());
+            status.put("actualFireTime", control.getActualFireTime());
+            status.put("nextFireTime", control.getNextFireTime());
+        });
+
         SuspensionInfo suspensionInfo = jobManagementService.getSuspensionInfo(jobName, groupName);
         if (suspensionInfo != null) {
             status.put("suspensionInfo", convertToDto(suspensionInfo, jobName, groupName));
@@ -318,6 +386,236 @@ public class QuartzJobController {
         return ResponseEntity.ok(ApiResponse.success("Job status retrieved", status));
     }
 
+    @GetMapping("/{jobName}/{groupName}/history")
+    @Operation(summary = "Get job execution history",
+            description = "Pages through the executions of a job, newest first. Pass nextBeforeFireTime and " +
+                    "nextBeforeId of a page as beforeFireTime and beforeId to get the next one")
+    public ResponseEntity<ApiResponse<ExecutionHistoryPage>> getExecutionHistory(
+            @Parameter(description = "Job name") @PathVariable String jobName,
+            @Parameter(description = "Group name") @PathVariable String groupName,
+            @Parameter(description = "Oldest actual fire time to include (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Newest actual fire time to include (ISO-8601), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "Fire time cursor from the previous page")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant beforeFireTime,
+            @Parameter(description = "Id cursor from the previous page")
+            @RequestParam(required = false) Long beforeId,
+            @Parameter(description = "Page size, at most " + QuartzJobManagementService.MAX_HISTORY_PAGE_SIZE)
+            @RequestParam(defaultValue = "50") int size) {
+
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("'from' must not be after 'to'"));
+        }
+
+        ExecutionHistoryPage page = jobManagementService.getExecutionHistory(jobName, groupName, from, to,
+                beforeFireTime, beforeId, size);
+        String message = String.format("Found %d executions", page.getExecutions().size());
+        return ResponseEntity.ok(ApiResponse.success(message, page));
+    }
+
+    @GetMapping("/history/export")
+    @Operation(summary = "Export execution history",
+            description = "Streams execution history, oldest first, as NDJSON or CSV, optionally gzip-compressed. " +
+                    "Rows are written as they are read from the database, so exports of any size use constant memory")
+    public ResponseEntity<StreamingResponseBody> exportExecutionHistory(
+            @Parameter(description = "Job name, all jobs when omitted") @RequestParam(required = false) String jobName,
+            @Parameter(description = "Group name, all groups when omitted") @RequestParam(required = false) String groupName,
+            @Parameter(description = "Oldest actual fire time to include (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Newest actual fire time to include (ISO-8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @Parameter(description = "NDJSON or CSV") @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @Parameter(description = "Gzip-compress the file") @RequestParam(defaultValue = "false") boolean gzip) {
+
+        String fileName = "execution-history." + format.getFileExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            long rows = historyExporter.export(jobName, groupName, from, to, format, gzip, out);
+            log.info("Exported {} execution history rows as {}", rows, fileName);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    @PostMapping("/workflow")
+    @Operation(
+            summary = "Define a workflow of dependent jobs",
+            description = """
+                    Create or replace a workflow: jobs (steps) and the steps each one waits for.
+                                    
+                    A run fires the steps without dependencies, and every step starts as soon as all the steps it
+                    depends on completed. Steps that do not depend on each other run at the same time.
+                    Run state is persisted, so a run continues on another node after a failover.
+                                    
+                    **Notes:**
+                    - Steps run the job of the same name and group; missing jobs are created as ADR jobs.
+                    - Triggers of existing step jobs are removed, steps only run as part of the workflow.
+                    - With `cronExpression` a run is started on that schedule, replacing padded job crons.
+                    - A failed step fails the run; pending steps are skipped.
+                    """
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Workflow defined",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request - Unknown or duplicate steps, dependency cycle or invalid cron"
+            )
+    })
+    public ResponseEntity<ApiResponse<Void>> defineWorkflow(@Valid @RequestBody WorkflowDefinitionRequest request)
+            throws JobManagementException, SchedulerException {
+
+        workflowEngine.define(request);
+
+        String message = String.format("Workflow %s defined with %d steps", request.getWorkflowName(),
+                request.getSteps().size());
+        return ResponseEntity.ok(ApiResponse.success(message));
+    }
+
+    @PostMapping("/workflow/{workflowName}/start")
+    @Operation(summary = "Start a workflow run",
+            description = "Starts a run of a workflow now. Fails if a run of it is still running")
+    public ResponseEntity<ApiResponse<Long>> startWorkflow(
+            @Parameter(description = "Workflow name") @PathVariable String workflowName)
+            throws JobManagementException {
+
+        long runId = workflowEngine.startRun(workflowName);
+        return ResponseEntity.ok(ApiResponse.success("Workflow " + workflowName + " started", runId));
+    }
+
+    @GetMapping("/workflow/run/{runId}")
+    @Operation(summary = "Get workflow run status",
+            description = "Gets the state of a workflow run and each of its steps")
+    public ResponseEntity<ApiResponse<WorkflowRunDto>> getWorkflowRun(
+            @Parameter(description = "Run id returned when the run was started") @PathVariable long runId)
+            throws JobManagementException {
+
+        WorkflowRunDto run = workflowEngine.getRun(runId)
+                .orElseThrow(() -> new JobManagementException("Workflow run does not exist: " + runId));
+        return ResponseEntity.ok(ApiResponse.success("Workflow run retrieved", run));
+    }
+
+    @GetMapping("/admission/limits")
+    @Operation(summary = "Get admission limits",
+            description = "Returns the admission limits of every job group with limits on this node, with the " +
+                    "fires admitted, deferred and rejected since start")
+    public ResponseEntity<ApiResponse<List<AdmissionLimitDto>>> getAdmissionLimits() {
+
+        List<AdmissionLimitDto> limits = admissionControl.getLimits();
+        String message = String.format("Found %d job groups with admission limits", limits.size());
+        return ResponseEntity.ok(ApiResponse.success(message, limits));
+    }
+
+    @PutMapping("/admission/limits/{groupName}")
+    @Operation(summary = "Set admission limits of a job group",
+            description = "Sets the token bucket rate limit and the limit of running jobs of a job group on this " +
+                    "node. Fires over a limit are deferred by rescheduling them, not dropped")
+    public ResponseEntity<ApiResponse<Void>> setAdmissionLimit(
+            @Parameter(description = "Group name") @PathVariable String groupName,
+            @Valid @RequestBody AdmissionLimitRequest request) {
+
+        AdmissionProperties.Limit limit = new AdmissionProperties.Limit();
+        limit.setRatePerSecond(request.getRatePerSecond());
+        limit.setBurst(request.getBurst());
+        limit.setMaxInFlight(request.getMaxInFlight());
+        admissionControl.setLimit(groupName, limit);
+
+        return ResponseEntity.ok(ApiResponse.success("Admission limits of group " + groupName + " updated"));
+    }
+
+    @DeleteMapping("/admission/limits/{groupName}")
+    @Operation(summary = "Remove admission limits of a job group",
+            description = "Admits every fire of the job group again on this node; its counters are kept")
+    public ResponseEntity<ApiResponse<Void>> removeAdmissionLimit(
+            @Parameter(description = "Group name") @PathVariable String groupName) {
+
+        admissionControl.removeLimit(groupName);
+        return ResponseEntity.ok(ApiResponse.success("Admission limits of group " + groupName + " removed"));
+    }
+
+    @PutMapping("/calendar/{calendarName}")
+    @Operation(
+            summary = "Upload a holiday or business calendar",
+            description = """
+                    Create or replace a calendar that triggers skip the excluded times of.
+                                    
+                    - `HOLIDAY` excludes the holidays.
+                    - `BUSINESS` also excludes the days and hours outside business hours.
+                                    
+                    Attach it with `calendarName` when scheduling a job. Replacing a calendar recomputes the next fire
+                    time of every trigger using it.
+                    """
+    )
+    public ResponseEntity<ApiResponse<Void>> putCalendar(
+            @Parameter(description = "Calendar name") @PathVariable String calendarName,
+            @Valid @RequestBody CalendarRequest request) throws JobManagementException, SchedulerException {
+
+        calendarService.putCalendar(calendarName, request);
+        return ResponseEntity.ok(ApiResponse.success("Calendar " + calendarName + " stored"));
+    }
+
+    @GetMapping("/calendar")
+    @Operation(summary = "Get all calendars", description = "Returns every holiday and business calendar")
+    public ResponseEntity<ApiResponse<List<CalendarDto>>> getCalendars() throws SchedulerException {
+
+        List<CalendarDto> calendars = calendarService.getCalendars();
+        return ResponseEntity.ok(ApiResponse.success(String.format("Found %d calendars", calendars.size()),
+                calendars));
+    }
+
+    @GetMapping("/calendar/{calendarName}")
+    @Operation(summary = "Get a calendar", description = "Gets a holiday or business calendar")
+    public ResponseEntity<ApiResponse<CalendarDto>> getCalendar(
+            @Parameter(description = "Calendar name") @PathVariable String calendarName)
+            throws JobManagementException, SchedulerException {
+
+        CalendarDto calendar = calendarService.getCalendar(calendarName)
+                .orElseThrow(() -> new JobManagementException("Calendar does not exist: " + calendarName));
+        return ResponseEntity.ok(ApiResponse.success("Calendar retrieved", calendar));
+    }
+
+    @DeleteMapping("/calendar/{calendarName}")
+    @Operation(summary = "Remove a calendar", description = "Removes a calendar no trigger uses anymore")
+    public ResponseEntity<ApiResponse<Void>> removeCalendar(
+            @Parameter(description = "Calendar name") @PathVariable String calendarName)
+            throws JobManagementException {
+
+        calendarService.removeCalendar(calendarName);
+        return ResponseEntity.ok(ApiResponse.success("Calendar " + calendarName + " removed"));
+    }
+
+    @GetMapping("/forecast")
+    @Operation(
+            summary = "Forecast worker thread demand",
+            description = """
+                    Expands every trigger that is not paused over the horizon and expects each fire to hold a worker
+                    thread for the average duration of its job's recent executions.
+                                    
+                    Returns, per lane shard, the most executions running at the same time in every minute of the
+                    horizon, and the windows in which that exceeds the shard's worker threads.
+                    """
+    )
+    public ResponseEntity<ApiResponse<ScheduleForecast>> forecast(
+            @Parameter(description = "Start of the horizon (ISO-8601), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @Parameter(description = "Length of the horizon in minutes, defaults to 24 hours")
+            @RequestParam(required = false) Integer horizonMinutes) throws JobManagementException, SchedulerException {
+
+        ScheduleForecast forecast = scheduleForecaster.forecast(from,
+                horizonMinutes != null ? Duration.ofMinutes(horizonMinutes) : null);
+        long oversubscribed = forecast.getSchedulers().stream()
+                .mapToLong(scheduler -> scheduler.getOversubscribed().size())
+                .sum();
+        return ResponseEntity.ok(ApiResponse.success(String.format("Found %d oversubscribed windows",
+                oversubscribed), forecast));
+    }
+
     @GetMapping("/suspended")
     @Operation(summary = "Get all suspended jobs",
             description = "Returns a list of all currently suspended jobs")
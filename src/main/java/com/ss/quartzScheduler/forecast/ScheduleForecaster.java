@@ -0,0 +1,278 @@
+package com.ss.quartzScheduler.forecast;
+
+import com.ss.quartzScheduler.config.DataSourceConfig;
+import com.ss.quartzScheduler.config.ForecastProperties;
+import com.ss.quartzScheduler.exception.JobManagementException;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import com.ss.quartzScheduler.model.dto.OversubscribedWindow;
+import com.ss.quartzScheduler.model.dto.ScheduleForecast;
+import com.ss.quartzScheduler.model.dto.SchedulerForecast;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Calendar;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Forecasts the worker thread demand of every scheduler over a horizon.
+ * <p>
+ * Every trigger in the store that is not paused is expanded into its fire times within the horizon, and those
+ * just before it whose executions are still running at its start, skipping the times its calendar excludes. The
+ * triggers are expanded in parallel. Each fire is expected to hold a worker thread
+ * for the average duration of its job's recent executions in DREAM_JOB_EXECUTION_METADATA. A sweep over the start
+ * and end of all fires of a scheduler gives the most executions running at the same time in each minute, and the
+ * minutes in which that exceeds the scheduler's worker threads.
+ */
+@Slf4j
+@Component
+public class ScheduleForecaster {
+
+    private static final long MINUTE_MS = 60_000;
+
+    // Average time an execution held its worker thread, by job
+    private static final String AVERAGE_DURATION_SQL = "SELECT job_name, job_group, " +
+            "AVG(DATEDIFF('MILLISECOND', actual_fire_time, execution_time)) AS duration_ms " +
+            "FROM DREAM_JOB_EXECUTION_METADATA WHERE bucket_day >= ? AND execution_time IS NOT NULL " +
+            "GROUP BY job_name, job_group";
+
+    private final SchedulerLanes schedulerLanes;
+    private final JdbcTemplate jdbcTemplate;
+    private final ForecastProperties properties;
+
+    // Source of System.currentTimeMillis() values, the time due fires are picked up at
+    private final LongSupplier clock;
+
+    @Autowired
+    public ScheduleForecaster(SchedulerLanes schedulerLanes,
+                              @Qualifier(DataSourceConfig.EXECUTION_METADATA_DATA_SOURCE) DataSource dataSource,
+                              ForecastProperties properties) {
+        this(schedulerLanes, dataSource, properties, System::currentTimeMillis);
+    }
+
+    public ScheduleForecaster(SchedulerLanes schedulerLanes, DataSource dataSource, ForecastProperties properties,
+                              LongSupplier clock) {
+        this.schedulerLanes = schedulerLanes;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Forecast the worker thread demand of every scheduler
+     *
+     * @param from    Start of the horizon, rounded down to the minute; now when null
+     * @param horizon Length of the horizon, the configured default when null
+     * @throws JobManagementException if the horizon is not positive or longer than the configured maximum
+     */
+    public ScheduleForecast forecast(Instant from, Duration horizon) throws JobManagementException,
+            SchedulerException {
+        Duration length = horizon != null ? horizon : Duration.ofHours(properties.getDefaultHorizonHours());
+        if (length.isNegative() || length.isZero() || length.compareTo(
+                Duration.ofHours(properties.getMaxHorizonHours())) > 0) {
+            throw new JobManagementException("Forecast horizon must be between 1 minute and " +
+                    properties.getMaxHorizonHours() + " hours");
+        }
+        long now = clock.getAsLong();
+        long start = Math.floorDiv(from != null ? from.toEpochMilli() : now, MINUTE_MS) * MINUTE_MS;
+        long end = start + Math.max(MINUTE_MS, length.toMillis() / MINUTE_MS * MINUTE_MS);
+
+        Map<JobKey, Long> durations = averageDurations(now);
+        List<SchedulerForecast> forecasts = new ArrayList<>();
+        for (Scheduler scheduler : schedulerLanes.getSchedulers()) {
+            forecasts.add(forecast(scheduler, now, start, end, durations));
+        }
+        return new ScheduleForecast(Instant.ofEpochMilli(start), Instant.ofEpochMilli(end), forecasts);
+    }
+
+    private SchedulerForecast forecast(Scheduler scheduler, long now, long start, long end,
+                                       Map<JobKey, Long> durations) throws SchedulerException {
+        List<ForecastTrigger> triggers = loadTriggers(scheduler);
+
+        // Start and end of every fire, expanded in parallel: time since the start of the horizon shifted left by
+        // one, with the low bit set for starts so an execution ending when another starts frees its thread first
+        long[][] triggerEvents = triggers.parallelStream()
+                .map(trigger -> expand(trigger, now, start, end,
+                        durations.getOrDefault(trigger.trigger().getJobKey(), properties.getDefaultDurationMs())))
+                .toArray(long[][]::new);
+
+        int eventCount = 0;
+        int firingTriggers = 0;
+        for (long[] events : triggerEvents) {
+            eventCount += events.length;
+            firingTriggers += events.length > 0 ? 1 : 0;
+        }
+        long[] events = new long[eventCount];
+        int offset = 0;
+        for (long[] trigger : triggerEvents) {
+            System.arraycopy(trigger, 0, events, offset, trigger.length);
+            offset += trigger.length;
+        }
+        Arrays.parallelSort(events);
+
+        int[] concurrency = sweep(events, (int) ((end - start) / MINUTE_MS));
+        int threadCount = scheduler.getMetaData().getThreadPoolSize();
+        int peak = Arrays.stream(concurrency).max().orElse(0);
+        List<OversubscribedWindow> oversubscribed = oversubscribed(concurrency, threadCount, start);
+        if (!oversubscribed.isEmpty()) {
+            log.info("Forecast of {} has {} windows exceeding its {} worker threads, peaking at {} executions",
+                    scheduler.getSchedulerName(), oversubscribed.size(), threadCount, peak);
+        }
+
+        return new SchedulerForecast(scheduler.getSchedulerName(),
+                SchedulerLanes.laneName(scheduler.getSchedulerName()), threadCount, firingTriggers,
+                eventCount / 2, peak, concurrency, oversubscribed);
+    }
+
+    /**
+     * Load the triggers of a scheduler that will fire, with their calendars
+     */
+    private static List<ForecastTrigger> loadTriggers(Scheduler scheduler) throws SchedulerException {
+        Map<String, Calendar> calendars = new HashMap<>();
+        List<ForecastTrigger> triggers = new ArrayList<>();
+        for (String group : scheduler.getTriggerGroupNames()) {
+            for (TriggerKey triggerKey : scheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(group))) {
+                Trigger.TriggerState state = scheduler.getTriggerState(triggerKey);
+                if (state != Trigger.TriggerState.NORMAL && state != Trigger.TriggerState.BLOCKED) {
+                    continue;
+                }
+                Trigger trigger = scheduler.getTrigger(triggerKey);
+                if (trigger == null || trigger.getNextFireTime() == null) {
+                    continue;
+                }
+                Calendar calendar = null;
+                if (trigger.getCalendarName() != null) {
+                    calendar = calendars.get(trigger.getCalendarName());
+                    if (calendar == null) {
+                        calendar = scheduler.getCalendar(trigger.getCalendarName());
+                        calendars.put(trigger.getCalendarName(), calendar);
+                    }
+                }
+                triggers.add(new ForecastTrigger(trigger, calendar));
+            }
+        }
+        return triggers;
+    }
+
+    /**
+     * Start and end events of the fires of a trigger running within the horizon, starts before the horizon moved to
+     * its start and ends cut off at its end
+     */
+    private long[] expand(ForecastTrigger forecastTrigger, long now, long start, long end, long durationMs) {
+        Trigger trigger = forecastTrigger.trigger();
+        Calendar calendar = forecastTrigger.calendar();
+        long horizonMs = end - start;
+        long[] events = new long[16];
+        int count = 0;
+
+        // A fire that is due but not yet picked up runs now, in place of the fires missed until now
+        long nextFireTime = trigger.getNextFireTime().getTime();
+        boolean due = nextFireTime < now;
+        if (due && now - start < horizonMs && now - start + durationMs > 0) {
+            events[count++] = Math.max(now - start, 0) << 1 | 1;
+            events[count++] = Math.min(now - start + durationMs, horizonMs) << 1;
+        }
+
+        // Fires from one execution before the horizon on, those are still running at its start
+        Date fireTime = trigger.getFireTimeAfter(new Date(start - durationMs));
+        while (fireTime != null && fireTime.getTime() < end) {
+            if (due && fireTime.getTime() >= nextFireTime && fireTime.getTime() < now) {
+                fireTime = trigger.getFireTimeAfter(new Date(now - 1));
+                continue;
+            }
+            if (calendar == null || calendar.isTimeIncluded(fireTime.getTime())) {
+                if (count / 2 >= properties.getMaxFiresPerTrigger()) {
+                    log.warn("Forecast of trigger {} stopped after {} fires", trigger.getKey(), count / 2);
+                    break;
+                }
+                if (count == events.length) {
+                    events = Arrays.copyOf(events, count * 2);
+                }
+                long fireOffset = fireTime.getTime() - start;
+                events[count++] = Math.max(fireOffset, 0) << 1 | 1;
+                events[count++] = Math.min(fireOffset + durationMs, horizonMs) << 1;
+            }
+            fireTime = trigger.getFireTimeAfter(fireTime);
+        }
+        return Arrays.copyOf(events, count);
+    }
+
+    /**
+     * Most executions running at the same time in each minute, from the sorted start and end events
+     */
+    private static int[] sweep(long[] events, int minutes) {
+        int[] concurrency = new int[minutes];
+        int running = 0;
+        int minute = 0;
+        for (long event : events) {
+            int eventMinute = (int) Math.min((event >>> 1) / MINUTE_MS, minutes - 1);
+
+            // Executions still running at the start of the following minutes
+            while (minute < eventMinute) {
+                minute++;
+                concurrency[minute] = Math.max(concurrency[minute], running);
+            }
+            running += (event & 1) == 1 ? 1 : -1;
+            concurrency[eventMinute] = Math.max(concurrency[eventMinute], running);
+        }
+        return concurrency;
+    }
+
+    /**
+     * Windows of consecutive minutes with more executions running than worker threads
+     */
+    private static List<OversubscribedWindow> oversubscribed(int[] concurrency, int threadCount, long start) {
+        List<OversubscribedWindow> windows = new ArrayList<>();
+        int minute = 0;
+        while (minute < concurrency.length) {
+            if (concurrency[minute] <= threadCount) {
+                minute++;
+                continue;
+            }
+            int first = minute;
+            int peak = 0;
+            while (minute < concurrency.length && concurrency[minute] > threadCount) {
+                peak = Math.max(peak, concurrency[minute++]);
+            }
+            windows.add(new OversubscribedWindow(Instant.ofEpochMilli(start + first * MINUTE_MS),
+                    Instant.ofEpochMilli(start + minute * MINUTE_MS), peak));
+        }
+        return windows;
+    }
+
+    /**
+     * Average time the recent executions of each job held their worker thread, at least 1 ms
+     */
+    private Map<JobKey, Long> averageDurations(long now) {
+        long fromDay = LocalDate.ofInstant(Instant.ofEpochMilli(now), ZoneOffset.UTC)
+                .minusDays(properties.getHistoryDays()).toEpochDay();
+        Map<JobKey, Long> durations = new HashMap<>();
+        jdbcTemplate.query(AVERAGE_DURATION_SQL, (RowCallbackHandler) rs -> durations.put(
+                new JobKey(rs.getString("job_name"), rs.getString("job_group")),
+                Math.max(1L, rs.getLong("duration_ms"))), fromDay);
+        return durations;
+    }
+
+    private record ForecastTrigger(Trigger trigger, Calendar calendar) {
+    }
+}
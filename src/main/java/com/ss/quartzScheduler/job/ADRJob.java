@@ -1,141 +1,330 @@
 package com.ss.quartzScheduler.job;
 
+import com.ss.quartzScheduler.admission.AdmissionControlListener;
+import com.ss.quartzScheduler.jobfactory.StatelessJob;
 import com.ss.quartzScheduler.model.enums.JobStatus;
+import com.ss.quartzScheduler.model.enums.WorkflowStepOutcome;
+import com.ss.quartzScheduler.pipeline.PipelineExecutors;
+import com.ss.quartzScheduler.pipeline.PipelineResult;
+import com.ss.quartzScheduler.pipeline.StageAction;
+import com.ss.quartzScheduler.pipeline.StagePipeline;
+import com.ss.quartzScheduler.retry.RetryScheduler;
 import com.ss.quartzScheduler.service.DataBaseService;
+import com.ss.quartzScheduler.service.ExecutionLedger;
 import org.quartz.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static com.ss.quartzScheduler.util.CronUtil.convertToLocalDateTime;
 
 /**
  * A Quartz Job that mimics ADR processing logic.
- * It includes retry logic
+ * The CUSIP set of a run comes from the JobDataMap ({@code cusips}, comma separated) or from a named
+ * supplier ({@code cusipSupplier}). It is split into partitions that are processed in parallel; within a
+ * partition each CUSIP runs through the asynchronous stage pipeline.
+ * The Quartz worker thread is released as soon as the partitions are submitted, and completion is
+ * reported back to the database service.
+ * Completed partitions are checkpointed, so a retry of a failed run resumes from the last checkpoint.
+ * Every completed step of a CUSIP is recorded in the {@link ExecutionLedger}, so a retried, recovered or
+ * resumed execution does not fetch, email or insert into DMC again for steps already done.
+ * A fire arriving while the previous pipeline of the job still runs is deferred, not dropped.
+ * Failed runs are retried with backoff by the {@link RetryScheduler}
  * Also stores job scheduling metadata in Own created table
  */
 @Component
+@StatelessJob
 @DisallowConcurrentExecution // Prevents concurrent execution of the same job
 @PersistJobDataAfterExecution // Persists job data after execution
 public class ADRJob implements Job {
 
     private static final Logger logger = LoggerFactory.getLogger(ADRJob.class);
-    private static final String RETRY_COUNT_KEY = "retryCount";
-    private static final int MAX_RETRY_ATTEMPTS = 3;
+
+    // JobDataMap keys
+    public static final String CUSIPS_KEY = "cusips";
+    public static final String CUSIP_SUPPLIER_KEY = "cusipSupplier";
+    public static final String PARTITION_SIZE_KEY = "partitionSize";
+    private static final String RUN_ID_KEY = "runId";
+
+    private static final String DEFAULT_CUSIP = "12345";
+    private static final int DEFAULT_PARTITION_SIZE = 50;
+
+    // Jobs whose pipeline is still running; the pipeline outlives execute(), so
+    // @DisallowConcurrentExecution alone no longer prevents overlapping runs on this node
+    private static final Set<JobKey> RUNNING_PIPELINES = ConcurrentHashMap.newKeySet();
+
+    private final RetryScheduler retryScheduler;
+    private final ExecutionLedger executionLedger;
+    private final AdmissionControlListener admissionControl;
+
+    public ADRJob(RetryScheduler retryScheduler, ExecutionLedger executionLedger,
+                  AdmissionControlListener admissionControl) {
+        this.retryScheduler = retryScheduler;
+        this.executionLedger = executionLedger;
+        this.admissionControl = admissionControl;
+    }
 
     /**
-     * Execute the job to mimic actual job processing logic
+     * Execute the job by submitting the ADR processing pipeline
      *
      * @param context JobExecutionContext context
-     * @throws JobExecutionException in case of job execution failure
+     * @throws JobExecutionException in case the pipeline cannot be submitted
      */
     @Override
     public void execute(JobExecutionContext context) throws JobExecutionException {
 
-        int retryCount = 0;
-        JobDataMap dataMap = context.getJobDetail().getJobDataMap();
-        if (!dataMap.isEmpty()) {
-            retryCount = dataMap.getIntValue(RETRY_COUNT_KEY);
-        }
+        JobKey jobKey = context.getJobDetail().getKey();
 
-        LocalDateTime nextFireTime = context.getNextFireTime() != null ?
-                context.getNextFireTime().toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime() : null;
+        // Retries are fired with their attempt number in the trigger data, never in the persisted job data
+        JobDataMap triggerData = context.getTrigger().getJobDataMap();
+        int retryAttempt = RetryScheduler.attempt(context);
 
-        try {
-            // Store job scheduling metadata
-            DataBaseService.getInstance().storeJobMetadata(context);
+        // A run and all its retries share the run id of the original fire, which keys the checkpoints
+        long runId = triggerData.containsKey(RUN_ID_KEY) ? triggerData.getLongValue(RUN_ID_KEY)
+                : context.getScheduledFireTime().getTime();
 
-            // Execute the actual job logic
-            demoJob();
+        LocalDateTime scheduledFireTime = convertToLocalDateTime(context.getScheduledFireTime());
+        LocalDateTime fireTime = convertToLocalDateTime(context.getFireTime());
+        LocalDateTime nextFireTime = convertToLocalDateTime(context.getNextFireTime());
 
-            // Simulate random failure to test retry functionality
-//            if (Math.random() < 0.3) {
-//                throw new RuntimeException("Simulated failure for retry");
-//            }
+        if (!RUNNING_PIPELINES.add(jobKey)) {
+            // Run the fire later, as @DisallowConcurrentExecution would once the previous run finishes
+            if (admissionControl.defer(context)) {
+                logger.info("Previous pipeline of {} is still running, deferred this fire", jobKey);
+            } else {
+                context.setResult(CompletableFuture.completedFuture(WorkflowStepOutcome.FAILED));
+            }
+            return;
+        }
 
-            // Update job user data in database
-            DataBaseService.getInstance().storeJobUserData(context.getJobDetail().getKey().getName(),
-                    context.getJobDetail().getKey().getGroup(),
-                    context.getScheduledFireTime().toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime(),
-                    context.getFireTime().toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime(),
-                    nextFireTime, JobStatus.COMPLETED.name());
+        ExecutionLedger.Ledger ledger = null;
+        try {
+            // Resume from the last checkpoint when this is a retry of a failed run, or a recovery of a run
+            // interrupted by a node crash; recovery fires at the scheduled fire time of the run, so keeps its run id
+            ledger = executionLedger.open(context);
+            List<List<String>> partitions = partition(resolveCusips(context.getMergedJobDataMap()),
+                    resolvePartitionSize(context.getMergedJobDataMap()));
+            Set<Integer> completed = retryAttempt > 0 || context.isRecovering()
+                    ? DataBaseService.getInstance().getCompletedPartitions(jobKey.getName(), jobKey.getGroup(), runId)
+                    : Set.of();
+            if (!completed.isEmpty()) {
+                logger.info("Resuming run {} of {}: {} of {} partitions already completed", runId, jobKey,
+                        completed.size(), partitions.size());
+            }
 
-            // Reset retry count on success
-            dataMap.put(RETRY_COUNT_KEY, 0);
+            // Submit the actual job logic and release the worker thread; the outcome completes a workflow step
+            ExecutionLedger.Ledger runLedger = ledger;
+            context.setResult(buildPartitionedRun(jobKey, runId, runLedger, partitions, completed).submit()
+                    .handle((result, error) -> {
+                        RUNNING_PIPELINES.remove(jobKey);
+                        return onPipelineComplete(context, runId, runLedger, scheduledFireTime, fireTime,
+                                nextFireTime, result);
+                    }));
 
         } catch (Exception e) {
-            logger.error("Job execution failed. Retry count: {}", retryCount, e);
+            RUNNING_PIPELINES.remove(jobKey);
+            logger.error("Failed to submit pipeline. Retry attempt: {}", retryAttempt, e);
 
-            retryCount++;
-            dataMap.put(RETRY_COUNT_KEY, retryCount);
+            // Update job user data in database
+            DataBaseService.getInstance().storeJobUserData(jobKey.getName(), jobKey.getGroup(), scheduledFireTime,
+                    null, nextFireTime, JobStatus.FAILED.name());
 
-            if (retryCount <= MAX_RETRY_ATTEMPTS) {
-                logger.info("Scheduling retry attempt {} of {}", retryCount, MAX_RETRY_ATTEMPTS);
+            // Retry later with backoff, releasing the worker thread
+            retryScheduler.scheduleRetry(context, runData(runId, ledger));
+            throw new JobExecutionException("Failed to submit ADR pipeline", e, false);
 
-                // Update job user data in database
-                DataBaseService.getInstance().storeJobUserData(context.getJobDetail().getKey().getName(),
-                        context.getJobDetail().getKey().getGroup(),
-                        context.getScheduledFireTime().toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime(),
-                        null,
-                        nextFireTime,
-                        JobStatus.FAILED.name());
+        } finally {
+            // Store job scheduling metadata once the worker thread is released, so the execution time shows how
+            // long the fire held it
+            DataBaseService.getInstance().storeJobMetadata(context);
+        }
+    }
 
-                // Create a JobExecutionException with retry flag
-                JobExecutionException jobException = new JobExecutionException("Job failed, scheduling retry", e,
-                        false);
-                jobException.setRefireImmediately(true);
-                throw jobException;
+    /**
+     * Report the pipeline result and retry a failed run with backoff
+     *
+     * @return outcome of the run as a workflow step
+     */
+    private WorkflowStepOutcome onPipelineComplete(JobExecutionContext context, long runId,
+                                                   ExecutionLedger.Ledger ledger, LocalDateTime scheduledFireTime,
+                                                   LocalDateTime fireTime, LocalDateTime nextFireTime,
+                                                   PipelineResult result) {
+        JobKey jobKey = context.getJobDetail().getKey();
+        DataBaseService.getInstance().recordPipelineCompletion(jobKey.getName(), jobKey.getGroup(),
+                scheduledFireTime, fireTime, nextFireTime, result);
 
-            } else {
-                logger.error("Job failed after {} attempts. Marking as failed without further retries.",
-                        MAX_RETRY_ATTEMPTS);
-                dataMap.put(RETRY_COUNT_KEY, 0); // Reset for future executions
+        if (result.isSuccess()) {
+            DataBaseService.getInstance().clearPartitionCheckpoints(jobKey.getName(), jobKey.getGroup(), runId);
+            ledger.close();
+            return WorkflowStepOutcome.COMPLETED;
+        }
 
-                // Update job user data in database
-                DataBaseService.getInstance().storeJobUserData(context.getJobDetail().getKey().getName(),
-                        context.getJobDetail().getKey().getGroup(),
-                        context.getScheduledFireTime().toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime(),
-                        null,
-                        nextFireTime,
-                        JobStatus.FAILED.name());
+        // The retry keeps the run id and ledger, so it resumes from the checkpoints, and finishes the same
+        // workflow step
+        if (retryScheduler.scheduleRetry(context, runData(runId, ledger))) {
+            return WorkflowStepOutcome.RETRYING;
+        }
+        logger.error("Job {} failed, marking as failed without further retries.", jobKey);
+        DataBaseService.getInstance().clearPartitionCheckpoints(jobKey.getName(), jobKey.getGroup(), runId);
+        ledger.close();
+        return WorkflowStepOutcome.FAILED;
+    }
 
+    private static JobDataMap runData(long runId, ExecutionLedger.Ledger ledger) {
+        JobDataMap runData = new JobDataMap();
+        runData.put(RUN_ID_KEY, runId);
+        if (ledger != null) {
+            runData.put(ExecutionLedger.LEDGER_ID_KEY, ledger.getId());
+        }
+        return runData;
+    }
 
-                // Don't retry anymore
-                throw new JobExecutionException("Job failed after maximum retry attempts", e, false);
+    /**
+     * Build one stage per pending partition on the partition executor. Partitions have no dependencies on
+     * each other, so they run in parallel and a failed partition does not stop the others.
+     * Each partition processes its CUSIPs one after another and is checkpointed once all of them succeeded.
+     */
+    private StagePipeline buildPartitionedRun(JobKey jobKey, long runId, ExecutionLedger.Ledger ledger,
+                                              List<List<String>> partitions, Set<Integer> completed) {
+        StagePipeline run = StagePipeline.named("ADR " + jobKey + " run " + runId);
+        for (int i = 0; i < partitions.size(); i++) {
+            if (completed.contains(i)) {
+                continue;
+            }
+            int partitionNo = i;
+            List<String> cusips = partitions.get(i);
+            run.stage("partition-" + partitionNo, PipelineExecutors.getInstance().get(PipelineExecutors.PARTITION),
+                    null, () -> {
+                        for (String cusip : cusips) {
+                            PipelineResult result = buildPipeline(cusip, ledger).submit().join();
+                            if (!result.isSuccess()) {
+                                throw new IllegalStateException("CUSIP #" + cusip + " failed: " +
+                                        result.getTimings(), result.getFailure());
+                            }
+                            logger.debug("CUSIP #{} processed in {}ms: {}", cusip, result.getTotalMillis(),
+                                    result.getTimings());
+                        }
+                        DataBaseService.getInstance().markPartitionCompleted(jobKey.getName(), jobKey.getGroup(),
+                                runId, partitionNo);
+                    });
+        }
+        return run;
+    }
+
+    /**
+     * Resolve the CUSIP set of a run from the JobDataMap or a registered supplier
+     */
+    private static Collection<String> resolveCusips(JobDataMap dataMap) {
+        String supplierName = dataMap.getString(CUSIP_SUPPLIER_KEY);
+        if (supplierName != null) {
+            Supplier<Collection<String>> supplier = CusipSuppliers.get(supplierName);
+            if (supplier == null) {
+                throw new IllegalStateException("No CUSIP supplier registered as " + supplierName);
             }
+            return supplier.get();
+        }
+
+        String cusips = dataMap.getString(CUSIPS_KEY);
+        if (cusips == null || cusips.isBlank()) {
+            return List.of(DEFAULT_CUSIP);
         }
+        return Arrays.stream(cusips.split(",")).map(String::trim).filter(c -> !c.isEmpty()).toList();
     }
 
+    private static int resolvePartitionSize(JobDataMap dataMap) {
+        Object partitionSize = dataMap.get(PARTITION_SIZE_KEY);
+        if (partitionSize == null) {
+            return DEFAULT_PARTITION_SIZE;
+        }
+        int size = partitionSize instanceof Number number ? number.intValue()
+                : Integer.parseInt(partitionSize.toString().trim());
+        return Math.max(1, size);
+    }
 
     /**
-     * A demo job method to mimic actual job processing logic
+     * Split the CUSIPs into partitions. CUSIPs are de-duplicated and sorted first, so the same set
+     * always yields the same partition numbers across retries.
      */
-    private void demoJob() {
-        try {
-            System.out.println("******** Processing for CUSIP NO : 12345 started ********");
-            System.out.println("Setp No 1: **** CUSIP No : #12345. Fetched Data from DSF and Announcement Table ****");
-            Thread.sleep(2000);
-            System.out.println("Setp No 2: **** CUSIP No : #12345. Validation of Data completed. Going for Processing" +
-                    ". ****");
-            Thread.sleep(1000);
-            System.out.println("Setp No 3: **** CUSIP No : #12345. Processing The Data from DSF and Announcement ****");
-            Thread.sleep(3000);
-            System.out.println("Setp No 4: **** Creating Email [Announcement-Pending-Email] for CUSIP #12345 and " +
-                    "SEC_ID = ANB ****");
-            Thread.sleep(2000);
-            System.out.println("Setp No 5_A: **** Sending the Email to adr.admin@citi.com and adr.accountmanager@citi" +
-                    ".com ****");
-            Thread.sleep(2000);
-            System.out.println("Setp No 5_B: **** Cusip No : 12345. Connected to DMC, Inserted the Email to DMC " +
-                    "system. DMC-ID = DMC123PQR ****");
-            Thread.sleep(2000);
-            System.out.println("Setp No 7: **** Cusip No : #12345. Updating Tables DSF Table, ADR.Announcement, ADR" +
-                    ".Maker_Checker, ADR.AUDIT Table, ADR.DREAM EMAIL, META.Email");
-
-            System.out.println("******** Processing for Cusip No : 12345 Completed in 12 seconds ********");
-        } catch (InterruptedException ex) {
-            logger.error("Exception : " + ex.getMessage());
+    private static List<List<String>> partition(Collection<String> cusips, int partitionSize) {
+        List<String> sorted = new ArrayList<>(new TreeSet<>(cusips));
+        List<List<String>> partitions = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += partitionSize) {
+            partitions.add(sorted.subList(from, Math.min(from + partitionSize, sorted.size())));
+        }
+        return partitions;
+    }
+
+    /**
+     * Build the ADR processing pipeline for a CUSIP.
+     * Sending the email and inserting it into DMC both only need the built email, so they run concurrently.
+     * Steps an earlier execution completed are skipped.
+     */
+    private StagePipeline buildPipeline(String cusip, ExecutionLedger.Ledger ledger) {
+        PipelineExecutors executors = PipelineExecutors.getInstance();
+
+        return StagePipeline.named("ADR #" + cusip)
+                .stage("fetch", executors.get(PipelineExecutors.DSF), Duration.ofSeconds(10),
+                        recorded(ledger, cusip, "fetch", () -> step("Setp No 1: **** CUSIP No : #" + cusip +
+                                ". Fetched Data from DSF and Announcement Table ****", 2000)))
+                .stage("validate", executors.get(PipelineExecutors.PROCESSING), Duration.ofSeconds(5),
+                        recorded(ledger, cusip, "validate", () -> step("Setp No 2: **** CUSIP No : #" + cusip +
+                                ". Validation of Data completed. Going for Processing. ****", 1000)), "fetch")
+                .stage("process", executors.get(PipelineExecutors.PROCESSING), Duration.ofSeconds(15),
+                        recorded(ledger, cusip, "process", () -> step("Setp No 3: **** CUSIP No : #" + cusip +
+                                ". Processing The Data from DSF and Announcement ****", 3000)), "validate")
+                .stage("buildEmail", executors.get(PipelineExecutors.PROCESSING), Duration.ofSeconds(10),
+                        recorded(ledger, cusip, "buildEmail", () -> step("Setp No 4: **** Creating Email " +
+                                "[Announcement-Pending-Email] for CUSIP #" + cusip + " and SEC_ID = ANB ****",
+                                2000)), "process")
+                .stage("sendEmail", executors.get(PipelineExecutors.EMAIL), Duration.ofSeconds(10),
+                        recorded(ledger, cusip, "sendEmail", () -> step("Setp No 5_A: **** Sending the Email to " +
+                                "adr.admin@citi.com and adr.accountmanager@citi.com ****", 2000)), "buildEmail")
+                .stage("insertDmc", executors.get(PipelineExecutors.DMC), Duration.ofSeconds(10),
+                        recorded(ledger, cusip, "insertDmc", () -> step("Setp No 5_B: **** Cusip No : " + cusip +
+                                ". Connected to DMC, Inserted the Email to DMC system. DMC-ID = DMC123PQR ****",
+                                2000)), "buildEmail")
+                .stage("updateTables", executors.get(PipelineExecutors.DATABASE), Duration.ofSeconds(10),
+                        recorded(ledger, cusip, "updateTables", () -> step("Setp No 7: **** Cusip No : #" + cusip +
+                                ". Updating Tables DSF Table, ADR.Announcement, ADR.Maker_Checker, ADR.AUDIT " +
+                                "Table, ADR.DREAM EMAIL, META.Email", 0)), "sendEmail", "insertDmc");
+    }
+
+    /**
+     * Wrap a step of a CUSIP so it is recorded in the ledger once done, or skipped if an earlier execution
+     * already completed it
+     */
+    private static StageAction recorded(ExecutionLedger.Ledger ledger, String cusip, String stageName,
+                                        StageAction action) {
+        String step = cusip + "/" + stageName;
+        if (ledger.isCompleted(step)) {
+            return () -> logger.debug("Step {} already completed by an earlier execution, skipping", step);
+        }
+        return () -> {
+            action.run();
+            ledger.complete(step);
+        };
+    }
+
+    /**
+     * A demo step to mimic actual processing logic against a downstream system
+     */
+    private static void step(String message, long millis) throws InterruptedException {
+        System.out.println(message);
+        if (millis > 0) {
+            Thread.sleep(millis);
         }
     }
 
-}
\ No newline at end of file
+}
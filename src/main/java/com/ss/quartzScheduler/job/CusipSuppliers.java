@@ -0,0 +1,38 @@
+package com.ss.quartzScheduler.job;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of named CUSIP suppliers. A job refers to a supplier by name in its JobDataMap
+ * ({@code cusipSupplier}) instead of storing a large CUSIP list in the job data.
+ */
+public final class CusipSuppliers {
+
+    private static final Map<String, Supplier<Collection<String>>> SUPPLIERS = new ConcurrentHashMap<>();
+
+    private CusipSuppliers() {
+    }
+
+    /**
+     * Register a supplier, replacing any supplier registered under the same name
+     *
+     * @param name     supplier name
+     * @param supplier supplier of the CUSIPs to process
+     */
+    public static void register(String name, Supplier<Collection<String>> supplier) {
+        SUPPLIERS.put(name, supplier);
+    }
+
+    /**
+     * Get a supplier by name
+     *
+     * @param name supplier name
+     * @return the supplier, or null if none is registered
+     */
+    public static Supplier<Collection<String>> get(String name) {
+        return SUPPLIERS.get(name);
+    }
+}
@@ -1,18 +1,34 @@
 package com.ss.quartzScheduler.job;
 
+import com.ss.quartzScheduler.jobfactory.StatelessJob;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
 import com.ss.quartzScheduler.model.enums.JobStatus;
 import com.ss.quartzScheduler.service.DataBaseService;
+import com.ss.quartzScheduler.service.SuspensionRegistry;
 import com.ss.quartzScheduler.util.CronUtil;
 import org.quartz.*;
+import org.quartz.impl.SchedulerRepository;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 
 /**
  * Job class for automatically resuming suspended jobs
+ * It runs in the housekeeping lane and resumes the job in the lane shard it is stored in.
  */
 @Component
+@StatelessJob
 public class JobResumeJob implements Job {
+
+    // JobDataMap key of the scheduler (lane shard) the suspended job is stored in
+    public static final String ORIGINAL_LANE_KEY = "originalLane";
+
+    private final SuspensionRegistry suspensionRegistry;
+
+    public JobResumeJob(SuspensionRegistry suspensionRegistry) {
+        this.suspensionRegistry = suspensionRegistry;
+    }
+
     @Override
     public void execute(JobExecutionContext context) throws JobExecutionException {
         try {
@@ -20,17 +36,27 @@ public class JobResumeJob implements Job {
             String originalJobName = dataMap.getString("originalJobName");
             String originalGroupName = dataMap.getString("originalGroupName");
 
+            String originalLane = dataMap.getString(ORIGINAL_LANE_KEY);
+
             Scheduler scheduler = context.getScheduler();
             JobKey jobKey = new JobKey(originalJobName, originalGroupName);
+            Scheduler jobScheduler = originalLane != null ? SchedulerLanes.lookup(originalLane) : null;
+            if (jobScheduler == null || !jobScheduler.checkExists(jobKey)) {
+                // Moved to another lane or shard since it was suspended
+                jobScheduler = findScheduler(jobKey, scheduler);
+            }
 
-            if (scheduler.checkExists(jobKey)) {
-                scheduler.resumeJob(jobKey);
+            if (jobScheduler.checkExists(jobKey)) {
+                jobScheduler.resumeJob(jobKey);
                 System.out.println("Temporary suspended " + originalJobName + " got Resumed at: " + CronUtil.formatDate(LocalDateTime.now()));
 
                 // Update job status in user data
                 DataBaseService.getInstance().storeJobUserData(originalJobName, originalGroupName, null, null,
                         null, JobStatus.RESUMED.name());
 
+                // Remove the suspension on every node
+                suspensionRegistry.remove(originalJobName, originalGroupName);
+
                 // Cancel the auto-resume job itself
                 JobKey resumeJobKey = context.getJobDetail().getKey();
                 if (scheduler.checkExists(resumeJobKey)) {
@@ -43,4 +69,16 @@ public class JobResumeJob implements Job {
             throw new JobExecutionException("Failed to resume job", e);
         }
     }
+
+    /**
+     * Find the scheduler of this JVM storing a job, the given scheduler when none does
+     */
+    private static Scheduler findScheduler(JobKey jobKey, Scheduler fallback) throws SchedulerException {
+        for (Scheduler candidate : SchedulerRepository.getInstance().lookupAll()) {
+            if (candidate.checkExists(jobKey)) {
+                return candidate;
+            }
+        }
+        return fallback;
+    }
 }
\ No newline at end of file
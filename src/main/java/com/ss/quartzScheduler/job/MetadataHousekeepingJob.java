@@ -0,0 +1,34 @@
+package com.ss.quartzScheduler.job;
+
+import com.ss.quartzScheduler.jobfactory.StatelessJob;
+import com.ss.quartzScheduler.service.MetadataRetentionService;
+import org.quartz.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Job class removing execution metadata that is older than the retention policy of its job group.
+ */
+@StatelessJob
+@DisallowConcurrentExecution // One housekeeping run at a time
+public class MetadataHousekeepingJob implements Job {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetadataHousekeepingJob.class);
+
+    private final MetadataRetentionService retentionService;
+
+    public MetadataHousekeepingJob(MetadataRetentionService retentionService) {
+        this.retentionService = retentionService;
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        try {
+            long removed = retentionService.purgeExpired();
+            logger.info("Execution metadata housekeeping removed {} rows", removed);
+        } catch (RuntimeException e) {
+            // Remaining rows are picked up by the next run
+            throw new JobExecutionException("Execution metadata housekeeping failed", e, false);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ss.quartzScheduler.job;
+
+import com.ss.quartzScheduler.exception.JobManagementException;
+import com.ss.quartzScheduler.jobfactory.StatelessJob;
+import com.ss.quartzScheduler.workflow.WorkflowEngine;
+import org.quartz.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Job class starting a run of a workflow on the workflow's cron
+ */
+@StatelessJob
+@DisallowConcurrentExecution // One start of the same workflow at a time
+public class WorkflowStartJob implements Job {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowStartJob.class);
+
+    // JobDataMap key of the workflow to start
+    public static final String WORKFLOW_NAME_KEY = "workflowName";
+
+    private final WorkflowEngine workflowEngine;
+
+    public WorkflowStartJob(WorkflowEngine workflowEngine) {
+        this.workflowEngine = workflowEngine;
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        String workflowName = context.getMergedJobDataMap().getString(WORKFLOW_NAME_KEY);
+        try {
+            workflowEngine.startRun(workflowName);
+        } catch (JobManagementException e) {
+            // Previous run still running or workflow removed, the next fire tries again
+            logger.warn("Workflow {} not started: {}", workflowName, e.getMessage());
+        } catch (RuntimeException e) {
+            throw new JobExecutionException("Failed to start workflow " + workflowName, e, false);
+        }
+    }
+}
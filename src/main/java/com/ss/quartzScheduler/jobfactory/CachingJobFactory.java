@@ -0,0 +1,170 @@
+package com.ss.quartzScheduler.jobfactory;
+
+import org.quartz.Job;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.spi.JobFactory;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.DependencyDescriptor;
+import org.springframework.core.MethodParameter;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Job factory that prepares everything needed to create a job once per job class, on its first fire:
+ * <ul>
+ *     <li>the constructor, as a generated {@link Supplier} or a bound constructor handle, so no reflective
+ *     lookup or invocation happens per fire</li>
+ *     <li>Spring beans for constructor parameters and {@link Autowired} fields, resolved once; injected beans
+ *     are expected to be singletons</li>
+ *     <li>for {@link StatelessJob} classes, the single shared instance</li>
+ * </ul>
+ * The constructor used is the only one, the one annotated with {@link Autowired}, or the no-arg one.
+ */
+public class CachingJobFactory implements JobFactory {
+
+    private final AutowireCapableBeanFactory beanFactory;
+
+    // Prepared creators by job class
+    private final Map<Class<? extends Job>, JobCreator> creators = new ConcurrentHashMap<>();
+
+    public CachingJobFactory(AutowireCapableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Job newJob(TriggerFiredBundle bundle, Scheduler scheduler) throws SchedulerException {
+        Class<? extends Job> jobClass = bundle.getJobDetail().getJobClass();
+        try {
+            return creators.computeIfAbsent(jobClass, this::prepare).create();
+        } catch (RuntimeException e) {
+            throw new SchedulerException("Problem instantiating class '" + jobClass.getName() + "'", e);
+        }
+    }
+
+    /**
+     * Resolve the constructor, its arguments and the injected fields of a job class
+     */
+    private JobCreator prepare(Class<? extends Job> jobClass) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(jobClass, MethodHandles.lookup());
+            Constructor<?> constructor = selectConstructor(jobClass);
+            Object[] arguments = new Object[constructor.getParameterCount()];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = beanFactory.resolveDependency(
+                        new DependencyDescriptor(new MethodParameter(constructor, i), true), jobClass.getName());
+            }
+
+            List<FieldInjection> injections = new ArrayList<>();
+            for (Class<?> type = jobClass; type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    Autowired autowired = field.getAnnotation(Autowired.class);
+                    if (autowired == null || Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    Object bean = beanFactory.resolveDependency(new DependencyDescriptor(field, autowired.required()),
+                            jobClass.getName());
+                    MethodHandle setter = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                            .unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class,
+                                    Object.class));
+                    injections.add(new FieldInjection(setter, bean));
+                }
+            }
+
+            JobCreator creator = new JobCreator(constructorSupplier(lookup, jobClass, constructor, arguments),
+                    List.copyOf(injections), null);
+            return jobClass.isAnnotationPresent(StatelessJob.class)
+                    ? new JobCreator(creator.constructor(), creator.injections(), creator.create())
+                    : creator;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot prepare job class " + jobClass.getName(), e);
+        }
+    }
+
+    private static Constructor<?> selectConstructor(Class<? extends Job> jobClass) throws NoSuchMethodException {
+        Constructor<?>[] constructors = jobClass.getDeclaredConstructors();
+        if (constructors.length == 1) {
+            return constructors[0];
+        }
+        List<Constructor<?>> autowired = Arrays.stream(constructors)
+                .filter(constructor -> constructor.isAnnotationPresent(Autowired.class))
+                .toList();
+        return autowired.size() == 1 ? autowired.get(0) : jobClass.getDeclaredConstructor();
+    }
+
+    /**
+     * A generated supplier for no-arg constructors, which the JIT compiles like a plain {@code new}; a handle
+     * bound to the resolved arguments otherwise
+     */
+    @SuppressWarnings("unchecked")
+    private static Supplier<Job> constructorSupplier(MethodHandles.Lookup lookup, Class<? extends Job> jobClass,
+                                                     Constructor<?> constructor, Object[] arguments)
+            throws IllegalAccessException {
+        MethodHandle handle = lookup.unreflectConstructor(constructor);
+        if (arguments.length == 0) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                        MethodType.methodType(Object.class), handle, MethodType.methodType(jobClass));
+                return (Supplier<Job>) site.getTarget().invokeExact();
+            } catch (Throwable e) {
+                // Fall back to the handle, e.g. when the lookup may not define classes in the job's package
+            }
+        }
+
+        MethodHandle bound = MethodHandles.insertArguments(handle, 0, arguments)
+                .asType(MethodType.methodType(Job.class));
+        return () -> {
+            try {
+                return (Job) bound.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        };
+    }
+
+    /**
+     * Bean set into a field of every new instance
+     */
+    private record FieldInjection(MethodHandle setter, Object bean) {
+    }
+
+    /**
+     * Creates instances of one job class, or hands out its shared instance when it is stateless
+     */
+    private record JobCreator(Supplier<Job> constructor, List<FieldInjection> injections, Job shared) {
+
+        Job create() {
+            if (shared != null) {
+                return shared;
+            }
+            Job job = constructor.get();
+            for (FieldInjection injection : injections) {
+                try {
+                    injection.setter().invokeExact((Object) job, injection.bean());
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return job;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ss.quartzScheduler.jobfactory;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a job class without per-execution instance state. {@link CachingJobFactory} creates one instance of it
+ * and hands that to every execution, including concurrent ones, instead of a new instance per fire.
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface StatelessJob {
+}
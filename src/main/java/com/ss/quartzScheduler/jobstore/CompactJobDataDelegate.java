@@ -0,0 +1,136 @@
+package com.ss.quartzScheduler.jobstore;
+
+import com.ss.quartzScheduler.metrics.JobMetricsListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.impl.jdbcjobstore.StdJDBCDelegate;
+import org.quartz.spi.ClassLoadHelper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JDBC delegate that stores the JOB_DATA blobs of jobs and triggers with the {@link JobDataCodec} instead of
+ * Java serialization, and skips the job data rewrite after an execution when the data did not change.
+ * <p>
+ * Quartz rewrites the job data of a {@code @PersistJobDataAfterExecution} job whenever the map was written to,
+ * even with the same values. The encoded job data read at fire time is remembered per job, so an execution that
+ * leaves it equal costs no update. Blobs written by Java serialization before are still read, and maps holding
+ * values the codec does not support are still written that way.
+ * <p>
+ * Configured with {@code org.quartz.jobStore.driverDelegateClass}. Quartz creates the delegate itself, so the
+ * metrics are registered in the global Micrometer registry, which Spring Boot binds to the actuator registry.
+ */
+public class CompactJobDataDelegate extends StdJDBCDelegate {
+
+    // Encoded job data last read or written per job
+    private final Map<JobKey, byte[]> persistedJobData = new ConcurrentHashMap<>();
+
+    @Override
+    protected ByteArrayOutputStream serializeJobData(JobDataMap data) throws IOException {
+        byte[] encoded = canUseProperties() ? null : JobDataCodec.encode(data);
+        if (encoded == null) {
+            return super.serializeJobData(data);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(encoded.length);
+        bytes.write(encoded);
+        return bytes;
+    }
+
+    @Override
+    protected Object getObjectFromBlob(ResultSet rs, String colName)
+            throws ClassNotFoundException, IOException, SQLException {
+        if (!COL_JOB_DATAMAP.equals(colName)) {
+            return super.getObjectFromBlob(rs, colName);
+        }
+
+        byte[] bytes = rs.getBytes(colName);
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (JobDataCodec.isEncoded(bytes)) {
+            return JobDataCodec.decode(bytes);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    @Override
+    public JobDetail selectJobDetail(Connection conn, JobKey jobKey, ClassLoadHelper loadHelper)
+            throws ClassNotFoundException, IOException, SQLException {
+        JobDetail job = super.selectJobDetail(conn, jobKey, loadHelper);
+        if (job != null) {
+            remember(job);
+        }
+        return job;
+    }
+
+    @Override
+    public int insertJobDetail(Connection conn, JobDetail job) throws IOException, SQLException {
+        int inserted = super.insertJobDetail(conn, job);
+        remember(job);
+        return inserted;
+    }
+
+    @Override
+    public int updateJobDetail(Connection conn, JobDetail job) throws IOException, SQLException {
+        int updated = super.updateJobDetail(conn, job);
+        remember(job);
+        return updated;
+    }
+
+    @Override
+    public int deleteJobDetail(Connection conn, JobKey jobKey) throws SQLException {
+        persistedJobData.remove(jobKey);
+        return super.deleteJobDetail(conn, jobKey);
+    }
+
+    /**
+     * Persist the job data after an execution, unless it is equal to the data the job was fired with
+     */
+    @Override
+    public int updateJobData(Connection conn, JobDetail job) throws IOException, SQLException {
+        byte[] data = serializeJobData(job.getJobDataMap()).toByteArray();
+        String group = job.getKey().getGroup();
+        if (Arrays.equals(data, persistedJobData.get(job.getKey()))) {
+            Counter.builder("scheduler.jobstore.job-data.unchanged")
+                    .description("Job data rewrites skipped after an execution because the data did not change")
+                    .tag(JobMetricsListener.TAG_GROUP, group)
+                    .register(Metrics.globalRegistry)
+                    .increment();
+            recordWritten(group, 0);
+            return 1;
+        }
+
+        int updated = super.updateJobData(conn, job);
+        persistedJobData.put(job.getKey(), data);
+        recordWritten(group, data.length);
+        return updated;
+    }
+
+    private void remember(JobDetail job) throws IOException {
+        persistedJobData.put(job.getKey(), serializeJobData(job.getJobDataMap()).toByteArray());
+    }
+
+    private static void recordWritten(String group, int bytes) {
+        DistributionSummary.builder("scheduler.jobstore.job-data.written")
+                .description("Job data bytes written to the job store after an execution, 0 when unchanged")
+                .baseUnit("bytes")
+                .tag(JobMetricsListener.TAG_GROUP, group)
+                .register(Metrics.globalRegistry)
+                .record(bytes);
+    }
+}
@@ -0,0 +1,192 @@
+package com.ss.quartzScheduler.jobstore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compact, versioned binary encoding of job data maps, used instead of Java serialization.
+ * <p>
+ * Layout: the magic bytes {@code JD}, a version byte, the entry count, then every entry sorted by key as the
+ * key, a type tag and the value. Numbers are zig-zag varints and strings are length-prefixed UTF-8, so the
+ * usual job data of a few short strings and numbers takes tens of bytes instead of the hundreds of a serialized
+ * JobDataMap. Entries are sorted so equal maps always encode to equal bytes.
+ * <p>
+ * Only strings, numbers, booleans, dates and nulls are encoded; {@link #encode} returns null for any other
+ * value and the caller keeps Java serialization for that map.
+ */
+public final class JobDataCodec {
+
+    private static final byte MAGIC_0 = 'J';
+    private static final byte MAGIC_1 = 'D';
+    private static final byte VERSION = 1;
+
+    // Value type tags
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int INTEGER = 2;
+    private static final int LONG = 3;
+    private static final int FALSE = 4;
+    private static final int TRUE = 5;
+    private static final int DOUBLE = 6;
+    private static final int FLOAT = 7;
+    private static final int DATE = 8;
+
+    private JobDataCodec() {
+    }
+
+    /**
+     * Tell whether the bytes were written by this codec, as opposed to Java serialization
+     */
+    public static boolean isEncoded(byte[] bytes) {
+        return bytes != null && bytes.length >= 3 && bytes[0] == MAGIC_0 && bytes[1] == MAGIC_1;
+    }
+
+    /**
+     * Encode a job data map
+     *
+     * @return the encoded map, or null if it holds a value type the codec does not support
+     */
+    public static byte[] encode(Map<String, ?> data) {
+        for (Object value : data.values()) {
+            if (!supported(value)) {
+                return null;
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + data.size() * 24);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(MAGIC_0);
+            out.writeByte(MAGIC_1);
+            out.writeByte(VERSION);
+            writeVarLong(out, data.size());
+            for (Map.Entry<String, ?> entry : new TreeMap<>(data).entrySet()) {
+                writeString(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } catch (IOException e) {
+            // Not thrown by an in-memory stream
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode a job data map written by {@link #encode}
+     *
+     * @throws IOException if the bytes are not an encoded map of a known version
+     */
+    public static Map<String, Object> decode(byte[] bytes) throws IOException {
+        if (!isEncoded(bytes)) {
+            throw new IOException("Not an encoded job data map");
+        }
+        if (bytes[2] != VERSION) {
+            throw new IOException("Unsupported job data encoding version " + bytes[2]);
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 3, bytes.length - 3))) {
+            int size = (int) readVarLong(in);
+            Map<String, Object> data = new HashMap<>(Math.max(16, size * 2));
+            for (int i = 0; i < size; i++) {
+                String key = readString(in);
+                data.put(key, readValue(in));
+            }
+            return data;
+        }
+    }
+
+    private static boolean supported(Object value) {
+        return value == null || value instanceof String || value instanceof Integer || value instanceof Long
+                || value instanceof Boolean || value instanceof Double || value instanceof Float
+                || value instanceof Date && value.getClass() == Date.class;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeString(out, string);
+        } else if (value instanceof Integer number) {
+            out.writeByte(INTEGER);
+            writeVarLong(out, zigZag(number));
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            writeVarLong(out, zigZag(number));
+        } else if (value instanceof Boolean flag) {
+            out.writeByte(flag ? TRUE : FALSE);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Float number) {
+            out.writeByte(FLOAT);
+            out.writeFloat(number);
+        } else {
+            out.writeByte(DATE);
+            writeVarLong(out, zigZag(((Date) value).getTime()));
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> readString(in);
+            case INTEGER -> (int) unZigZag(readVarLong(in));
+            case LONG -> unZigZag(readVarLong(in));
+            case FALSE -> Boolean.FALSE;
+            case TRUE -> Boolean.TRUE;
+            case DOUBLE -> in.readDouble();
+            case FLOAT -> in.readFloat();
+            case DATE -> new Date(unZigZag(readVarLong(in)));
+            default -> throw new IOException("Unknown job data value type " + tag);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[(int) readVarLong(in)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in job data");
+    }
+}
@@ -0,0 +1,26 @@
+package com.ss.quartzScheduler.jobstore;
+
+import org.quartz.Calendar;
+import org.quartz.JobDetail;
+import org.quartz.Trigger.TriggerState;
+import org.quartz.TriggerKey;
+import org.quartz.spi.OperableTrigger;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Complete content of a {@link WalJobStore} at the point the write-ahead log was rolled to {@code walSeq}.
+ * Restoring it and replaying the segments from {@code walSeq} on rebuilds the store. {@code triggerStates} holds
+ * the triggers that are PAUSED, ERROR or COMPLETE.
+ */
+record JobStoreSnapshot(long walSeq, Map<String, Calendar> calendars, List<JobDetail> jobs,
+                        List<OperableTrigger> triggers, Map<TriggerKey, TriggerState> triggerStates,
+                        Set<String> pausedTriggerGroups, Set<String> pausedJobGroups) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,647 @@
+package com.ss.quartzScheduler.jobstore;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.Calendar;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.JobPersistenceException;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.Trigger;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.quartz.Trigger.TriggerState;
+import org.quartz.TriggerKey;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.simpl.RAMJobStore;
+import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.SchedulerSignaler;
+import org.quartz.spi.TriggerFiredResult;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static com.ss.quartzScheduler.jobstore.WalRecord.Operation.*;
+
+/**
+ * Job store that keeps jobs, triggers and calendars in memory like {@link RAMJobStore} and makes them
+ * durable with a write-ahead log and periodic snapshots.
+ * <p>
+ * Every mutation is appended to the log while the store lock is held, so the log order is the order the
+ * mutations were applied in. A snapshot rolls the log to a new segment, writes the store content and
+ * deletes the segments it covers. On startup the latest snapshot is restored and the remaining segments
+ * are replayed.
+ * <p>
+ * Jobs that were executing when the process stopped are not recovered; their triggers fire again according
+ * to their misfire instruction. Triggers an execution set to ERROR or COMPLETE keep that state. The store is
+ * not clustered, every scheduler needs its own directory.
+ * <p>
+ * Configured with {@code org.quartz.jobStore.class} set to this class and the {@code walDirectory},
+ * {@code segmentSizeBytes}, {@code snapshotIntervalMs} and {@code forceOnWrite} job store properties.
+ */
+@Slf4j
+public class WalJobStore extends RAMJobStore {
+
+    private static final Pattern SNAPSHOT_NAME = Pattern.compile("snapshot-(\\d{16})\\.bin");
+
+    // Directory holding the log segments and snapshots
+    private String walDirectory = "data/wal";
+
+    // Size of one memory-mapped log segment
+    private int segmentSizeBytes = 16 * 1024 * 1024;
+
+    // Delay between two snapshots, a snapshot is only taken when something was logged since the last one
+    private long snapshotIntervalMs = 60_000;
+
+    // Flush every record to the storage device instead of leaving it in the page cache
+    private boolean forceOnWrite;
+
+    private String instanceName = "QuartzScheduler";
+    private ClassLoadHelper classLoadHelper;
+    private WriteAheadLog wal;
+    private ScheduledExecutorService snapshotExecutor;
+
+    // Only one snapshot is written at a time
+    private final Object snapshotLock = new Object();
+
+    // Nesting depth of store calls, only the outermost call is logged (guarded by lock)
+    private int depth;
+
+    // Set while the store is rebuilt from disk (guarded by lock)
+    private boolean replaying;
+
+    // Records logged since the last snapshot (guarded by lock)
+    private long appendedSinceSnapshot;
+
+    @FunctionalInterface
+    private interface StoreCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    public void setWalDirectory(String walDirectory) {
+        this.walDirectory = walDirectory;
+    }
+
+    public void setSegmentSizeBytes(int segmentSizeBytes) {
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+
+    public void setSnapshotIntervalMs(long snapshotIntervalMs) {
+        this.snapshotIntervalMs = snapshotIntervalMs;
+    }
+
+    public void setForceOnWrite(boolean forceOnWrite) {
+        this.forceOnWrite = forceOnWrite;
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        super.setInstanceName(schedName);
+        this.instanceName = schedName;
+    }
+
+    @Override
+    public boolean supportsPersistence() {
+        return true;
+    }
+
+    /**
+     * Rebuild the store from the latest snapshot and log, then start taking snapshots
+     */
+    @Override
+    public void initialize(ClassLoadHelper loadHelper, SchedulerSignaler schedSignaler) {
+        super.initialize(loadHelper, schedSignaler);
+        this.classLoadHelper = loadHelper;
+
+        Path directory = Path.of(walDirectory);
+        try {
+            recover(directory);
+            wal = new WriteAheadLog(directory, segmentSizeBytes, forceOnWrite);
+            // Fold the replayed segments into a fresh snapshot
+            snapshot();
+        } catch (IOException | ClassNotFoundException | JobPersistenceException e) {
+            throw new IllegalStateException("Failed to recover job store from " + directory.toAbsolutePath(), e);
+        }
+
+        snapshotExecutor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name(instanceName + "-wal-snapshot").daemon().factory());
+        snapshotExecutor.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMs, snapshotIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Take a final snapshot so the next start does not need to replay the log
+     */
+    @Override
+    public void shutdown() {
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdown();
+        }
+        if (wal != null) {
+            snapshotQuietly();
+            synchronized (lock) {
+                wal.close();
+            }
+        }
+        super.shutdown();
+    }
+
+    @Override
+    public void storeJobAndTrigger(JobDetail newJob, OperableTrigger newTrigger) throws JobPersistenceException {
+        logged(new WalRecord(STORE_JOB_AND_TRIGGER, newJob, newTrigger), () -> {
+            super.storeJobAndTrigger(newJob, newTrigger);
+            return null;
+        });
+    }
+
+    @Override
+    public void storeJob(JobDetail newJob, boolean replaceExisting) throws ObjectAlreadyExistsException {
+        logged(new WalRecord(STORE_JOB, newJob, replaceExisting), () -> {
+            super.storeJob(newJob, replaceExisting);
+            return null;
+        });
+    }
+
+    @Override
+    public void storeJobsAndTriggers(Map<JobDetail, Set<? extends Trigger>> triggersAndJobs, boolean replace)
+            throws JobPersistenceException {
+        // The caller's collections are not necessarily serializable
+        Map<JobDetail, Set<? extends Trigger>> copy = new HashMap<>();
+        triggersAndJobs.forEach((job, triggers) -> copy.put(job, new HashSet<>(triggers)));
+        logged(new WalRecord(STORE_JOBS_AND_TRIGGERS, copy, replace), () -> {
+            super.storeJobsAndTriggers(triggersAndJobs, replace);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean removeJob(JobKey jobKey) {
+        return logged(new WalRecord(REMOVE_JOB, jobKey), () -> super.removeJob(jobKey));
+    }
+
+    @Override
+    public boolean removeJobs(List<JobKey> jobKeys) throws JobPersistenceException {
+        return logged(new WalRecord(REMOVE_JOBS, new ArrayList<>(jobKeys)), () -> super.removeJobs(jobKeys));
+    }
+
+    @Override
+    public void storeTrigger(OperableTrigger newTrigger, boolean replaceExisting) throws JobPersistenceException {
+        logged(new WalRecord(STORE_TRIGGER, newTrigger, replaceExisting), () -> {
+            super.storeTrigger(newTrigger, replaceExisting);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean removeTrigger(TriggerKey triggerKey) {
+        return logged(new WalRecord(REMOVE_TRIGGER, triggerKey), () -> super.removeTrigger(triggerKey));
+    }
+
+    @Override
+    public boolean removeTriggers(List<TriggerKey> triggerKeys) throws JobPersistenceException {
+        return logged(new WalRecord(REMOVE_TRIGGERS, new ArrayList<>(triggerKeys)),
+                () -> super.removeTriggers(triggerKeys));
+    }
+
+    @Override
+    public boolean replaceTrigger(TriggerKey triggerKey, OperableTrigger newTrigger) throws JobPersistenceException {
+        return logged(new WalRecord(REPLACE_TRIGGER, triggerKey, newTrigger),
+                () -> super.replaceTrigger(triggerKey, newTrigger));
+    }
+
+    @Override
+    public void storeCalendar(String name, Calendar calendar, boolean replaceExisting, boolean updateTriggers)
+            throws ObjectAlreadyExistsException {
+        logged(new WalRecord(STORE_CALENDAR, name, calendar, replaceExisting, updateTriggers), () -> {
+            super.storeCalendar(name, calendar, replaceExisting, updateTriggers);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean removeCalendar(String calName) throws JobPersistenceException {
+        return logged(new WalRecord(REMOVE_CALENDAR, calName), () -> super.removeCalendar(calName));
+    }
+
+    @Override
+    public void pauseTrigger(TriggerKey triggerKey) {
+        logged(new WalRecord(PAUSE_TRIGGER, triggerKey), () -> {
+            super.pauseTrigger(triggerKey);
+            return null;
+        });
+    }
+
+    @Override
+    public List<String> pauseTriggers(GroupMatcher<TriggerKey> matcher) {
+        return logged(new WalRecord(PAUSE_TRIGGERS, matcher), () -> super.pauseTriggers(matcher));
+    }
+
+    @Override
+    public void pauseJob(JobKey jobKey) {
+        logged(new WalRecord(PAUSE_JOB, jobKey), () -> {
+            super.pauseJob(jobKey);
+            return null;
+        });
+    }
+
+    @Override
+    public List<String> pauseJobs(GroupMatcher<JobKey> matcher) {
+        return logged(new WalRecord(PAUSE_JOBS, matcher), () -> super.pauseJobs(matcher));
+    }
+
+    @Override
+    public void resumeTrigger(TriggerKey triggerKey) {
+        logged(new WalRecord(RESUME_TRIGGER, triggerKey), () -> {
+            super.resumeTrigger(triggerKey);
+            return null;
+        });
+    }
+
+    @Override
+    public List<String> resumeTriggers(GroupMatcher<TriggerKey> matcher) {
+        return logged(new WalRecord(RESUME_TRIGGERS, matcher), () -> super.resumeTriggers(matcher));
+    }
+
+    @Override
+    public void resumeJob(JobKey jobKey) {
+        logged(new WalRecord(RESUME_JOB, jobKey), () -> {
+            super.resumeJob(jobKey);
+            return null;
+        });
+    }
+
+    @Override
+    public Collection<String> resumeJobs(GroupMatcher<JobKey> matcher) {
+        return logged(new WalRecord(RESUME_JOBS, matcher), () -> super.resumeJobs(matcher));
+    }
+
+    @Override
+    public void pauseAll() {
+        logged(new WalRecord(PAUSE_ALL), () -> {
+            super.pauseAll();
+            return null;
+        });
+    }
+
+    @Override
+    public void resumeAll() {
+        logged(new WalRecord(RESUME_ALL), () -> {
+            super.resumeAll();
+            return null;
+        });
+    }
+
+    @Override
+    public void resetTriggerFromErrorState(TriggerKey triggerKey) throws JobPersistenceException {
+        logged(new WalRecord(RESET_TRIGGER_FROM_ERROR_STATE, triggerKey), () -> {
+            super.resetTriggerFromErrorState(triggerKey);
+            return null;
+        });
+    }
+
+    @Override
+    public void clearAllSchedulingData() throws JobPersistenceException {
+        logged(new WalRecord(CLEAR_ALL), () -> {
+            super.clearAllSchedulingData();
+            return null;
+        });
+    }
+
+    /**
+     * Log the next fire time of every fired trigger
+     */
+    @Override
+    public List<TriggerFiredResult> triggersFired(List<OperableTrigger> firedTriggers) {
+        return mutate(() -> super.triggersFired(firedTriggers), results -> {
+            List<WalRecord> records = new ArrayList<>(results.size());
+            for (TriggerFiredResult result : results) {
+                if (result.getTriggerFiredBundle() == null) {
+                    continue;
+                }
+                OperableTrigger stored = retrieveTrigger(result.getTriggerFiredBundle().getTrigger().getKey());
+                if (stored != null) {
+                    records.add(new WalRecord(PUT_TRIGGER, stored));
+                }
+            }
+            return records;
+        });
+    }
+
+    /**
+     * Log the job data persisted by the execution, if the execution wrote to it, the trigger state set by the
+     * instruction and the trigger removed when it has no more fire times
+     */
+    @Override
+    public void triggeredJobComplete(OperableTrigger trigger, JobDetail jobDetail,
+                                     CompletedExecutionInstruction triggerInstCode) {
+        mutate(() -> {
+            super.triggeredJobComplete(trigger, jobDetail, triggerInstCode);
+            return null;
+        }, ignored -> {
+            List<WalRecord> records = new ArrayList<>(2);
+            if (jobDetail.isPersistJobDataAfterExecution() && jobDetail.getJobDataMap().isDirty()) {
+                JobDetail stored = retrieveJob(jobDetail.getKey());
+                if (stored != null) {
+                    records.add(new WalRecord(PUT_JOB, stored));
+                }
+            }
+            if (retrieveTrigger(trigger.getKey()) == null) {
+                records.add(new WalRecord(REMOVE_TRIGGER, trigger.getKey()));
+            } else if (triggerInstCode == CompletedExecutionInstruction.SET_TRIGGER_ERROR
+                    || triggerInstCode == CompletedExecutionInstruction.SET_TRIGGER_COMPLETE
+                    || triggerInstCode == CompletedExecutionInstruction.SET_ALL_JOB_TRIGGERS_ERROR
+                    || triggerInstCode == CompletedExecutionInstruction.SET_ALL_JOB_TRIGGERS_COMPLETE) {
+                records.add(new WalRecord(COMPLETE_TRIGGER, trigger.getKey(), triggerInstCode));
+            }
+            return records;
+        });
+    }
+
+    /**
+     * Snapshot the store and delete the log segments and snapshots it replaces
+     */
+    public void snapshot() throws IOException, JobPersistenceException {
+        synchronized (snapshotLock) {
+            JobStoreSnapshot snapshot;
+            synchronized (lock) {
+                if (appendedSinceSnapshot == 0) {
+                    return;
+                }
+                // Everything logged from now on goes to the new segment and is not part of the snapshot
+                snapshot = capture(wal.roll());
+                appendedSinceSnapshot = 0;
+            }
+
+            Path directory = Path.of(walDirectory);
+            Path target = snapshotPath(directory, snapshot.walSeq());
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                 ObjectOutputStream out = new ObjectOutputStream(
+                         new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+                out.writeObject(snapshot);
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            wal.deleteSegmentsBefore(snapshot.walSeq());
+            for (long seq : snapshotSeqs(directory)) {
+                if (seq < snapshot.walSeq()) {
+                    Files.deleteIfExists(snapshotPath(directory, seq));
+                }
+            }
+            log.debug("Job store snapshot {} written with {} jobs and {} triggers", target.getFileName(),
+                    snapshot.jobs().size(), snapshot.triggers().size());
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            log.error("Failed to snapshot job store to {}", walDirectory, e);
+        }
+    }
+
+    private <T, E extends Exception> T logged(WalRecord record, StoreCall<T, E> call) throws E {
+        return mutate(call, ignored -> List.of(record));
+    }
+
+    /**
+     * Apply a mutation and append its records under the store lock. Nested store calls are part of the
+     * outermost one and are not logged separately.
+     */
+    private <T, E extends Exception> T mutate(StoreCall<T, E> call, Function<T, List<WalRecord>> records) throws E {
+        synchronized (lock) {
+            depth++;
+            try {
+                T result = call.call();
+                if (depth == 1 && !replaying) {
+                    for (WalRecord record : records.apply(result)) {
+                        append(record);
+                    }
+                }
+                return result;
+            } finally {
+                depth--;
+            }
+        }
+    }
+
+    private void append(WalRecord record) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeObject(record);
+            }
+            wal.append(bytes.toByteArray());
+            appendedSinceSnapshot++;
+        } catch (IOException e) {
+            // The store is already changed, the caller has to know the change is not durable
+            throw new UncheckedIOException("Failed to log " + record.operation() + " to the write-ahead log", e);
+        }
+    }
+
+    private void recover(Path directory) throws IOException, ClassNotFoundException, JobPersistenceException {
+        Files.createDirectories(directory);
+        List<Long> snapshots = snapshotSeqs(directory);
+
+        synchronized (lock) {
+            replaying = true;
+            try {
+                long fromSeq = 0;
+                if (!snapshots.isEmpty()) {
+                    Path file = snapshotPath(directory, snapshots.get(snapshots.size() - 1));
+                    try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                        JobStoreSnapshot snapshot = (JobStoreSnapshot) deserialize(in);
+                        restore(snapshot);
+                        fromSeq = snapshot.walSeq();
+                    }
+                    log.info("Restored job store snapshot {}", file.getFileName());
+                }
+
+                long records = WriteAheadLog.replay(directory, fromSeq, this::replay);
+                appendedSinceSnapshot = records;
+                log.info("Replayed {} write-ahead log records from {}", records, directory.toAbsolutePath());
+            } finally {
+                replaying = false;
+            }
+        }
+    }
+
+    private void restore(JobStoreSnapshot snapshot) throws JobPersistenceException {
+        for (Map.Entry<String, Calendar> calendar : snapshot.calendars().entrySet()) {
+            super.storeCalendar(calendar.getKey(), calendar.getValue(), true, false);
+        }
+        for (JobDetail job : snapshot.jobs()) {
+            super.storeJob(job, true);
+        }
+        // Stored triggers pick up the pause state of their groups
+        pausedTriggerGroups.addAll(snapshot.pausedTriggerGroups());
+        pausedJobGroups.addAll(snapshot.pausedJobGroups());
+        for (OperableTrigger trigger : snapshot.triggers()) {
+            super.storeTrigger(trigger, true);
+        }
+        for (Map.Entry<TriggerKey, TriggerState> state : snapshot.triggerStates().entrySet()) {
+            switch (state.getValue()) {
+                case PAUSED -> super.pauseTrigger(state.getKey());
+                case ERROR -> completeTrigger(state.getKey(), CompletedExecutionInstruction.SET_TRIGGER_ERROR);
+                case COMPLETE -> completeTrigger(state.getKey(), CompletedExecutionInstruction.SET_TRIGGER_COMPLETE);
+                default -> {
+                }
+            }
+        }
+    }
+
+    private JobStoreSnapshot capture(long walSeq) throws JobPersistenceException {
+        Map<String, Calendar> calendars = new HashMap<>();
+        for (String name : getCalendarNames()) {
+            calendars.put(name, retrieveCalendar(name));
+        }
+
+        List<JobDetail> jobs = new ArrayList<>();
+        for (JobKey jobKey : getJobKeys(GroupMatcher.anyJobGroup())) {
+            jobs.add(retrieveJob(jobKey));
+        }
+
+        List<OperableTrigger> triggers = new ArrayList<>();
+        Map<TriggerKey, TriggerState> triggerStates = new HashMap<>();
+        for (TriggerKey triggerKey : getTriggerKeys(GroupMatcher.anyTriggerGroup())) {
+            triggers.add(retrieveTrigger(triggerKey));
+            TriggerState state = getTriggerState(triggerKey);
+            if (state == TriggerState.PAUSED || state == TriggerState.ERROR || state == TriggerState.COMPLETE) {
+                triggerStates.put(triggerKey, state);
+            }
+        }
+
+        return new JobStoreSnapshot(walSeq, calendars, jobs, triggers, triggerStates,
+                new HashSet<>(pausedTriggerGroups), new HashSet<>(pausedJobGroups));
+    }
+
+    private void replay(byte[] payload) {
+        WalRecord record;
+        try {
+            record = (WalRecord) deserialize(new ByteArrayInputStream(payload));
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Unreadable write-ahead log record", e);
+        }
+
+        try {
+            apply(record);
+        } catch (JobPersistenceException e) {
+            // The live call failed the same way and was not applied either
+            log.warn("Skipping write-ahead log record {}: {}", record.operation(), e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(WalRecord record) throws JobPersistenceException {
+        Object[] args = record.args();
+        switch (record.operation()) {
+            case STORE_JOB -> super.storeJob((JobDetail) args[0], (Boolean) args[1]);
+            case STORE_JOB_AND_TRIGGER -> super.storeJobAndTrigger((JobDetail) args[0], (OperableTrigger) args[1]);
+            case STORE_JOBS_AND_TRIGGERS -> super.storeJobsAndTriggers(
+                    (Map<JobDetail, Set<? extends Trigger>>) args[0], (Boolean) args[1]);
+            case REMOVE_JOB -> super.removeJob((JobKey) args[0]);
+            case REMOVE_JOBS -> super.removeJobs((List<JobKey>) args[0]);
+            case STORE_TRIGGER -> super.storeTrigger((OperableTrigger) args[0], (Boolean) args[1]);
+            case REMOVE_TRIGGER -> super.removeTrigger((TriggerKey) args[0]);
+            case REMOVE_TRIGGERS -> super.removeTriggers((List<TriggerKey>) args[0]);
+            case REPLACE_TRIGGER -> super.replaceTrigger((TriggerKey) args[0], (OperableTrigger) args[1]);
+            case STORE_CALENDAR -> super.storeCalendar((String) args[0], (Calendar) args[1], (Boolean) args[2],
+                    (Boolean) args[3]);
+            case REMOVE_CALENDAR -> super.removeCalendar((String) args[0]);
+            case PAUSE_TRIGGER -> super.pauseTrigger((TriggerKey) args[0]);
+            case PAUSE_TRIGGERS -> super.pauseTriggers((GroupMatcher<TriggerKey>) args[0]);
+            case PAUSE_JOB -> super.pauseJob((JobKey) args[0]);
+            case PAUSE_JOBS -> super.pauseJobs((GroupMatcher<JobKey>) args[0]);
+            case RESUME_TRIGGER -> super.resumeTrigger((TriggerKey) args[0]);
+            case RESUME_TRIGGERS -> super.resumeTriggers((GroupMatcher<TriggerKey>) args[0]);
+            case RESUME_JOB -> super.resumeJob((JobKey) args[0]);
+            case RESUME_JOBS -> super.resumeJobs((GroupMatcher<JobKey>) args[0]);
+            case PAUSE_ALL -> super.pauseAll();
+            case RESUME_ALL -> super.resumeAll();
+            case RESET_TRIGGER_FROM_ERROR_STATE -> super.resetTriggerFromErrorState((TriggerKey) args[0]);
+            case CLEAR_ALL -> super.clearAllSchedulingData();
+            case PUT_TRIGGER -> super.storeTrigger((OperableTrigger) args[0], true);
+            case PUT_JOB -> super.storeJob((JobDetail) args[0], true);
+            case COMPLETE_TRIGGER -> completeTrigger((TriggerKey) args[0], (CompletedExecutionInstruction) args[1]);
+        }
+    }
+
+    /**
+     * Set a trigger state the way a completed execution does. The stored job is passed along, so its job data
+     * stays as it is.
+     */
+    private void completeTrigger(TriggerKey triggerKey, CompletedExecutionInstruction instruction) {
+        OperableTrigger trigger = retrieveTrigger(triggerKey);
+        JobDetail jobDetail = trigger != null ? retrieveJob(trigger.getJobKey()) : null;
+        if (jobDetail != null) {
+            super.triggeredJobComplete(trigger, jobDetail, instruction);
+        }
+    }
+
+    /**
+     * Resolve job and calendar classes the way the scheduler loads them
+     */
+    private Object deserialize(InputStream in) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input = new ObjectInputStream(in) {
+            @Override
+            protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                try {
+                    return classLoadHelper.loadClass(desc.getName());
+                } catch (ClassNotFoundException e) {
+                    return super.resolveClass(desc);
+                }
+            }
+        }) {
+            return input.readObject();
+        }
+    }
+
+    private static Path snapshotPath(Path directory, long seq) {
+        return directory.resolve(String.format("snapshot-%016d.bin", seq));
+    }
+
+    private static List<Long> snapshotSeqs(Path directory) throws IOException {
+        List<Long> seqs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SNAPSHOT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    seqs.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        seqs.sort(null);
+        return seqs;
+    }
+}
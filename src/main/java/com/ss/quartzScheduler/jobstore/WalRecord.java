@@ -0,0 +1,45 @@
+package com.ss.quartzScheduler.jobstore;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * One job store mutation in the write-ahead log: the operation and the arguments to replay it with
+ */
+record WalRecord(Operation operation, Object... args) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    enum Operation {
+        STORE_JOB,
+        STORE_JOB_AND_TRIGGER,
+        STORE_JOBS_AND_TRIGGERS,
+        REMOVE_JOB,
+        REMOVE_JOBS,
+        STORE_TRIGGER,
+        REMOVE_TRIGGER,
+        REMOVE_TRIGGERS,
+        REPLACE_TRIGGER,
+        STORE_CALENDAR,
+        REMOVE_CALENDAR,
+        PAUSE_TRIGGER,
+        PAUSE_TRIGGERS,
+        PAUSE_JOB,
+        PAUSE_JOBS,
+        RESUME_TRIGGER,
+        RESUME_TRIGGERS,
+        RESUME_JOB,
+        RESUME_JOBS,
+        PAUSE_ALL,
+        RESUME_ALL,
+        RESET_TRIGGER_FROM_ERROR_STATE,
+        CLEAR_ALL,
+        // Trigger state after a fire
+        PUT_TRIGGER,
+        // Job data persisted after an execution
+        PUT_JOB,
+        // Trigger set to ERROR or COMPLETE by the instruction an execution completed with
+        COMPLETE_TRIGGER
+    }
+}
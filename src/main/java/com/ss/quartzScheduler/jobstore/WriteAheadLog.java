@@ -0,0 +1,187 @@
+package com.ss.quartzScheduler.jobstore;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of job store mutations split into fixed-size memory-mapped segment files.
+ * <p>
+ * A record is {@code [int length][int crc32][payload]}. Segments are pre-sized and zero filled, so a zero
+ * length marks the end of the written part; a bad checksum marks a write torn by a crash, and replay stops
+ * there. Writes go to the page cache and survive a process crash; {@link #force()} makes them survive
+ * a machine crash. A writer never reopens an existing segment, it always starts a new one.
+ * <p>
+ * The log only references the segment it writes to. Mappings of earlier and replayed segments are released when
+ * the garbage collector reclaims their buffers, so the disk blocks of a deleted segment may be freed a little later.
+ */
+@Slf4j
+class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d{16})\\.seg");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean forceOnWrite;
+
+    private long segmentSeq;
+    private MappedByteBuffer segment;
+
+    WriteAheadLog(Path directory, int segmentSize, boolean forceOnWrite) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.forceOnWrite = forceOnWrite;
+        Files.createDirectories(directory);
+        List<Long> existing = segmentSeqs(directory);
+        this.segmentSeq = existing.isEmpty() ? 0 : existing.get(existing.size() - 1);
+        openNextSegment();
+    }
+
+    /**
+     * Append one record, starting a new segment when it does not fit into the current one
+     */
+    void append(byte[] payload) throws IOException {
+        if (segment == null) {
+            throw new IOException("WAL is closed");
+        }
+        if (payload.length > segmentSize - 2 * HEADER_BYTES) {
+            throw new IOException("WAL record of " + payload.length + " bytes exceeds segment size " + segmentSize);
+        }
+        // Keep room for the zero length terminator
+        if (segment.remaining() < HEADER_BYTES + payload.length + Integer.BYTES) {
+            openNextSegment();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        int start = segment.position();
+        segment.position(start + Integer.BYTES);
+        segment.putInt((int) crc.getValue());
+        segment.put(payload);
+        // Publish the length last so a torn write leaves either nothing or a bad checksum
+        segment.putInt(start, payload.length);
+        if (forceOnWrite) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Close the current segment and start a new one
+     *
+     * @return sequence number of the new segment; records appended from now on are at or after it
+     */
+    long roll() throws IOException {
+        openNextSegment();
+        return segmentSeq;
+    }
+
+    /**
+     * Flush written records to the storage device
+     */
+    void force() {
+        segment.force();
+    }
+
+    /**
+     * Delete segments that are fully covered by a snapshot
+     */
+    void deleteSegmentsBefore(long seq) throws IOException {
+        for (long existing : segmentSeqs(directory)) {
+            if (existing < seq) {
+                Files.deleteIfExists(segmentPath(directory, existing));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+    }
+
+    /**
+     * Read the records of all segments from the given sequence number on, in order
+     *
+     * @return number of records read
+     */
+    static long replay(Path directory, long fromSeq, Consumer<byte[]> consumer) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long records = 0;
+        for (long seq : segmentSeqs(directory)) {
+            if (seq < fromSeq) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segmentPath(directory, seq), StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                while (buffer.remaining() >= HEADER_BYTES) {
+                    int length = buffer.getInt();
+                    if (length <= 0 || length > buffer.remaining() - Integer.BYTES) {
+                        break;
+                    }
+                    int checksum = buffer.getInt();
+                    byte[] payload = new byte[length];
+                    buffer.get(payload);
+                    CRC32 crc = new CRC32();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != checksum) {
+                        log.warn("Torn WAL record in segment {} at offset {}, ignoring the rest of the segment", seq,
+                                buffer.position() - length - HEADER_BYTES);
+                        break;
+                    }
+                    consumer.accept(payload);
+                    records++;
+                }
+            }
+        }
+        return records;
+    }
+
+    private void openNextSegment() throws IOException {
+        MappedByteBuffer next;
+        try (FileChannel channel = FileChannel.open(segmentPath(directory, segmentSeq + 1),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping beyond the end grows the file with zeros; the mapping stays valid after close
+            next = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        if (segment != null) {
+            segment.force();
+        }
+        segment = next;
+        segmentSeq++;
+    }
+
+    private static Path segmentPath(Path directory, long seq) {
+        return directory.resolve(String.format("wal-%016d.seg", seq));
+    }
+
+    private static List<Long> segmentSeqs(Path directory) throws IOException {
+        List<Long> seqs = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    seqs.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        seqs.sort(null);
+        return seqs;
+    }
+}
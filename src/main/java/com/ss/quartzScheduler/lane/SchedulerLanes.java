@@ -0,0 +1,222 @@
+package com.ss.quartzScheduler.lane;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.impl.SchedulerRepository;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Named execution lanes. Every lane has its own Quartz schedulers and worker thread pools, so long
+ * running jobs in one lane cannot take the threads of another. Lanes share the JDBC store, or each has its
+ * own write-ahead log directory with the in-memory store.
+ * <p>
+ * A lane can be split into shards. Every shard is a scheduler with its own scheduler name, and so its own
+ * trigger access lock in the JDBC store; a job key is routed to a shard by consistent hash. Jobs stay in the
+ * shard they were scheduled in, so after a change of the shard count they are still found and are moved
+ * when they are scheduled again.
+ * <p>
+ * The scheduler name of the first shard is the lane name, the others are {@code <lane>-shard-<n>}. The first
+ * shard of the default lane is the primary scheduler bean; the other schedulers are created by QuartzConfig
+ * and started and stopped in the same lifecycle phase as it.
+ */
+@Slf4j
+public class SchedulerLanes implements SmartLifecycle {
+
+    private static final String SHARD_SUFFIX = "-shard-";
+
+    private static final String QUEUE_DEPTH_SQL = "SELECT COUNT(*) FROM QRTZ_TRIGGERS WHERE SCHED_NAME = ? " +
+            "AND TRIGGER_STATE = 'WAITING' AND NEXT_FIRE_TIME <= ?";
+
+    private final String defaultLane;
+
+    // Shard schedulers by lane name, including the default lane
+    private final Map<String, List<Scheduler>> shards;
+
+    // Routing of job keys to shards, by lane
+    private final Map<String, ShardRing> rings = new LinkedHashMap<>();
+
+    // Factories of all schedulers except the primary one, owned by this class
+    private final List<SchedulerFactoryBean> laneFactories;
+
+    private volatile boolean running;
+
+    public SchedulerLanes(String defaultLane, Map<String, List<Scheduler>> shards,
+                          List<SchedulerFactoryBean> laneFactories, JdbcTemplate jdbcTemplate,
+                          MeterRegistry meterRegistry) {
+        this.defaultLane = defaultLane;
+        this.shards = Collections.unmodifiableMap(shards);
+        this.laneFactories = List.copyOf(laneFactories);
+        shards.forEach((lane, laneShards) -> rings.put(lane, new ShardRing(laneShards.size())));
+
+        // Due triggers not yet picked up by a worker thread of the lane, only known to the JDBC store
+        if (jdbcTemplate == null) {
+            return;
+        }
+        for (Map.Entry<String, List<Scheduler>> lane : shards.entrySet()) {
+            int shardCount = lane.getValue().size();
+            Gauge.builder("scheduler.lane.queue.depth", () -> queueDepth(jdbcTemplate, lane.getKey(), shardCount))
+                    .description("Triggers of the lane that are due but not yet acquired")
+                    .tag("lane", lane.getKey())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Look up a scheduler by name from the Quartz scheduler repository, for jobs not created by Spring
+     */
+    public static Scheduler lookup(String schedulerName) throws SchedulerException {
+        return SchedulerRepository.getInstance().lookup(schedulerName);
+    }
+
+    /**
+     * Scheduler name of a shard of a lane
+     */
+    public static String shardName(String lane, int shard) {
+        return shard == 0 ? lane : lane + SHARD_SUFFIX + shard;
+    }
+
+    /**
+     * Lane a scheduler belongs to
+     */
+    public static String laneName(String schedulerName) {
+        int suffix = schedulerName.lastIndexOf(SHARD_SUFFIX);
+        return suffix > 0 ? schedulerName.substring(0, suffix) : schedulerName;
+    }
+
+    public String getDefaultLane() {
+        return defaultLane;
+    }
+
+    public Set<String> getLaneNames() {
+        return shards.keySet();
+    }
+
+    /**
+     * All schedulers, every shard of every lane
+     */
+    public Collection<Scheduler> getSchedulers() {
+        List<Scheduler> schedulers = new ArrayList<>();
+        shards.values().forEach(schedulers::addAll);
+        return schedulers;
+    }
+
+    /**
+     * Get the shard of a lane a job is scheduled in, the default lane when none is given
+     *
+     * @throws SchedulerException if the lane does not exist
+     */
+    public Scheduler route(String lane, JobKey jobKey) throws SchedulerException {
+        String laneName = lane == null || lane.isBlank() ? defaultLane : lane;
+        if (!shards.containsKey(laneName)) {
+            throw new SchedulerException("Unknown lane: " + lane + ", expected one of " + shards.keySet());
+        }
+        return shard(laneName, jobKey);
+    }
+
+    /**
+     * Get the shard of a lane a job is scheduled in, falling back to the default lane when the lane does not
+     * exist
+     */
+    public Scheduler routeOrDefault(String lane, JobKey jobKey) {
+        return shard(shards.containsKey(lane) ? lane : defaultLane, jobKey);
+    }
+
+    /**
+     * Find the scheduler a job is stored in. The shard each lane routes the key to is checked first, the
+     * other shards only hold jobs scheduled under a different shard count.
+     *
+     * @return the scheduler, or null if no shard of any lane has the job
+     */
+    public Scheduler find(JobKey jobKey) throws SchedulerException {
+        for (String lane : shards.keySet()) {
+            Scheduler routed = shard(lane, jobKey);
+            if (routed.checkExists(jobKey)) {
+                return routed;
+            }
+        }
+        for (String lane : shards.keySet()) {
+            Scheduler routed = shard(lane, jobKey);
+            for (Scheduler scheduler : shards.get(lane)) {
+                if (scheduler != routed && scheduler.checkExists(jobKey)) {
+                    return scheduler;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the lane a job is stored in, or null if no lane has the job
+     */
+    public String laneOf(JobKey jobKey) throws SchedulerException {
+        Scheduler scheduler = find(jobKey);
+        return scheduler != null ? laneName(scheduler.getSchedulerName()) : null;
+    }
+
+    @Override
+    public void start() {
+        for (SchedulerFactoryBean factory : laneFactories) {
+            factory.start();
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        for (SchedulerFactoryBean factory : laneFactories) {
+            factory.stop();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Shut down the schedulers created for the lanes and shards, waiting for running jobs
+     */
+    public void shutdown() {
+        for (SchedulerFactoryBean factory : laneFactories) {
+            try {
+                factory.destroy();
+            } catch (SchedulerException e) {
+                log.error("Failed to shut down lane scheduler", e);
+            }
+        }
+    }
+
+    private Scheduler shard(String lane, JobKey jobKey) {
+        return shards.get(lane).get(rings.get(lane).shardOf(jobKey));
+    }
+
+    private static double queueDepth(JdbcTemplate jdbcTemplate, String lane, int shardCount) {
+        try {
+            long now = System.currentTimeMillis();
+            long depth = 0;
+            for (int shard = 0; shard < shardCount; shard++) {
+                Long shardDepth = jdbcTemplate.queryForObject(QUEUE_DEPTH_SQL, Long.class, shardName(lane, shard),
+                        now);
+                depth += shardDepth != null ? shardDepth : 0;
+            }
+            return depth;
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ss.quartzScheduler.lane;
+
+import org.quartz.JobKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash ring assigning job keys to the scheduler shards of a lane. Every shard owns many points on
+ * the ring, so keys spread evenly and going from N to N + 1 shards moves only about 1 / (N + 1) of them.
+ * The hash does not depend on the JVM, so every node routes a key to the same shard.
+ */
+public final class ShardRing {
+
+    private static final int POINTS_PER_SHARD = 128;
+
+    private final int shardCount;
+
+    // Ring points in ascending order and the shard owning each of them
+    private final long[] points;
+    private final int[] owners;
+
+    public ShardRing(int shardCount) {
+        this.shardCount = shardCount;
+        TreeMap<Long, Integer> ring = new TreeMap<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int point = 0; point < POINTS_PER_SHARD; point++) {
+                ring.putIfAbsent(hash("shard-" + shard + "#" + point), shard);
+            }
+        }
+        points = new long[ring.size()];
+        owners = new int[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> entry : ring.entrySet()) {
+            points[i] = entry.getKey();
+            owners[i] = entry.getValue();
+            i++;
+        }
+    }
+
+    /**
+     * Shard owning a job key: the owner of the first ring point at or after the key's hash
+     */
+    public int shardOf(JobKey jobKey) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(points, hash(jobKey.getGroup() + "." + jobKey.getName()));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * 64-bit FNV-1a with a final avalanche step, so similar job names land far apart on the ring
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
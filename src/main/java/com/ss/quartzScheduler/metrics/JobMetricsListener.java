@@ -0,0 +1,136 @@
+package com.ss.quartzScheduler.metrics;
+
+import com.ss.quartzScheduler.config.LaneProperties;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import com.ss.quartzScheduler.retry.RetryScheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global job listener recording fire lag, execution time, retries, vetoes and worker thread usage,
+ * tagged by lane, job group and job class. The lane is derived from the name of the scheduler running the job,
+ * so the shards of a lane are reported together.
+ */
+@Component
+public class JobMetricsListener implements JobListener {
+
+    public static final String TAG_GROUP = "job.group";
+    public static final String TAG_CLASS = "job.class";
+    public static final String TAG_LANE = "lane";
+
+    private final MeterRegistry meterRegistry;
+
+    // Quartz worker threads currently running a job, by lane
+    private final Map<String, AtomicInteger> activeThreads = new LinkedHashMap<>();
+
+    public JobMetricsListener(MeterRegistry meterRegistry, LaneProperties laneProperties,
+                              @Value("${spring.quartz.properties.org.quartz.threadPool.threadCount:10}") int threadCount) {
+        this.meterRegistry = meterRegistry;
+
+        laneProperties.laneThreads(threadCount).forEach((lane, threads) -> {
+            int size = laneProperties.threadsPerShard(threads) * Math.max(1, laneProperties.getShards());
+            AtomicInteger active = new AtomicInteger();
+            activeThreads.put(lane, active);
+            Gauge.builder("scheduler.threadpool.size", () -> size)
+                    .description("Configured number of Quartz worker threads")
+                    .tag(TAG_LANE, lane)
+                    .register(meterRegistry);
+            Gauge.builder("scheduler.threadpool.active", active, AtomicInteger::get)
+                    .description("Quartz worker threads currently running a job")
+                    .tag(TAG_LANE, lane)
+                    .register(meterRegistry);
+            Gauge.builder("scheduler.threadpool.utilization", active, a -> (double) a.get() / size)
+                    .description("Share of Quartz worker threads currently running a job")
+                    .tag(TAG_LANE, lane)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public String getName() {
+        return "jobMetricsListener";
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+        AtomicInteger active = activeThreads.get(lane(context));
+        if (active != null) {
+            active.incrementAndGet();
+        }
+
+        if (context.getScheduledFireTime() != null) {
+            long lagMillis = context.getFireTime().getTime() - context.getScheduledFireTime().getTime();
+            Timer.builder("scheduler.job.fire.lag")
+                    .description("Delay between the scheduled and the actual fire time")
+                    .tags(TAG_LANE, lane(context), TAG_GROUP, group(context), TAG_CLASS, jobClass(context))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(Math.max(lagMillis, 0L), TimeUnit.MILLISECONDS);
+        }
+
+        // Refires of a failed execution and backoff retries
+        JobDataMap triggerData = context.getTrigger().getJobDataMap();
+        if (context.getRefireCount() > 0 || triggerData.containsKey(RetryScheduler.ATTEMPT_KEY)) {
+            Counter.builder("scheduler.job.retries")
+                    .description("Job executions that are a retry of a failed execution")
+                    .tags(TAG_GROUP, group(context), TAG_CLASS, jobClass(context))
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+        Counter.builder("scheduler.job.vetoes")
+                .description("Job executions vetoed by a trigger listener")
+                .tags(TAG_GROUP, group(context), TAG_CLASS, jobClass(context))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        AtomicInteger active = activeThreads.get(lane(context));
+        if (active != null) {
+            active.decrementAndGet();
+        }
+
+        Timer.builder("scheduler.job.execution")
+                .description("Time a job held a Quartz worker thread")
+                .tags(TAG_LANE, lane(context), TAG_GROUP, group(context), TAG_CLASS, jobClass(context),
+                        "outcome", jobException == null ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(context.getJobRunTime(), TimeUnit.MILLISECONDS);
+    }
+
+    private static String lane(JobExecutionContext context) {
+        try {
+            return SchedulerLanes.laneName(context.getScheduler().getSchedulerName());
+        } catch (SchedulerException e) {
+            return "unknown";
+        }
+    }
+
+    private static String group(JobExecutionContext context) {
+        return context.getJobDetail().getKey().getGroup();
+    }
+
+    private static String jobClass(JobExecutionContext context) {
+        return context.getJobDetail().getJobClass().getSimpleName();
+    }
+}
@@ -0,0 +1,33 @@
+package com.ss.quartzScheduler.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.quartz.impl.jdbcjobstore.LockException;
+import org.quartz.impl.jdbcjobstore.StdRowLockSemaphore;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row lock semaphore of the JDBC job store that times how long each QRTZ_LOCKS lock takes to obtain.
+ * <p>
+ * Quartz creates the lock handler itself, so the timer is registered in the global Micrometer registry,
+ * which Spring Boot binds to the actuator registry.
+ */
+public class MeteredRowLockSemaphore extends StdRowLockSemaphore {
+
+    @Override
+    public boolean obtainLock(Connection conn, String lockName) throws LockException {
+        long start = System.nanoTime();
+        try {
+            return super.obtainLock(conn, lockName);
+        } finally {
+            Timer.builder("scheduler.jobstore.lock.wait")
+                    .description("Time spent waiting for a JDBC job store lock")
+                    .tag("lock", lockName)
+                    .publishPercentileHistogram()
+                    .register(Metrics.globalRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
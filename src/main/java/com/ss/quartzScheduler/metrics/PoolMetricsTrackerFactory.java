@@ -0,0 +1,77 @@
+package com.ss.quartzScheduler.metrics;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hikari metrics of a connection pool: the standard {@code hikaricp.connections.*} meters, including the
+ * acquire timer for wait time, plus saturation and leaked connections, all tagged by {@code pool}.
+ * <p>
+ * The leak detection threshold is read when the pool starts, after its configuration is bound.
+ */
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private final MeterRegistry meterRegistry;
+    private final HikariConfig config;
+    private final MicrometerMetricsTrackerFactory delegate;
+
+    public PoolMetricsTrackerFactory(MeterRegistry meterRegistry, HikariConfig config) {
+        this.meterRegistry = meterRegistry;
+        this.config = config;
+        this.delegate = new MicrometerMetricsTrackerFactory(meterRegistry);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        IMetricsTracker tracker = delegate.create(poolName, poolStats);
+
+        // Above 1 when threads are waiting for a connection
+        Gauge.builder("scheduler.datasource.saturation", poolStats,
+                        stats -> (double) (stats.getActiveConnections() + stats.getPendingThreads())
+                                / Math.max(1, stats.getMaxConnections()))
+                .description("Connections in use plus threads waiting for one, relative to the pool size")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        Counter leaked = Counter.builder("scheduler.datasource.connections.leaked")
+                .description("Connections held longer than the leak detection threshold")
+                .tag("pool", poolName)
+                .register(meterRegistry);
+        long leakThresholdMs = config.getLeakDetectionThreshold();
+
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+                if (leakThresholdMs > 0 && elapsedBorrowedMillis >= leakThresholdMs) {
+                    leaked.increment();
+                }
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                tracker.recordConnectionTimeout();
+            }
+
+            @Override
+            public void close() {
+                tracker.close();
+            }
+        };
+    }
+}
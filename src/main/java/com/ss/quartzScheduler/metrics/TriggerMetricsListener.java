@@ -0,0 +1,80 @@
+package com.ss.quartzScheduler.metrics;
+
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global trigger listener counting misfires, tagged by job group and job class.
+ * Misfire callbacks only carry the trigger, so the job class is looked up once per job and cached.
+ */
+@Slf4j
+@Component
+public class TriggerMetricsListener implements TriggerListener {
+
+    private static final String UNKNOWN_CLASS = "unknown";
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<SchedulerLanes> lanesProvider;
+    private final Map<JobKey, String> jobClasses = new ConcurrentHashMap<>();
+
+    public TriggerMetricsListener(MeterRegistry meterRegistry, ObjectProvider<SchedulerLanes> lanesProvider) {
+        this.meterRegistry = meterRegistry;
+        this.lanesProvider = lanesProvider;
+    }
+
+    @Override
+    public String getName() {
+        return "triggerMetricsListener";
+    }
+
+    @Override
+    public void triggerFired(Trigger trigger, JobExecutionContext context) {
+        jobClasses.putIfAbsent(trigger.getJobKey(), context.getJobDetail().getJobClass().getSimpleName());
+    }
+
+    @Override
+    public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+        return false;
+    }
+
+    @Override
+    public void triggerMisfired(Trigger trigger) {
+        JobKey jobKey = trigger.getJobKey();
+        Counter.builder("scheduler.job.misfires")
+                .description("Triggers that missed their fire time by more than the misfire threshold")
+                .tags(JobMetricsListener.TAG_GROUP, jobKey.getGroup(),
+                        JobMetricsListener.TAG_CLASS, jobClasses.computeIfAbsent(jobKey, this::lookupJobClass))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Override
+    public void triggerComplete(Trigger trigger, JobExecutionContext context,
+                                Trigger.CompletedExecutionInstruction triggerInstructionCode) {
+    }
+
+    private String lookupJobClass(JobKey jobKey) {
+        try {
+            Scheduler scheduler = lanesProvider.getObject().find(jobKey);
+            JobDetail jobDetail = scheduler != null ? scheduler.getJobDetail(jobKey) : null;
+            return jobDetail != null ? jobDetail.getJobClass().getSimpleName() : UNKNOWN_CLASS;
+        } catch (SchedulerException e) {
+            log.debug("Could not resolve job class of {}", jobKey, e);
+            return UNKNOWN_CLASS;
+        }
+    }
+}
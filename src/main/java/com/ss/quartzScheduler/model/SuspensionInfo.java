@@ -7,13 +7,14 @@ import java.time.LocalDateTime;
 
 /**
  * Class representing job suspension information.
+ * Instances are immutable because they are shared by the suspension registry snapshot.
  */
 @Getter
 public class SuspensionInfo {
     // Getters and setters
     private final SuspensionType type;
     private final LocalDateTime suspendedAt;
-    private LocalDateTime resumeDateTime;
+    private final LocalDateTime resumeDateTime;
     private final String reason;
 
     public SuspensionInfo(SuspensionType type, LocalDateTime suspendedAt,
@@ -24,10 +25,6 @@ public class SuspensionInfo {
         this.reason = reason;
     }
 
-    public void setResumeDateTime(LocalDateTime resumeDateTime) {
-        this.resumeDateTime = resumeDateTime;
-    }
-
     @Override
     public String toString() {
         return String.format("SuspensionInfo{type=%s, suspendedAt=%s, resumeDateTime=%s, reason='%s'}",
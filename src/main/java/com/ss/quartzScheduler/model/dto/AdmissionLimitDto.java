@@ -0,0 +1,33 @@
+package com.ss.quartzScheduler.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO representing the admission limits of a job group and what they did on this node
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Admission limits and counters of a job group on this node")
+public class AdmissionLimitDto {
+
+    private String groupName;
+    private double ratePerSecond;
+    private int burst;
+    private int maxInFlight;
+
+    @Schema(description = "Jobs of the group running now")
+    private int inFlight;
+
+    @Schema(description = "Fires admitted since start")
+    private long admitted;
+
+    @Schema(description = "Fires deferred by rescheduling since start")
+    private long deferred;
+
+    @Schema(description = "Fires rejected after too many deferrals since start")
+    private long rejected;
+}
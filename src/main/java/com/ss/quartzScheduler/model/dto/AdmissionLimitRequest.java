@@ -0,0 +1,26 @@
+package com.ss.quartzScheduler.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+/**
+ * Request DTO for changing the admission limits of a job group
+ */
+@Data
+@Schema(description = "Admission limits of a job group")
+public class AdmissionLimitRequest {
+
+    @PositiveOrZero
+    @Schema(description = "Fires admitted per second, 0 for no rate limit", example = "5")
+    private double ratePerSecond;
+
+    @PositiveOrZero
+    @Schema(description = "Fires admitted at once after an idle period, 0 for one second worth of the rate",
+            example = "10")
+    private int burst;
+
+    @PositiveOrZero
+    @Schema(description = "Jobs of the group running at the same time, 0 for no limit", example = "4")
+    private int maxInFlight;
+}
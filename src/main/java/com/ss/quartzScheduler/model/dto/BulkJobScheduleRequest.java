@@ -0,0 +1,25 @@
+package com.ss.quartzScheduler.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for scheduling a batch of jobs in a single scheduler transaction
+ */
+@Data
+@Schema(description = "Request to schedule multiple jobs at once")
+public class BulkJobScheduleRequest {
+
+    @NotEmpty(message = "At least one job is required")
+    @Valid
+    @Schema(description = "Jobs to schedule")
+    private List<JobScheduleRequest> jobs;
+
+    @Schema(description = "Replace jobs that already exist. If false, the whole batch fails when any job exists.",
+            example = "true")
+    private boolean replace = true;
+}
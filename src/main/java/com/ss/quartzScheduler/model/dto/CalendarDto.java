@@ -0,0 +1,31 @@
+package com.ss.quartzScheduler.model.dto;
+
+import com.ss.quartzScheduler.model.enums.CalendarType;
+import com.ss.quartzScheduler.model.enums.DayOfWeekEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO representing a holiday or business calendar
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Holiday or business calendar")
+public class CalendarDto {
+
+    private String calendarName;
+    private CalendarType type;
+    private String description;
+    private String timeZone;
+    private List<LocalDate> holidays;
+    private List<DayOfWeekEnum> businessDays;
+    private LocalTime businessHoursStart;
+    private LocalTime businessHoursEnd;
+}
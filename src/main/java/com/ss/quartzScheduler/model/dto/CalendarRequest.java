@@ -0,0 +1,45 @@
+package com.ss.quartzScheduler.model.dto;
+
+import com.ss.quartzScheduler.model.enums.CalendarType;
+import com.ss.quartzScheduler.model.enums.DayOfWeekEnum;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Request DTO for uploading a holiday or business calendar
+ */
+@Data
+@Schema(description = "Holiday or business calendar excluding times from the triggers it is attached to")
+public class CalendarRequest {
+
+    @NotNull(message = "Calendar type is required")
+    @Schema(description = "HOLIDAY excludes the holidays; BUSINESS also excludes the days and hours outside " +
+            "business hours", example = "BUSINESS")
+    private CalendarType type;
+
+    @Schema(description = "Description of the calendar", example = "NYSE trading days")
+    private String description;
+
+    @Schema(description = "Time zone of the dates and hours. Defaults to the server time zone.",
+            example = "America/New_York")
+    private String timeZone;
+
+    @Schema(description = "Excluded dates", example = "[\"2026-12-25\", \"2027-01-01\"]")
+    private List<LocalDate> holidays;
+
+    @Schema(description = "Business days of a BUSINESS calendar. Defaults to MONDAY to FRIDAY.")
+    private List<DayOfWeekEnum> businessDays;
+
+    @Schema(description = "Start of business hours of a BUSINESS calendar. Defaults to the start of the day.",
+            example = "09:00")
+    private LocalTime businessHoursStart;
+
+    @Schema(description = "End of business hours of a BUSINESS calendar, exclusive. Defaults to the end of the day.",
+            example = "17:00")
+    private LocalTime businessHoursEnd;
+}
@@ -0,0 +1,33 @@
+package com.ss.quartzScheduler.model.dto;
+
+import com.ss.quartzScheduler.model.entity.JobExecutionMetadata;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO representing one keyset page of a job's execution history.
+ * Pass nextBeforeFireTime and nextBeforeId back as beforeFireTime and beforeId to get the next page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of job executions, newest first")
+public class ExecutionHistoryPage {
+
+    @Schema(description = "Executions on this page")
+    private List<JobExecutionMetadata> executions;
+
+    @Schema(description = "Whether older executions exist in the requested time range", example = "true")
+    private boolean hasMore;
+
+    @Schema(description = "Fire time cursor of the next page, null on the last page")
+    private Instant nextBeforeFireTime;
+
+    @Schema(description = "Id cursor of the next page, null on the last page")
+    private Long nextBeforeId;
+}
@@ -29,4 +29,17 @@ public class JobScheduleRequest {
     private boolean repeat;
     private String interval;
     private List<Integer> daysOfWeek;
+
+    @Schema(description = "CUSIPs processed by each run of the job. Defaults to the demo CUSIP.")
+    private List<String> cusips;
+
+    @Schema(description = "Number of CUSIPs per partition processed in parallel", example = "50")
+    private Integer partitionSize;
+
+    @Schema(description = "Execution lane whose worker threads run the job. Defaults to the default lane.",
+            example = "critical")
+    private String lane;
+
+    @Schema(description = "Holiday or business calendar whose excluded times the job skips", example = "nyseTradingDays")
+    private String calendarName;
 }
\ No newline at end of file
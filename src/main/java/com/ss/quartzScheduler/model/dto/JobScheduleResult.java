@@ -0,0 +1,41 @@
+package com.ss.quartzScheduler.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO representing the outcome of scheduling a single job within a bulk request.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of scheduling a single job")
+public class JobScheduleResult {
+
+    @Schema(description = "Job name")
+    private String jobName;
+
+    @Schema(description = "Whether the job was scheduled", example = "true")
+    private boolean success;
+
+    @Schema(description = "Generated CRON expression", example = "0 0 9 * * ?")
+    private String cronExpression;
+
+    @Schema(description = "Next execution time of the job")
+    private LocalDateTime nextExecutionTime;
+
+    @Schema(description = "Error message if the job could not be scheduled")
+    private String error;
+
+    public static JobScheduleResult scheduled(String jobName, String cronExpression, LocalDateTime nextExecutionTime) {
+        return new JobScheduleResult(jobName, true, cronExpression, nextExecutionTime, null);
+    }
+
+    public static JobScheduleResult failed(String jobName, String cronExpression, String error) {
+        return new JobScheduleResult(jobName, false, cronExpression, null, error);
+    }
+}
@@ -22,4 +22,8 @@ public class JobTriggerRequest {
     @Schema(description = "Group name of the job", example = GROUP_NAME)
     private String groupName;
 
+    @Schema(description = "Execution lane whose worker threads run the job. Defaults to the default lane.",
+            example = "critical")
+    private String lane;
+
 }
\ No newline at end of file
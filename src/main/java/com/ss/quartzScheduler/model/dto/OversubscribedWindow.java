@@ -0,0 +1,27 @@
+package com.ss.quartzScheduler.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO representing consecutive minutes in which more executions are due than a scheduler has worker threads
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Minutes in which demand exceeds the worker threads")
+public class OversubscribedWindow {
+
+    @Schema(description = "Start of the first minute")
+    private Instant start;
+
+    @Schema(description = "End of the last minute")
+    private Instant end;
+
+    @Schema(description = "Most executions running at the same time in the window", example = "14")
+    private int peakConcurrency;
+}
@@ -0,0 +1,28 @@
+package com.ss.quartzScheduler.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DTO representing the forecast worker thread demand of every scheduler over a horizon
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Forecast worker thread demand of every lane shard, per minute")
+public class ScheduleForecast {
+
+    @Schema(description = "Start of the horizon, the start of the first minute of every heatmap")
+    private Instant from;
+
+    @Schema(description = "End of the horizon")
+    private Instant to;
+
+    @Schema(description = "Forecast of each scheduler")
+    private List<SchedulerForecast> schedulers;
+}
@@ -0,0 +1,42 @@
+package com.ss.quartzScheduler.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO representing the forecast worker thread demand of one scheduler
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Forecast worker thread demand of one lane shard")
+public class SchedulerForecast {
+
+    @Schema(description = "Scheduler name", example = "standard")
+    private String schedulerName;
+
+    @Schema(description = "Lane of the scheduler", example = "standard")
+    private String lane;
+
+    @Schema(description = "Worker threads of the scheduler", example = "10")
+    private int threadCount;
+
+    @Schema(description = "Triggers that fire within the horizon", example = "42")
+    private int triggers;
+
+    @Schema(description = "Fires running within the horizon, including those started just before it", example = "1440")
+    private long fires;
+
+    @Schema(description = "Most executions running at the same time", example = "12")
+    private int peakConcurrency;
+
+    @Schema(description = "Most executions running at the same time in each minute of the horizon")
+    private int[] concurrency;
+
+    @Schema(description = "Windows of consecutive minutes in which demand exceeds the worker threads")
+    private List<OversubscribedWindow> oversubscribed;
+}
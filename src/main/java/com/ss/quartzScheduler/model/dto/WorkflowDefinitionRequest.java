@@ -0,0 +1,30 @@
+package com.ss.quartzScheduler.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for defining a workflow of dependent jobs
+ */
+@Data
+@Schema(description = "Request to define a workflow of jobs and their dependencies")
+public class WorkflowDefinitionRequest {
+
+    @NotBlank(message = "Workflow name is required")
+    @Schema(description = "Name of the workflow", example = "adrDaily")
+    private String workflowName;
+
+    @Schema(description = "CRON expression starting a run of the workflow. Without it runs are only started " +
+            "through the API.", example = "0 0 6 * * ?")
+    private String cronExpression;
+
+    @NotEmpty(message = "At least one step is required")
+    @Valid
+    @Schema(description = "Steps of the workflow")
+    private List<WorkflowStepDefinition> steps;
+}
@@ -0,0 +1,27 @@
+package com.ss.quartzScheduler.model.dto;
+
+import com.ss.quartzScheduler.model.enums.WorkflowRunStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO representing a workflow run and its steps
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "State of a workflow run")
+public class WorkflowRunDto {
+
+    private long runId;
+    private String workflowName;
+    private WorkflowRunStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<WorkflowRunStepDto> steps;
+}
@@ -0,0 +1,27 @@
+package com.ss.quartzScheduler.model.dto;
+
+import com.ss.quartzScheduler.model.enums.WorkflowStepStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO representing a step of a workflow run
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "State of a step in a workflow run")
+public class WorkflowRunStepDto {
+
+    private String stepName;
+    private String groupName;
+    private List<String> dependsOn;
+    private WorkflowStepStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,32 @@
+package com.ss.quartzScheduler.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.ss.quartzScheduler.util.CronUtil.GROUP_NAME;
+
+/**
+ * DTO for one step of a workflow, run by the job of the same name
+ */
+@Data
+@Schema(description = "Step of a workflow, run by the job of the same name")
+public class WorkflowStepDefinition {
+
+    @NotBlank(message = "Job name is required")
+    @Schema(description = "Name of the job run by the step, also the name of the step", example = "adrExtract")
+    private String jobName;
+
+    @Schema(description = "Group name of the job", example = GROUP_NAME)
+    private String groupName = GROUP_NAME;
+
+    @Schema(description = "Execution lane of the job when it does not exist yet. Defaults to the default lane.",
+            example = "critical")
+    private String lane;
+
+    @Schema(description = "Steps that must complete before this one starts")
+    private List<String> dependsOn = new ArrayList<>();
+}
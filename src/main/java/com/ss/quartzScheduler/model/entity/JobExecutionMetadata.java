@@ -3,11 +3,16 @@ package com.ss.quartzScheduler.model.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+
 /**
  * Entity representing job execution metadata stored in the database.
+ * The composite indexes serve the keyset paginated execution history of a job and retention housekeeping.
  */
 @Entity
-@Table(name = "DREAM_JOB_EXECUTION_METADATA")
+@Table(name = "DREAM_JOB_EXECUTION_METADATA", indexes = {
+        @Index(name = "IDX_JOB_EXEC_META_GROUP_NAME_FIRE", columnList = "job_group, job_name, actual_fire_time"),
+        @Index(name = "IDX_JOB_EXEC_META_GROUP_BUCKET", columnList = "job_group, bucket_day")})
 @Getter
 @Setter
 @Builder
@@ -26,14 +31,20 @@ public class JobExecutionMetadata {
     private String jobGroup;
 
     @Column(name = "last_scheduled_time")
-    private String lastScheduledTime;
+    private Instant lastScheduledTime;
 
     @Column(name = "actual_fire_time")
-    private String actualFireTime;
+    private Instant actualFireTime;
 
+    // Null when the trigger will not fire again
     @Column(name = "next_fire_time")
-    private String nextFireTime;
+    private Instant nextFireTime;
 
+    // When the execution released its worker thread
     @Column(name = "execution_time")
-    private String executionTime;
+    private Instant executionTime;
+
+    // UTC epoch day of the actual fire time, the retention bucket of the row
+    @Column(name = "bucket_day")
+    private Long bucketDay;
 }
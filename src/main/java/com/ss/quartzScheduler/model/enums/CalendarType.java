@@ -0,0 +1,9 @@
+package com.ss.quartzScheduler.model.enums;
+
+/**
+ * Kind of a job calendar: holidays only, or business days and hours without holidays
+ */
+public enum CalendarType {
+    HOLIDAY,
+    BUSINESS
+}
@@ -0,0 +1,9 @@
+package com.ss.quartzScheduler.model.enums;
+
+/**
+ * Enum representing where Quartz keeps jobs and triggers
+ */
+public enum JobStoreType {
+    JDBC,
+    WAL
+}
@@ -0,0 +1,10 @@
+package com.ss.quartzScheduler.model.enums;
+
+/**
+ * Enum representing what a bounded write queue does when it is full
+ */
+public enum OverflowPolicy {
+    BLOCK,
+    DROP,
+    CALLER_RUNS
+}
@@ -0,0 +1,9 @@
+package com.ss.quartzScheduler.model.enums;
+
+/**
+ * Enum representing what housekeeping does with expired execution metadata
+ */
+public enum RetentionAction {
+    DELETE,
+    ARCHIVE
+}
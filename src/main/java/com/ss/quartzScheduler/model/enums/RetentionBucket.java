@@ -0,0 +1,9 @@
+package com.ss.quartzScheduler.model.enums;
+
+/**
+ * Enum representing the time bucket execution metadata expires in; only whole buckets are removed
+ */
+public enum RetentionBucket {
+    DAY,
+    WEEK
+}
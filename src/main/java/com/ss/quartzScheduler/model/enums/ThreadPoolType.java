@@ -0,0 +1,9 @@
+package com.ss.quartzScheduler.model.enums;
+
+/**
+ * Enum representing the Quartz worker thread pool implementation
+ */
+public enum ThreadPoolType {
+    SIMPLE,
+    VIRTUAL
+}
@@ -0,0 +1,10 @@
+package com.ss.quartzScheduler.model.enums;
+
+/**
+ * Enum representing the state of a workflow run
+ */
+public enum WorkflowRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,11 @@
+package com.ss.quartzScheduler.model.enums;
+
+/**
+ * Enum representing the outcome of a workflow step job that finishes after its execute() returned.
+ * Such jobs set a CompletionStage of it as the result of their JobExecutionContext.
+ */
+public enum WorkflowStepOutcome {
+    COMPLETED,
+    FAILED,
+    RETRYING // The job fired itself again for the same step, which reports the outcome
+}
@@ -0,0 +1,12 @@
+package com.ss.quartzScheduler.model.enums;
+
+/**
+ * Enum representing the state of a step in a workflow run
+ */
+public enum WorkflowStepStatus {
+    PENDING, // Waiting for its upstream steps
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    SKIPPED // Not run because the workflow run failed
+}
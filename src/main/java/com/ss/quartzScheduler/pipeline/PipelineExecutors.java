@@ -0,0 +1,104 @@
+package com.ss.quartzScheduler.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Named executors that pipeline stages run on, one per downstream system, so a slow system
+ * only exhausts its own threads.
+ * Implements Singleton pattern so jobs created by the Quartz JobFactory can reach them.
+ */
+@Slf4j
+public class PipelineExecutors {
+
+    // Executor names used by the ADR pipeline
+    public static final String DSF = "dsf";
+    public static final String PROCESSING = "processing";
+    public static final String EMAIL = "email";
+    public static final String DMC = "dmc";
+    public static final String DATABASE = "database";
+
+    // Executor for partitions of a fanned-out job run
+    public static final String PARTITION = "partition";
+
+    // Singleton instance
+    private static PipelineExecutors instance;
+
+    private final Map<String, ExecutorService> executors;
+
+    private PipelineExecutors(Map<String, Integer> poolSizes) {
+        Map<String, ExecutorService> created = new LinkedHashMap<>();
+        poolSizes.forEach((name, size) -> created.put(name, Executors.newFixedThreadPool(size, threadFactory(name))));
+        this.executors = Collections.unmodifiableMap(created);
+    }
+
+    // Synchronized method to initialize the singleton instance
+    public static synchronized void init(Map<String, Integer> poolSizes) {
+        if (instance == null) {
+            instance = new PipelineExecutors(poolSizes);
+            log.info("Initialized pipeline executors {}", poolSizes);
+        }
+    }
+
+    // Method to get the singleton instance
+    public static PipelineExecutors getInstance() {
+        if (instance == null) {
+            throw new IllegalStateException("PipelineExecutors not initialized. Call init() first.");
+        }
+        return instance;
+    }
+
+    /**
+     * Shut down all executors, waiting for running stages to finish.
+     */
+    public static synchronized void shutdown(long timeoutMillis) {
+        if (instance == null) {
+            return;
+        }
+        instance.executors.values().forEach(ExecutorService::shutdown);
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (ExecutorService executor : instance.executors.values()) {
+            try {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                if (!executor.awaitTermination(remaining, TimeUnit.MILLISECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        instance = null;
+    }
+
+    /**
+     * Get an executor by name
+     *
+     * @param name executor name
+     * @return the executor
+     */
+    public ExecutorService get(String name) {
+        ExecutorService executor = executors.get(name);
+        if (executor == null) {
+            throw new IllegalArgumentException("Unknown pipeline executor: " + name);
+        }
+        return executor;
+    }
+
+    private static ThreadFactory threadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "pipeline-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
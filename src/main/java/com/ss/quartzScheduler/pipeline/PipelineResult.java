@@ -0,0 +1,22 @@
+package com.ss.quartzScheduler.pipeline;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of a {@link StagePipeline} run with the timing of every stage that ran.
+ */
+@Getter
+@AllArgsConstructor
+public class PipelineResult {
+
+    private final String pipelineName;
+    private final boolean success;
+    private final List<StageTiming> timings;
+    private final long totalMillis;
+
+    // First stage failure, null on success
+    private final Throwable failure;
+}
@@ -0,0 +1,30 @@
+package com.ss.quartzScheduler.pipeline;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A single stage of a {@link StagePipeline}: its action, the executor it runs on,
+ * its timeout and the stages it depends on.
+ */
+@Getter
+public class PipelineStage {
+
+    private final String name;
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final StageAction action;
+    private final List<String> dependsOn;
+
+    public PipelineStage(String name, ExecutorService executor, Duration timeout, StageAction action,
+                         List<String> dependsOn) {
+        this.name = name;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.action = action;
+        this.dependsOn = dependsOn;
+    }
+}
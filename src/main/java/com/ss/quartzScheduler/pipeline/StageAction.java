@@ -0,0 +1,9 @@
+package com.ss.quartzScheduler.pipeline;
+
+/**
+ * Work performed by a single pipeline stage
+ */
+@FunctionalInterface
+public interface StageAction {
+    void run() throws Exception;
+}
@@ -0,0 +1,158 @@
+package com.ss.quartzScheduler.pipeline;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A set of asynchronous stages with dependencies between them.
+ * <p>
+ * Each stage runs on its own executor once all stages it depends on have completed, so independent
+ * stages run concurrently. A stage that exceeds its timeout is cancelled and fails the pipeline;
+ * stages depending on a failed stage are skipped.
+ */
+public class StagePipeline {
+
+    private final String name;
+    private final Map<String, PipelineStage> stages = new LinkedHashMap<>();
+
+    private StagePipeline(String name) {
+        this.name = name;
+    }
+
+    public static StagePipeline named(String name) {
+        return new StagePipeline(name);
+    }
+
+    /**
+     * Add a stage. Dependencies must have been added before the stage that depends on them.
+     *
+     * @param stageName stage name, unique within the pipeline
+     * @param executor  executor the stage runs on
+     * @param timeout   maximum run time of the stage, null for none; time waiting for a thread of the executor does
+     *                  not count
+     * @param action    work performed by the stage
+     * @param dependsOn names of the stages that must complete first
+     * @return this pipeline
+     */
+    public StagePipeline stage(String stageName, ExecutorService executor, Duration timeout, StageAction action,
+                               String... dependsOn) {
+        if (stages.containsKey(stageName)) {
+            throw new IllegalArgumentException("Duplicate stage: " + stageName);
+        }
+        for (String dependency : dependsOn) {
+            if (!stages.containsKey(dependency)) {
+                throw new IllegalArgumentException("Stage " + stageName + " depends on unknown stage " + dependency);
+            }
+        }
+        stages.put(stageName, new PipelineStage(stageName, executor, timeout, action, List.of(dependsOn)));
+        return this;
+    }
+
+    /**
+     * Submit all stages and return immediately.
+     *
+     * @return future completed with the result once every stage has completed, failed or been skipped
+     */
+    public CompletableFuture<PipelineResult> submit() {
+        long startNanos = System.nanoTime();
+        ConcurrentLinkedQueue<StageTiming> timings = new ConcurrentLinkedQueue<>();
+        Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+
+        for (PipelineStage stage : stages.values()) {
+            CompletableFuture<?>[] dependencies = stage.getDependsOn().stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture<?>[]::new);
+            CompletableFuture<Void> future = CompletableFuture.allOf(dependencies)
+                    .thenCompose(ignored -> runStage(stage, timings));
+            futures.put(stage.getName(), future);
+        }
+
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                .handle((ignored, error) -> {
+                    List<StageTiming> ordered = new ArrayList<>(timings);
+                    ordered.sort(Comparator.comparing(StageTiming::getStartedAt));
+                    long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                    return new PipelineResult(name, error == null, ordered, totalMillis, unwrap(error));
+                });
+    }
+
+    private CompletableFuture<Void> runStage(PipelineStage stage, ConcurrentLinkedQueue<StageTiming> timings) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        long submittedNanos = System.nanoTime();
+        AtomicLong startedNanos = new AtomicLong();
+        AtomicReference<Instant> startedAt = new AtomicReference<>();
+
+        Future<?> task;
+        try {
+            task = stage.getExecutor().submit(() -> {
+                startedNanos.set(System.nanoTime());
+                startedAt.set(Instant.now());
+                // Armed once running, so a stage queued behind others on a busy executor is not timed out unrun
+                if (stage.getTimeout() != null) {
+                    result.orTimeout(stage.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                }
+                try {
+                    stage.getAction().run();
+                    result.complete(null);
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            task = null;
+        }
+
+        if (stage.getTimeout() != null && task != null) {
+            Future<?> runningTask = task;
+            result.whenComplete((ignored, error) -> {
+                if (error instanceof TimeoutException) {
+                    runningTask.cancel(true);
+                }
+            });
+        }
+
+        return result.whenComplete((ignored, error) -> {
+            long now = System.nanoTime();
+            Instant stageStartedAt = startedAt.get();
+            boolean started = stageStartedAt != null;
+            long queuedNanos = (started ? startedNanos.get() : now) - submittedNanos;
+            long runNanos = started ? now - startedNanos.get() : 0L;
+            Throwable cause = unwrap(error);
+            timings.add(new StageTiming(stage.getName(), started ? stageStartedAt : Instant.now(),
+                    TimeUnit.NANOSECONDS.toMillis(queuedNanos), TimeUnit.NANOSECONDS.toMillis(runNanos),
+                    error == null, cause != null ? describe(stage, cause) : null));
+        });
+    }
+
+    private static String describe(PipelineStage stage, Throwable cause) {
+        if (cause instanceof TimeoutException) {
+            return "timed out after " + stage.getTimeout().toMillis() + "ms";
+        }
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
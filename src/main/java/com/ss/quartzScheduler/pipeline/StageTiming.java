@@ -0,0 +1,37 @@
+package com.ss.quartzScheduler.pipeline;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Timing record of one executed pipeline stage.
+ */
+@Getter
+@AllArgsConstructor
+public class StageTiming {
+
+    // Stage name
+    private final String stage;
+
+    // When the stage started running on its executor
+    private final Instant startedAt;
+
+    // Time spent waiting for a thread of the stage executor
+    private final long queuedMillis;
+
+    // Time spent running the stage action
+    private final long runMillis;
+
+    private final boolean success;
+
+    // Failure message, null on success
+    private final String error;
+
+    @Override
+    public String toString() {
+        return String.format("%s[%s, queued=%dms, run=%dms%s]", stage, success ? "OK" : "FAILED", queuedMillis,
+                runMillis, error != null ? ", error=" + error : "");
+    }
+}
@@ -1,10 +1,24 @@
 package com.ss.quartzScheduler.repository;
 
 import com.ss.quartzScheduler.model.entity.JobExecutionMetadata;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
 
 /**
  * Repository interface for JobExecutionMetadata entity.
  */
 public interface JobExecutionMetadataRepository extends JpaRepository<JobExecutionMetadata, Long> {
+
+    // Keyset page of a job's executions, newest first, strictly after the (beforeFireTime, beforeId) cursor.
+    // Served by the (job_group, job_name, actual_fire_time) index without an OFFSET scan.
+    @Query("SELECT m FROM JobExecutionMetadata m WHERE m.jobGroup = :jobGroup AND m.jobName = :jobName " +
+            "AND m.actualFireTime >= :from " +
+            "AND (m.actualFireTime < :beforeFireTime OR (m.actualFireTime = :beforeFireTime AND m.id < :beforeId)) " +
+            "ORDER BY m.actualFireTime DESC, m.id DESC")
+    List<JobExecutionMetadata> findHistoryPage(String jobName, String jobGroup, Instant from, Instant beforeFireTime,
+                                               long beforeId, Limit limit);
 }
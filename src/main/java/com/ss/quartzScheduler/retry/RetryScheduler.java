@@ -0,0 +1,114 @@
+package com.ss.quartzScheduler.retry;
+
+import com.ss.quartzScheduler.config.RetryProperties;
+import com.ss.quartzScheduler.metrics.JobMetricsListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries failed job executions with one-shot triggers fired after an exponential backoff with jitter, instead of
+ * re-running the job at once on the same worker thread. The worker thread is free between attempts.
+ * <p>
+ * The attempt number and the trigger data of the failed fire are carried in the trigger data of the retry, so the
+ * persisted job data is not rewritten and a retry of a workflow step finishes the same step.
+ */
+@Slf4j
+@Component
+public class RetryScheduler {
+
+    // Group of the triggers firing retries
+    public static final String RETRY_TRIGGER_GROUP = "RETRY";
+
+    // Trigger JobDataMap key of the retry attempt, absent on the first execution
+    public static final String ATTEMPT_KEY = "retryAttempt";
+
+    // JobExecutionContext key marking a failed fire that has a retry scheduled
+    public static final String RETRY_SCHEDULED_KEY = "retryScheduled";
+
+    private final RetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RetryScheduler(RetryProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Get the retry attempt of a fire, 0 for the first execution
+     */
+    public static int attempt(JobExecutionContext context) {
+        JobDataMap triggerData = context.getTrigger().getJobDataMap();
+        return triggerData.containsKey(ATTEMPT_KEY) ? triggerData.getIntValue(ATTEMPT_KEY) : 0;
+    }
+
+    /**
+     * Schedule the next attempt of a failed fire, unless the job's retry policy is exhausted
+     *
+     * @param retryData data added to the trigger data of the failed fire for the retry, may be null
+     * @return true if a retry was scheduled
+     */
+    public boolean scheduleRetry(JobExecutionContext context, JobDataMap retryData) {
+        JobDetail jobDetail = context.getJobDetail();
+        RetryProperties.Policy policy = properties.policyFor(jobDetail);
+        int attempt = attempt(context);
+        if (attempt >= policy.getMaxAttempts()) {
+            log.error("Job {} failed after {} retries, not retrying", jobDetail.getKey(), attempt);
+            Counter.builder("scheduler.job.retries.exhausted")
+                    .description("Failed job executions without retries left")
+                    .tags(JobMetricsListener.TAG_GROUP, jobDetail.getKey().getGroup(),
+                            JobMetricsListener.TAG_CLASS, jobDetail.getJobClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            return false;
+        }
+
+        JobDataMap data = new JobDataMap(context.getTrigger().getJobDataMap());
+        if (retryData != null) {
+            data.putAll(retryData);
+        }
+        data.put(ATTEMPT_KEY, attempt + 1);
+
+        long delayMs = delayMs(policy, attempt);
+        Trigger retry = TriggerBuilder.newTrigger()
+                .forJob(jobDetail.getKey())
+                .withIdentity("retry-" + context.getFireInstanceId(), RETRY_TRIGGER_GROUP)
+                .usingJobData(data)
+                .withPriority(context.getTrigger().getPriority())
+                .startAt(new Date(System.currentTimeMillis() + delayMs))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+        try {
+            context.getScheduler().scheduleJob(retry);
+        } catch (SchedulerException e) {
+            log.error("Failed to schedule retry {} of {}", attempt + 1, jobDetail.getKey(), e);
+            return false;
+        }
+
+        context.put(RETRY_SCHEDULED_KEY, Boolean.TRUE);
+        log.info("Scheduled retry {} of {} for {} in {}ms", attempt + 1, policy.getMaxAttempts(), jobDetail.getKey(),
+                delayMs);
+        return true;
+    }
+
+    /**
+     * Exponential delay of a retry, capped, with the jitter share of it randomized
+     */
+    public static long delayMs(RetryProperties.Policy policy, int attempt) {
+        double delay = Math.min(policy.getMaxDelayMs(),
+                policy.getInitialDelayMs() * Math.pow(policy.getMultiplier(), attempt));
+        double jitter = Math.min(1, Math.max(0, policy.getJitter()));
+        return Math.round(delay * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+}
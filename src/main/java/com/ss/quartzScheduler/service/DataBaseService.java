@@ -1,18 +1,32 @@
 package com.ss.quartzScheduler.service;
 
+import com.ss.quartzScheduler.model.dto.ExecutionHistoryPage;
 import com.ss.quartzScheduler.model.entity.JobExecutionMetadata;
 import com.ss.quartzScheduler.model.entity.JobUserControl;
+import com.ss.quartzScheduler.model.enums.JobStatus;
+import com.ss.quartzScheduler.pipeline.PipelineResult;
 import com.ss.quartzScheduler.repository.JobExecutionMetadataRepository;
 import com.ss.quartzScheduler.repository.JobUserControlRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-
-import static com.ss.quartzScheduler.util.CronUtil.formatDate;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 /**
  * Service to save job execution metadata and user control data to the database.
@@ -30,17 +44,61 @@ public class DataBaseService {
     // Repository for job user control
     private final JobUserControlRepository userControlRepository;
 
+    // Plain JDBC access for batched writes
+    private final JdbcTemplate jdbcTemplate;
+
+    // Plain JDBC access on the execution metadata pool, for history exports
+    private final JdbcTemplate metadataJdbcTemplate;
+
+    // Asynchronous batched writer for job execution metadata
+    private final ExecutionMetadataWriter metadataWriter;
+
+    // Write-behind cache for job status rows
+    private final JobStatusCache statusCache;
+
+    // Batch statements for DREAM_JOB_USER_CONTROL; null timestamps keep the stored value like storeJobUserData
+    private static final String UPDATE_USER_CONTROL_SQL = "UPDATE DREAM_JOB_USER_CONTROL SET " +
+            "last_scheduled_time = COALESCE(?, last_scheduled_time), " +
+            "actual_fire_time = COALESCE(?, actual_fire_time), " +
+            "next_fire_time = COALESCE(?, next_fire_time), " +
+            "JOB_STATUS = ? WHERE JOB_NAME = ? AND JOB_GROUP = ?";
+    private static final String INSERT_USER_CONTROL_SQL = "INSERT INTO DREAM_JOB_USER_CONTROL " +
+            "(JOB_NAME, JOB_GROUP, last_scheduled_time, actual_fire_time, next_fire_time, JOB_STATUS) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Partition checkpoints of a job run
+    private static final String SELECT_CHECKPOINTS_SQL = "SELECT PARTITION_NO FROM DREAM_JOB_PARTITION_CHECKPOINT " +
+            "WHERE JOB_NAME = ? AND JOB_GROUP = ? AND RUN_ID = ?";
+    private static final String INSERT_CHECKPOINT_SQL = "INSERT INTO DREAM_JOB_PARTITION_CHECKPOINT " +
+            "(JOB_NAME, JOB_GROUP, RUN_ID, PARTITION_NO, COMPLETED_AT) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE_CHECKPOINTS_SQL = "DELETE FROM DREAM_JOB_PARTITION_CHECKPOINT " +
+            "WHERE JOB_NAME = ? AND JOB_GROUP = ? AND RUN_ID = ?";
+
+    // Rows fetched per round trip while streaming execution history
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
     // Private constructor to enforce singleton pattern
-    private DataBaseService(JobExecutionMetadataRepository repository, JobUserControlRepository userControlRepository) {
+    private DataBaseService(JobExecutionMetadataRepository repository, JobUserControlRepository userControlRepository,
+                            JdbcTemplate jdbcTemplate, JdbcTemplate metadataJdbcTemplate,
+                            ExecutionMetadataWriter metadataWriter, JobStatusCache statusCache) {
         this.repository = repository;
         this.userControlRepository = userControlRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.metadataJdbcTemplate = metadataJdbcTemplate;
+        this.metadataWriter = metadataWriter;
+        this.statusCache = statusCache;
     }
 
     // Synchronized method to initialize the singleton instance
     public static synchronized void init(JobExecutionMetadataRepository repository,
-                                         JobUserControlRepository userControlRepository) {
+                                         JobUserControlRepository userControlRepository,
+                                         JdbcTemplate jdbcTemplate,
+                                         JdbcTemplate metadataJdbcTemplate,
+                                         ExecutionMetadataWriter metadataWriter,
+                                         JobStatusCache statusCache) {
         if (instance == null) {
-            instance = new DataBaseService(repository, userControlRepository);
+            instance = new DataBaseService(repository, userControlRepository, jdbcTemplate, metadataJdbcTemplate,
+                    metadataWriter, statusCache);
         }
     }
 
@@ -53,11 +111,11 @@ public class DataBaseService {
     }
 
     public Optional<JobUserControl> findByJobNameAndJobGroup(String jobName, String jobGroup) {
-        return userControlRepository.findByJobNameAndJobGroup(jobName, jobGroup);
+        return statusCache.get(jobName, jobGroup);
     }
 
     public Optional<JobUserControl> getStatus(String jobName, String jobGroup) {
-        return userControlRepository.getStatus(jobName, jobGroup);
+        return statusCache.get(jobName, jobGroup);
     }
 
     public List<JobUserControl> getAllSuspendedJobs() {
@@ -66,35 +124,64 @@ public class DataBaseService {
 
     /**
      * Save job execution metadata to the database.
+     * The row is handed to the {@link ExecutionMetadataWriter} and written asynchronously in a batch.
+     * Jobs call this when they release their worker thread, so the execution time minus the actual fire time is
+     * how long the fire held it.
      *
      * @param context JobExecutionContext context
      */
     public void storeJobMetadata(JobExecutionContext context) {
-        JobDataMap dataMap = context.getJobDetail().getJobDataMap();
-
-        // Store scheduling time metadata in QRTZ_JOB_DETAILS as a JOB_DATA in a blob format
-        dataMap.put("lastScheduledTime", context.getScheduledFireTime());
-        dataMap.put("actualFireTime", context.getFireTime());
-        dataMap.put("nextFireTime", context.getNextFireTime());
-        dataMap.put("executionTime", LocalDateTime.now());
-
-        // Store scheduling time metadata in DREAM_JOB_EXECUTION_METADATA table
+        // Store scheduling time metadata in DREAM_JOB_EXECUTION_METADATA table, not in the job data, so
+        // QRTZ_JOB_DETAILS is not rewritten after every execution
         JobExecutionMetadata meta = JobExecutionMetadata.builder()
                 .jobName(context.getJobDetail().getKey().getName())
                 .jobGroup(context.getJobDetail().getKey().getGroup())
-                .lastScheduledTime(formatDate(context.getScheduledFireTime().toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime()))
-                .actualFireTime(formatDate(context.getFireTime().toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime()))
-                .nextFireTime(context.getNextFireTime() != null ?
-                        formatDate(context.getNextFireTime().toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDateTime()) : "N/A")
-                .executionTime(formatDate(LocalDateTime.now()))
+                .lastScheduledTime(context.getScheduledFireTime().toInstant())
+                .actualFireTime(context.getFireTime().toInstant())
+                .nextFireTime(context.getNextFireTime() != null ? context.getNextFireTime().toInstant() : null)
+                .executionTime(Instant.now())
+                .bucketDay(LocalDate.ofInstant(context.getFireTime().toInstant(), ZoneOffset.UTC).toEpochDay())
                 .build();
 
-        repository.save(meta);
+        metadataWriter.write(meta);
     }
 
 
     /**
-     * Store job user data in the database
+     * Get one page of a job's execution history, newest first, using keyset pagination.
+     * The cursor is the (actual fire time, id) of the last row of the previous page, so every page
+     * costs the same index seek regardless of how deep the caller has paged.
+     *
+     * @param jobName        Job name
+     * @param jobGroup       Job group name
+     * @param from           Oldest actual fire time to include
+     * @param to             Newest actual fire time to include
+     * @param beforeFireTime Fire time cursor from the previous page, null for the first page
+     * @param beforeId       Id cursor from the previous page, null for the first page
+     * @param size           Page size
+     */
+    public ExecutionHistoryPage getExecutionHistory(String jobName, String jobGroup, Instant from, Instant to,
+                                                    Instant beforeFireTime, Long beforeId, int size) {
+        // The first page starts just after the end of the range
+        boolean firstPage = beforeFireTime == null || beforeId == null;
+        Instant seekFireTime = firstPage || beforeFireTime.isAfter(to) ? to : beforeFireTime;
+        long seekId = firstPage || beforeFireTime.isAfter(to) ? Long.MAX_VALUE : beforeId;
+
+        // Fetch one extra row to know whether another page exists
+        List<JobExecutionMetadata> rows = repository.findHistoryPage(jobName, jobGroup, from, seekFireTime, seekId,
+                Limit.of(size + 1));
+        if (rows.size() <= size) {
+            return new ExecutionHistoryPage(rows, false, null, null);
+        }
+        List<JobExecutionMetadata> page = rows.subList(0, size);
+        JobExecutionMetadata last = page.get(size - 1);
+        return new ExecutionHistoryPage(new ArrayList<>(page), true, last.getActualFireTime(), last.getId());
+    }
+
+    /**
+     * Store job user data in the database.
+     * The transition is recorded in the {@link JobStatusCache}; only the latest state per job is written
+     * on the next cache flush.
      *
      * @param jobName           Job name
      * @param groupName         Job group name
@@ -107,23 +194,7 @@ public class DataBaseService {
                                  LocalDateTime actualFireTime, LocalDateTime nextFireTime, String status) {
 
         try {
-            JobUserControl control =
-                    findByJobNameAndJobGroup(jobName, groupName).orElse(JobUserControl.builder().build());
-
-            control.setJobName(jobName);
-            control.setJobGroup(groupName);
-            if (lastScheduledTime != null) {
-                control.setLastScheduledTime(lastScheduledTime);
-            }
-            if (actualFireTime != null) {
-                control.setActualFireTime(actualFireTime);
-            }
-            if (nextFireTime != null) {
-                control.setNextFireTime(nextFireTime);
-            }
-            control.setStatus(status);
-
-            userControlRepository.save(control);
+            statusCache.record(jobName, groupName, lastScheduledTime, actualFireTime, nextFireTime, status);
 
             log.info("Stored job user data for {}.{} -> status={}", jobName, groupName, status);
         } catch (Exception e) {
@@ -131,4 +202,176 @@ public class DataBaseService {
         }
     }
 
+    /**
+     * Record the completion of an asynchronous job pipeline: logs the stage timings and stores
+     * the resulting COMPLETED or FAILED status.
+     *
+     * @param jobName           Job name
+     * @param groupName         Job group name
+     * @param lastScheduledTime Scheduled fire time of the run
+     * @param actualFireTime    Actual fire time of the run, stored only on success
+     * @param nextFireTime      Next scheduled fire time
+     * @param result            Pipeline result
+     */
+    public void recordPipelineCompletion(String jobName, String groupName, LocalDateTime lastScheduledTime,
+                                         LocalDateTime actualFireTime, LocalDateTime nextFireTime,
+                                         PipelineResult result) {
+        if (result.isSuccess()) {
+            log.info("Pipeline {} for {}.{} completed in {}ms: {}", result.getPipelineName(), jobName, groupName,
+                    result.getTotalMillis(), result.getTimings());
+            storeJobUserData(jobName, groupName, lastScheduledTime, actualFireTime, nextFireTime,
+                    JobStatus.COMPLETED.name());
+        } else {
+            log.error("Pipeline {} for {}.{} failed after {}ms: {}", result.getPipelineName(), jobName, groupName,
+                    result.getTotalMillis(), result.getTimings(), result.getFailure());
+            storeJobUserData(jobName, groupName, lastScheduledTime, null, nextFireTime, JobStatus.FAILED.name());
+        }
+    }
+
+    /**
+     * Store job user data for many jobs. The rows go through the {@link JobStatusCache} and are
+     * written together on the next cache flush.
+     *
+     * @param controls job user control rows to store
+     */
+    public void storeJobUserDataBatch(List<JobUserControl> controls) {
+        statusCache.recordAll(controls);
+    }
+
+    /**
+     * Write job user data for many jobs using JDBC batches instead of one SELECT + save per job.
+     * Rows are updated in one batch, and the jobs without an existing row are inserted in a second batch.
+     *
+     * @param controls job user control rows to upsert
+     */
+    public void writeJobUserDataBatch(List<JobUserControl> controls) {
+        if (controls.isEmpty()) {
+            return;
+        }
+
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_USER_CONTROL_SQL, controls, controls.size(),
+                (ps, control) -> {
+                    ps.setTimestamp(1, toTimestamp(control.getLastScheduledTime()));
+                    ps.setTimestamp(2, toTimestamp(control.getActualFireTime()));
+                    ps.setTimestamp(3, toTimestamp(control.getNextFireTime()));
+                    ps.setString(4, control.getStatus());
+                    ps.setString(5, control.getJobName());
+                    ps.setString(6, control.getJobGroup());
+                });
+
+        List<JobUserControl> missing = new ArrayList<>();
+        for (int i = 0; i < controls.size(); i++) {
+            if (updated[0][i] == 0) {
+                missing.add(controls.get(i));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER_CONTROL_SQL, missing, missing.size(),
+                    DataBaseService::bindUserControlInsert);
+        }
+
+        log.debug("Wrote job user data for {} jobs ({} inserted, {} updated)", controls.size(), missing.size(),
+                controls.size() - missing.size());
+    }
+
+    /**
+     * Get the partitions of a job run that have already completed
+     *
+     * @param jobName   Job name
+     * @param groupName Job group name
+     * @param runId     Run id shared by the original fire and its retries
+     * @return completed partition numbers
+     */
+    public Set<Integer> getCompletedPartitions(String jobName, String groupName, long runId) {
+        return new TreeSet<>(jdbcTemplate.queryForList(SELECT_CHECKPOINTS_SQL, Integer.class, jobName, groupName,
+                runId));
+    }
+
+    /**
+     * Checkpoint a completed partition of a job run
+     */
+    public void markPartitionCompleted(String jobName, String groupName, long runId, int partition) {
+        jdbcTemplate.update(INSERT_CHECKPOINT_SQL, jobName, groupName, runId, partition,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Remove all checkpoints of a job run once it has completed or given up
+     */
+    public void clearPartitionCheckpoints(String jobName, String groupName, long runId) {
+        jdbcTemplate.update(DELETE_CHECKPOINTS_SQL, jobName, groupName, runId);
+    }
+
+    /**
+     * Stream execution history, oldest first, to a consumer through a forward-only JDBC cursor.
+     * Only the rows of the current fetch are held in memory, whatever the size of the table.
+     *
+     * @param jobName  Job name, all jobs when null
+     * @param jobGroup Job group name, all groups when null
+     * @param from     Oldest actual fire time to include, no lower bound when null
+     * @param to       Newest actual fire time to include, no upper bound when null
+     * @param consumer Called once per row on the calling thread
+     */
+    public void streamExecutionHistory(String jobName, String jobGroup, Instant from, Instant to,
+                                       Consumer<JobExecutionMetadata> consumer) {
+        StringBuilder sql = new StringBuilder("SELECT id, job_name, job_group, last_scheduled_time, " +
+                "actual_fire_time, next_fire_time, execution_time, bucket_day FROM DREAM_JOB_EXECUTION_METADATA " +
+                "WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (jobGroup != null) {
+            sql.append(" AND job_group = ?");
+            args.add(jobGroup);
+        }
+        if (jobName != null) {
+            sql.append(" AND job_name = ?");
+            args.add(jobName);
+        }
+        if (from != null) {
+            sql.append(" AND actual_fire_time >= ?");
+            args.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            sql.append(" AND actual_fire_time <= ?");
+            args.add(Timestamp.from(to));
+        }
+        sql.append(" ORDER BY actual_fire_time, id");
+
+        metadataJdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(JobExecutionMetadata.builder()
+                .id(rs.getLong("id"))
+                .jobName(rs.getString("job_name"))
+                .jobGroup(rs.getString("job_group"))
+                .lastScheduledTime(toInstant(rs.getTimestamp("last_scheduled_time")))
+                .actualFireTime(toInstant(rs.getTimestamp("actual_fire_time")))
+                .nextFireTime(toInstant(rs.getTimestamp("next_fire_time")))
+                .executionTime(toInstant(rs.getTimestamp("execution_time")))
+                .bucketDay(rs.getObject("bucket_day", Long.class))
+                .build()));
+    }
+
+    private static void bindUserControlInsert(PreparedStatement ps, JobUserControl control) throws SQLException {
+        ps.setString(1, control.getJobName());
+        ps.setString(2, control.getJobGroup());
+        ps.setTimestamp(3, toTimestamp(control.getLastScheduledTime()));
+        ps.setTimestamp(4, toTimestamp(control.getActualFireTime()));
+        ps.setTimestamp(5, toTimestamp(control.getNextFireTime()));
+        ps.setString(6, control.getStatus());
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
 }
@@ -0,0 +1,113 @@
+package com.ss.quartzScheduler.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ss.quartzScheduler.model.entity.JobExecutionMetadata;
+import com.ss.quartzScheduler.model.enums.ExportFormat;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes execution history straight from the database cursor to an output stream as NDJSON or CSV,
+ * one row at a time, so memory use does not depend on how many rows are exported.
+ */
+@Component
+public class ExecutionHistoryExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,job_name,job_group,last_scheduled_time,actual_fire_time," +
+            "next_fire_time,execution_time";
+
+    private final ObjectWriter rowWriter;
+
+    public ExecutionHistoryExporter(ObjectMapper objectMapper) {
+        this.rowWriter = objectMapper.writerFor(JobExecutionMetadata.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Export the execution history matching the filters, oldest first
+     *
+     * @param out Stream to write to; it is flushed but not closed
+     */
+    public long export(String jobName, String jobGroup, Instant from, Instant to, ExportFormat format, boolean gzip,
+                       OutputStream out) throws IOException {
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? gzipOut : out, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        long[] rows = {0};
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            DataBaseService.getInstance().streamExecutionHistory(jobName, jobGroup, from, to, row -> {
+                try {
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(writer, row);
+                    } else {
+                        rowWriter.writeValue(writer, row);
+                        writer.write('\n');
+                    }
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; stop reading the cursor
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        out.flush();
+        return rows[0];
+    }
+
+    private static void writeCsv(Writer writer, JobExecutionMetadata row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writeCsvField(writer, row.getJobName());
+        writer.write(',');
+        writeCsvField(writer, row.getJobGroup());
+        writer.write(',');
+        writeCsvField(writer, row.getLastScheduledTime());
+        writer.write(',');
+        writeCsvField(writer, row.getActualFireTime());
+        writer.write(',');
+        writeCsvField(writer, row.getNextFireTime());
+        writer.write(',');
+        writeCsvField(writer, row.getExecutionTime());
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,269 @@
+package com.ss.quartzScheduler.service;
+
+import com.ss.quartzScheduler.config.LedgerProperties;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable ledger of the steps completed by a job execution, backed by DREAM_EXECUTION_LEDGER and
+ * DREAM_EXECUTION_LEDGER_STEP.
+ * <p>
+ * A ledger is keyed by the fire instance id of the execution that started the work. Retries carry the ledger id
+ * in their trigger data. An execution recovered by Quartz after a node crash
+ * ({@link JobExecutionContext#isRecovering()}) finds it through the trigger and scheduled fire time of the failed
+ * fire, which the ledger keeps. Either way the execution resumes at the first step not completed yet.
+ * <p>
+ * Quartz only recovers executions that were inside {@code execute()}; work handed off to other threads is lost
+ * with its node and leaves its ledger open. Running ledgers are touched as their steps complete, so on startup
+ * a ledger not updated for {@code scheduler.ledger.resume-after-ms} belongs to a lost run, and its job is fired
+ * again with the ledger id in the trigger data.
+ */
+@Slf4j
+@Component
+public class ExecutionLedger {
+
+    // Trigger JobDataMap key of the ledger a retry continues
+    public static final String LEDGER_ID_KEY = "ledgerId";
+
+    private static final String SELECT_BY_FIRE_SQL = "SELECT LEDGER_ID FROM DREAM_EXECUTION_LEDGER " +
+            "WHERE TRIGGER_NAME = ? AND TRIGGER_GROUP = ? AND SCHEDULED_FIRE_TIME = ?";
+    private static final String INSERT_SQL = "INSERT INTO DREAM_EXECUTION_LEDGER (LEDGER_ID, JOB_NAME, JOB_GROUP, " +
+            "TRIGGER_NAME, TRIGGER_GROUP, SCHEDULED_FIRE_TIME, UPDATED_AT) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_FIRE_SQL = "UPDATE DREAM_EXECUTION_LEDGER SET TRIGGER_NAME = ?, " +
+            "TRIGGER_GROUP = ?, SCHEDULED_FIRE_TIME = ?, UPDATED_AT = ? WHERE LEDGER_ID = ?";
+    private static final String DELETE_SQL = "DELETE FROM DREAM_EXECUTION_LEDGER WHERE LEDGER_ID = ?";
+    private static final String SELECT_STEPS_SQL = "SELECT STEP FROM DREAM_EXECUTION_LEDGER_STEP WHERE LEDGER_ID = ?";
+    private static final String INSERT_STEP_SQL = "INSERT INTO DREAM_EXECUTION_LEDGER_STEP (LEDGER_ID, STEP, " +
+            "COMPLETED_AT) VALUES (?, ?, ?)";
+    private static final String DELETE_STEPS_SQL = "DELETE FROM DREAM_EXECUTION_LEDGER_STEP WHERE LEDGER_ID = ?";
+    private static final String TOUCH_SQL = "UPDATE DREAM_EXECUTION_LEDGER SET UPDATED_AT = ? WHERE LEDGER_ID = ?";
+    private static final String SELECT_STALE_SQL = "SELECT LEDGER_ID, JOB_NAME, JOB_GROUP, TRIGGER_NAME, " +
+            "TRIGGER_GROUP, SCHEDULED_FIRE_TIME FROM DREAM_EXECUTION_LEDGER WHERE UPDATED_AT < ?";
+    private static final String CLAIM_STALE_SQL = "UPDATE DREAM_EXECUTION_LEDGER SET UPDATED_AT = ? " +
+            "WHERE LEDGER_ID = ? AND UPDATED_AT < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerProperties properties;
+    private final ObjectProvider<SchedulerLanes> lanesProvider;
+
+    public ExecutionLedger(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                           LedgerProperties properties, ObjectProvider<SchedulerLanes> lanesProvider) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.lanesProvider = lanesProvider;
+    }
+
+    /**
+     * Open the ledger of an execution: the ledger of the execution it retries or recovers, or a new one
+     *
+     * @param context JobExecutionContext context
+     * @return the ledger with the steps completed so far
+     */
+    public Ledger open(JobExecutionContext context) {
+        JobDataMap triggerData = context.getTrigger().getJobDataMap();
+        String ledgerId = triggerData.getString(LEDGER_ID_KEY);
+        if (ledgerId == null && context.isRecovering()) {
+            ledgerId = findRecovered(triggerData);
+        }
+        boolean resuming = ledgerId != null;
+        if (!resuming) {
+            ledgerId = context.getFireInstanceId();
+        }
+
+        // Remember which fire works on the ledger, so the recovery of this fire finds it, and that it is running
+        JobDetail jobDetail = context.getJobDetail();
+        Trigger trigger = context.getTrigger();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long scheduledFireTime = context.getScheduledFireTime().getTime();
+        if (!resuming || jdbcTemplate.update(UPDATE_FIRE_SQL, trigger.getKey().getName(),
+                trigger.getKey().getGroup(), scheduledFireTime, now, ledgerId) == 0) {
+            jdbcTemplate.update(INSERT_SQL, ledgerId, jobDetail.getKey().getName(), jobDetail.getKey().getGroup(),
+                    trigger.getKey().getName(), trigger.getKey().getGroup(), scheduledFireTime, now);
+        }
+
+        Set<String> completed = resuming
+                ? Set.copyOf(jdbcTemplate.queryForList(SELECT_STEPS_SQL, String.class, ledgerId))
+                : Set.of();
+        if (!completed.isEmpty()) {
+            log.info("Execution of {} resumes ledger {} with {} completed steps", jobDetail.getKey(), ledgerId,
+                    completed.size());
+        }
+        return new Ledger(ledgerId, completed);
+    }
+
+    /**
+     * Find the ledger of the fire a recovering execution replays
+     */
+    private String findRecovered(JobDataMap triggerData) {
+        String triggerName = triggerData.getString(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_NAME);
+        String triggerGroup = triggerData.getString(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_GROUP);
+        String scheduledFireTime =
+                triggerData.getString(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_SCHEDULED_FIRETIME_IN_MILLISECONDS);
+        if (triggerName == null || triggerGroup == null || scheduledFireTime == null) {
+            return null;
+        }
+        List<String> ledgerIds = jdbcTemplate.queryForList(SELECT_BY_FIRE_SQL, String.class, triggerName,
+                triggerGroup, Long.parseLong(scheduledFireTime));
+        return ledgerIds.isEmpty() ? null : ledgerIds.get(0);
+    }
+
+    /**
+     * Fire the jobs of the ledgers left open by runs lost with their node again, so they resume at their first
+     * step not completed yet
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeStaleLedgers() {
+        if (properties.getResumeAfterMs() <= 0) {
+            return;
+        }
+        Timestamp staleBefore = Timestamp.valueOf(LocalDateTime.now().minus(
+                Duration.ofMillis(properties.getResumeAfterMs())));
+        List<StaleLedger> stale = jdbcTemplate.query(SELECT_STALE_SQL, (rs, rowNum) -> new StaleLedger(
+                rs.getString("LEDGER_ID"), JobKey.jobKey(rs.getString("JOB_NAME"), rs.getString("JOB_GROUP")),
+                rs.getString("TRIGGER_NAME"), rs.getString("TRIGGER_GROUP"), rs.getLong("SCHEDULED_FIRE_TIME")),
+                staleBefore);
+
+        int resumed = 0;
+        for (StaleLedger ledger : stale) {
+            try {
+                if (resume(ledger, staleBefore)) {
+                    resumed++;
+                }
+            } catch (SchedulerException e) {
+                log.error("Failed to resume execution ledger {} of {}", ledger.id(), ledger.jobKey(), e);
+            }
+        }
+        if (resumed > 0) {
+            log.info("Resumed {} execution ledgers left open by lost runs", resumed);
+        }
+    }
+
+    /**
+     * Fire the job of a stale ledger with the ledger id, unless a pending fire already continues the ledger
+     *
+     * @return true if the job was fired
+     */
+    private boolean resume(StaleLedger ledger, Timestamp staleBefore) throws SchedulerException {
+        Scheduler scheduler = lanesProvider.getObject().find(ledger.jobKey());
+        if (scheduler == null) {
+            log.warn("Job {} of execution ledger {} no longer exists, removing the ledger", ledger.jobKey(),
+                    ledger.id());
+            new Ledger(ledger.id(), Set.of()).close();
+            return false;
+        }
+        for (Trigger trigger : scheduler.getTriggersOfJob(ledger.jobKey())) {
+            if (ledger.continuedBy(trigger.getJobDataMap())) {
+                return false;
+            }
+        }
+
+        // Nodes starting at the same time resume the ledger once
+        if (jdbcTemplate.update(CLAIM_STALE_SQL, Timestamp.valueOf(LocalDateTime.now()), ledger.id(),
+                staleBefore) == 0) {
+            return false;
+        }
+        JobDataMap resumeData = new JobDataMap();
+        resumeData.put(LEDGER_ID_KEY, ledger.id());
+        scheduler.triggerJob(ledger.jobKey(), resumeData);
+        log.info("Fired {} to resume execution ledger {} left open by a lost run", ledger.jobKey(), ledger.id());
+        return true;
+    }
+
+    /**
+     * Ledger of one execution and the steps its earlier executions completed
+     */
+    public class Ledger {
+
+        private final String id;
+        private final Set<String> completed;
+
+        // When the ledger row was last touched, in epoch milliseconds
+        private final AtomicLong touchedAt = new AtomicLong(System.currentTimeMillis());
+
+        private Ledger(String id, Set<String> completed) {
+            this.id = id;
+            this.completed = completed;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Check if a step was completed by an earlier execution of this ledger
+         */
+        public boolean isCompleted(String step) {
+            return completed.contains(step);
+        }
+
+        /**
+         * Record a completed step, and touch the ledger now and then so it is not taken for a lost run
+         */
+        public void complete(String step) {
+            try {
+                jdbcTemplate.update(INSERT_STEP_SQL, id, step, Timestamp.valueOf(LocalDateTime.now()));
+            } catch (DuplicateKeyException e) {
+                // Completed again after a crash between the step and its record
+                log.debug("Step {} of ledger {} was already recorded", step, id);
+            }
+
+            long now = System.currentTimeMillis();
+            long touched = touchedAt.get();
+            if (now - touched >= properties.getResumeAfterMs() / 4 && touchedAt.compareAndSet(touched, now)) {
+                jdbcTemplate.update(TOUCH_SQL, Timestamp.valueOf(LocalDateTime.now()), id);
+            }
+        }
+
+        /**
+         * Remove the ledger once the work is done or given up
+         */
+        public void close() {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(DELETE_STEPS_SQL, id);
+                jdbcTemplate.update(DELETE_SQL, id);
+            });
+        }
+    }
+
+    /**
+     * Open ledger not updated for too long, with the fire that last worked on it
+     */
+    private record StaleLedger(String id, JobKey jobKey, String triggerName, String triggerGroup,
+                               long scheduledFireTime) {
+
+        /**
+         * Tell whether a pending fire continues the ledger: a retry carrying its id, or the Quartz recovery of
+         * the fire that last worked on it
+         */
+        boolean continuedBy(JobDataMap triggerData) {
+            return id.equals(triggerData.get(LEDGER_ID_KEY))
+                    || triggerName.equals(triggerData.get(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_NAME))
+                    && triggerGroup.equals(triggerData.get(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_GROUP))
+                    && String.valueOf(scheduledFireTime).equals(triggerData.get(
+                    Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_SCHEDULED_FIRETIME_IN_MILLISECONDS));
+        }
+    }
+}
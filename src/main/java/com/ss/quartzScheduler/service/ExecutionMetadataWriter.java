@@ -0,0 +1,239 @@
+package com.ss.quartzScheduler.service;
+
+import com.ss.quartzScheduler.config.DataSourceConfig;
+import com.ss.quartzScheduler.model.entity.JobExecutionMetadata;
+import com.ss.quartzScheduler.model.enums.OverflowPolicy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Asynchronous writer for DREAM_JOB_EXECUTION_METADATA.
+ * Job threads only enqueue rows; a dedicated flusher thread writes them as JDBC batch inserts
+ * once the batch is full or the flush interval has elapsed, whichever comes first.
+ * Writes go through the execution metadata connection pool.
+ */
+@Slf4j
+@Component
+public class ExecutionMetadataWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO DREAM_JOB_EXECUTION_METADATA " +
+            "(job_name, job_group, last_scheduled_time, actual_fire_time, next_fire_time, execution_time, bucket_day) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<JobExecutionMetadata> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread flusher;
+
+    // Metrics
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    // Held shared while queueing and exclusively while closing the queue on shutdown
+    private final ReadWriteLock queueLock = new ReentrantReadWriteLock();
+
+    private volatile boolean running = true;
+
+    public ExecutionMetadataWriter(@Qualifier(DataSourceConfig.EXECUTION_METADATA_DATA_SOURCE) DataSource dataSource,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${scheduler.metadata-writer.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${scheduler.metadata-writer.batch-size:500}") int batchSize,
+                                   @Value("${scheduler.metadata-writer.flush-interval-ms:1000}") long flushIntervalMs,
+                                   @Value("${scheduler.metadata-writer.overflow-policy:CALLER_RUNS}") OverflowPolicy overflowPolicy) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.overflowPolicy = overflowPolicy;
+        this.flusher = new Thread(this::runFlusher, "execution-metadata-flusher");
+        this.flusher.setDaemon(true);
+
+        Gauge.builder("scheduler.metadata.queue.depth", queue, BlockingQueue::size)
+                .description("Execution metadata rows waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("scheduler.metadata.flush.latency")
+                .description("Time taken to write one batch of execution metadata")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("scheduler.metadata.flush.batch.size")
+                .description("Rows written per execution metadata batch")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("scheduler.metadata.dropped")
+                .description("Execution metadata rows dropped because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("scheduler.metadata.failed")
+                .description("Execution metadata rows that could not be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.start();
+        log.info("Execution metadata writer started (queueCapacity={}, batchSize={}, flushIntervalMs={}, " +
+                "overflowPolicy={})", queue.remainingCapacity(), batchSize, flushIntervalMs, overflowPolicy);
+    }
+
+    /**
+     * Stop the flusher and write everything still queued.
+     * The queue is closed under the write lock first, so no row can be queued after the final drain.
+     */
+    @PreDestroy
+    public void shutdown() {
+        queueLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            queueLock.writeLock().unlock();
+        }
+        try {
+            flusher.join(flushIntervalMs * 2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<JobExecutionMetadata> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            flush(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        log.info("Execution metadata writer stopped, flushed {} remaining rows", remaining.size());
+    }
+
+    /**
+     * Queue a row for writing. When the queue is full the configured overflow policy applies.
+     *
+     * @param metadata execution metadata row
+     */
+    public void write(JobExecutionMetadata metadata) {
+        boolean queued;
+        queueLock.readLock().lock();
+        try {
+            queued = running && enqueue(metadata);
+        } finally {
+            queueLock.readLock().unlock();
+        }
+
+        if (!queued) {
+            // Writer is shut down, or the caller runs the write; write directly so nothing is lost
+            flush(List.of(metadata));
+        }
+    }
+
+    /**
+     * Queue a row, applying the overflow policy when the queue is full
+     *
+     * @return false if the caller has to write the row itself
+     */
+    private boolean enqueue(JobExecutionMetadata metadata) {
+        return switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(metadata);
+                    yield true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    yield false;
+                }
+            }
+            case DROP -> {
+                if (!queue.offer(metadata)) {
+                    droppedCounter.increment();
+                    log.warn("Execution metadata queue full, dropped row for {}.{}", metadata.getJobName(),
+                            metadata.getJobGroup());
+                }
+                yield true;
+            }
+            case CALLER_RUNS -> queue.offer(metadata);
+        };
+    }
+
+    /**
+     * Flusher loop: waits for the first row, then collects more until the batch is full or the
+     * flush interval measured from the first row has elapsed.
+     */
+    private void runFlusher() {
+        List<JobExecutionMetadata> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                JobExecutionMetadata first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remainingNanos <= 0) {
+                        break;
+                    }
+                    JobExecutionMetadata next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<JobExecutionMetadata> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, meta) -> {
+                ps.setString(1, meta.getJobName());
+                ps.setString(2, meta.getJobGroup());
+                ps.setTimestamp(3, toTimestamp(meta.getLastScheduledTime()));
+                ps.setTimestamp(4, toTimestamp(meta.getActualFireTime()));
+                ps.setTimestamp(5, toTimestamp(meta.getNextFireTime()));
+                ps.setTimestamp(6, toTimestamp(meta.getExecutionTime()));
+                ps.setLong(7, meta.getBucketDay());
+            });
+            batchSizeSummary.record(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to write {} execution metadata rows", batch.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timestamp toTimestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+}
@@ -0,0 +1,238 @@
+package com.ss.quartzScheduler.service;
+
+import com.ss.quartzScheduler.model.entity.JobUserControl;
+import com.ss.quartzScheduler.repository.JobUserControlRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind cache for job status rows in DREAM_JOB_USER_CONTROL.
+ * Status transitions update the cached row in memory and mark it dirty; a background flusher
+ * writes only the latest state of each dirty job to the database on a fixed interval.
+ * Reads are answered from the cache and only go to the database on a miss; a job without a stored row is
+ * remembered as absent until its first transition.
+ */
+@Slf4j
+@Component
+public class JobStatusCache {
+
+    // Cached for jobs without a stored row
+    private static final Entry ABSENT = new Entry(null, true);
+
+    private final JobUserControlRepository userControlRepository;
+    private final Consumer<List<JobUserControl>> batchWriter;
+    private final long flushIntervalMs;
+    private final Map<JobKey, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<JobKey> dirtyKeys = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "job-status-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Metrics
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+
+    @Autowired
+    public JobStatusCache(JobUserControlRepository userControlRepository, MeterRegistry meterRegistry,
+                          @Value("${scheduler.status-cache.flush-interval-ms:2000}") long flushIntervalMs) {
+        this(userControlRepository, batch -> DataBaseService.getInstance().writeJobUserDataBatch(batch),
+                meterRegistry, flushIntervalMs);
+    }
+
+    /**
+     * @param batchWriter Writes a batch of dirty rows, inserting the ones not stored yet
+     */
+    public JobStatusCache(JobUserControlRepository userControlRepository,
+                          Consumer<List<JobUserControl>> batchWriter, MeterRegistry meterRegistry,
+                          long flushIntervalMs) {
+        this.userControlRepository = userControlRepository;
+        this.batchWriter = batchWriter;
+        this.flushIntervalMs = flushIntervalMs;
+
+        Gauge.builder("scheduler.status.cache.size", entries, Map::size)
+                .description("Jobs held in the status cache")
+                .register(meterRegistry);
+        Gauge.builder("scheduler.status.cache.dirty", dirtyKeys, Set::size)
+                .description("Jobs with status changes not yet written to the database")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("scheduler.status.cache.hits").register(meterRegistry);
+        this.missCounter = Counter.builder("scheduler.status.cache.misses").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("scheduler.status.cache.coalesced")
+                .description("Status transitions merged into a pending write")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushIntervalMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+    }
+
+    /**
+     * Get the status row of a job, loading it from the database only on a cache miss.
+     *
+     * @param jobName  Job name
+     * @param jobGroup Job group name
+     * @return copy of the cached row, or empty if the job has no status yet
+     */
+    public Optional<JobUserControl> get(String jobName, String jobGroup) {
+        JobKey key = new JobKey(jobName, jobGroup);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.complete()) {
+            hitCounter.increment();
+            return entry.control() != null ? Optional.of(copy(entry.control())) : Optional.empty();
+        }
+
+        missCounter.increment();
+        Optional<JobUserControl> stored = userControlRepository.findByJobNameAndJobGroup(jobName, jobGroup);
+        if (stored.isEmpty() && entry == null) {
+            // Remember the absence, unless a transition was recorded meanwhile
+            entries.putIfAbsent(key, ABSENT);
+            return Optional.empty();
+        }
+
+        // Pending in-memory values win over the stored row
+        Entry merged = entries.compute(key, (k, current) -> {
+            JobUserControl base = stored.map(JobStatusCache::copy).orElseGet(() -> JobUserControl.builder()
+                    .jobName(jobName).jobGroup(jobGroup).build());
+            if (current != null) {
+                apply(base, current.control().getLastScheduledTime(), current.control().getActualFireTime(),
+                        current.control().getNextFireTime(), current.control().getStatus());
+            }
+            return new Entry(base, true);
+        });
+        return Optional.of(copy(merged.control()));
+    }
+
+    /**
+     * Record a status transition. Null timestamps keep the previously known value.
+     */
+    public void record(String jobName, String jobGroup, LocalDateTime lastScheduledTime,
+                       LocalDateTime actualFireTime, LocalDateTime nextFireTime, String status) {
+        JobKey key = new JobKey(jobName, jobGroup);
+        entries.compute(key, (k, current) -> {
+            JobUserControl control = current != null && current.control() != null ? copy(current.control())
+                    : JobUserControl.builder().jobName(jobName).jobGroup(jobGroup).build();
+            apply(control, lastScheduledTime, actualFireTime, nextFireTime, status);
+            // A job known to have no stored row is complete with just this transition
+            return new Entry(control, current != null && current.complete());
+        });
+        if (!dirtyKeys.add(key)) {
+            coalescedCounter.increment();
+        }
+    }
+
+    /**
+     * Record status transitions for many jobs at once.
+     */
+    public void recordAll(List<JobUserControl> controls) {
+        for (JobUserControl control : controls) {
+            record(control.getJobName(), control.getJobGroup(), control.getLastScheduledTime(),
+                    control.getActualFireTime(), control.getNextFireTime(), control.getStatus());
+        }
+    }
+
+    /**
+     * Write the latest state of every dirty job to the database in one batch.
+     */
+    public void flush() {
+        if (dirtyKeys.isEmpty()) {
+            return;
+        }
+
+        List<JobKey> flushedKeys = new ArrayList<>();
+        List<JobUserControl> batch = new ArrayList<>();
+        for (JobKey key : dirtyKeys) {
+            // Remove before reading, so a transition racing with the flush marks the key dirty again
+            dirtyKeys.remove(key);
+            Entry entry = entries.get(key);
+            if (entry != null && entry.control() != null) {
+                flushedKeys.add(key);
+                batch.add(copy(entry.control()));
+            }
+        }
+
+        try {
+            batchWriter.accept(batch);
+        } catch (RuntimeException e) {
+            dirtyKeys.addAll(flushedKeys);
+            throw e;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Failed to flush job status cache, will retry", e);
+        }
+    }
+
+    private static void apply(JobUserControl control, LocalDateTime lastScheduledTime,
+                              LocalDateTime actualFireTime, LocalDateTime nextFireTime, String status) {
+        if (lastScheduledTime != null) {
+            control.setLastScheduledTime(lastScheduledTime);
+        }
+        if (actualFireTime != null) {
+            control.setActualFireTime(actualFireTime);
+        }
+        if (nextFireTime != null) {
+            control.setNextFireTime(nextFireTime);
+        }
+        if (status != null) {
+            control.setStatus(status);
+        }
+    }
+
+    private static JobUserControl copy(JobUserControl control) {
+        return JobUserControl.builder()
+                .id(control.getId())
+                .jobName(control.getJobName())
+                .jobGroup(control.getJobGroup())
+                .lastScheduledTime(control.getLastScheduledTime())
+                .actualFireTime(control.getActualFireTime())
+                .nextFireTime(control.getNextFireTime())
+                .status(control.getStatus())
+                .build();
+    }
+
+    /**
+     * Cached row; complete is true once the stored row has been merged in, so reads can skip the database.
+     * The row is null for a job known to have none.
+     */
+    private record Entry(JobUserControl control, boolean complete) {
+    }
+}
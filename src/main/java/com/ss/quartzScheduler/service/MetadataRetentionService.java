@@ -0,0 +1,185 @@
+package com.ss.quartzScheduler.service;
+
+import com.ss.quartzScheduler.config.DataSourceConfig;
+import com.ss.quartzScheduler.config.LaneProperties;
+import com.ss.quartzScheduler.config.RetentionProperties;
+import com.ss.quartzScheduler.job.MetadataHousekeepingJob;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import com.ss.quartzScheduler.model.enums.RetentionAction;
+import com.ss.quartzScheduler.model.enums.RetentionBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Removes expired execution metadata according to the retention policy of each job group.
+ * <p>
+ * Rows carry the UTC day of their fire time in BUCKET_DAY. A policy expires whole day or week buckets,
+ * and rows are deleted or archived in bounded batches. Each batch is its own short transaction, so the
+ * writer never waits behind one large DELETE. Batches run on the execution metadata connection pool.
+ */
+@Slf4j
+@Component
+public class MetadataRetentionService {
+
+    private static final JobKey HOUSEKEEPING_JOB_KEY = JobKey.jobKey("metadataHousekeeping", "housekeeping");
+
+    private static final String SELECT_GROUPS_SQL = "SELECT DISTINCT job_group FROM DREAM_JOB_EXECUTION_METADATA";
+    private static final String SELECT_EXPIRED_IDS_SQL = "SELECT id FROM DREAM_JOB_EXECUTION_METADATA " +
+            "WHERE job_group = ? AND bucket_day < ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final String ARCHIVE_SQL = "INSERT INTO DREAM_JOB_EXECUTION_METADATA_ARCHIVE (id, job_name, " +
+            "job_group, last_scheduled_time, actual_fire_time, next_fire_time, execution_time, bucket_day, archived_at) " +
+            "SELECT id, job_name, job_group, last_scheduled_time, actual_fire_time, next_fire_time, execution_time, " +
+            "bucket_day, CURRENT_TIMESTAMP FROM DREAM_JOB_EXECUTION_METADATA WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM DREAM_JOB_EXECUTION_METADATA WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LaneProperties laneProperties;
+    private final ObjectProvider<SchedulerLanes> lanesProvider;
+
+    public MetadataRetentionService(@Qualifier(DataSourceConfig.EXECUTION_METADATA_DATA_SOURCE) DataSource dataSource,
+                                    RetentionProperties properties, MeterRegistry meterRegistry,
+                                    LaneProperties laneProperties, ObjectProvider<SchedulerLanes> lanesProvider) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.laneProperties = laneProperties;
+        this.lanesProvider = lanesProvider;
+    }
+
+    /**
+     * Schedule or remove the housekeeping job in the housekeeping lane once the schedulers are running
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleHousekeeping() throws SchedulerException {
+        SchedulerLanes lanes = lanesProvider.getObject();
+        Scheduler scheduler = lanes.routeOrDefault(laneProperties.getHousekeepingLane(), HOUSEKEEPING_JOB_KEY);
+
+        // Remove it from any other lane it was scheduled in before
+        Scheduler current = lanes.find(HOUSEKEEPING_JOB_KEY);
+        if (current != null && (current != scheduler || !properties.isEnabled())) {
+            current.deleteJob(HOUSEKEEPING_JOB_KEY);
+        }
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        JobDetail jobDetail = JobBuilder.newJob(MetadataHousekeepingJob.class).withIdentity(HOUSEKEEPING_JOB_KEY)
+                .withDescription("Execution metadata retention").storeDurably(true).build();
+        Trigger trigger = TriggerBuilder.newTrigger().forJob(jobDetail)
+                .withIdentity(HOUSEKEEPING_JOB_KEY.getName() + "Trigger", HOUSEKEEPING_JOB_KEY.getGroup())
+                .withSchedule(CronScheduleBuilder.cronSchedule(properties.getCron())
+                        .withMisfireHandlingInstructionFireAndProceed())
+                .build();
+        scheduler.scheduleJob(jobDetail, Set.of(trigger), true);
+        log.info("Scheduled execution metadata housekeeping with cron {}", properties.getCron());
+    }
+
+    /**
+     * Remove expired execution metadata of every job group
+     *
+     * @return number of rows removed
+     */
+    public long purgeExpired() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        long total = 0;
+        for (String jobGroup : jdbcTemplate.queryForList(SELECT_GROUPS_SQL, String.class)) {
+            total += purgeGroup(jobGroup, properties.policyFor(jobGroup), today);
+        }
+        return total;
+    }
+
+    /**
+     * Remove the buckets of a job group that are older than its policy allows, one batch per transaction
+     */
+    long purgeGroup(String jobGroup, RetentionProperties.Policy policy, LocalDate today) {
+        long cutoffBucket = cutoffBucketDay(policy, today);
+        int batchSize = properties.getBatchSize();
+        Counter removedCounter = Counter.builder("scheduler.retention.removed")
+                .description("Execution metadata rows removed by housekeeping")
+                .tags("job.group", jobGroup, "action", policy.getAction().name())
+                .register(meterRegistry);
+
+        long removed = 0;
+        int batchRemoved;
+        do {
+            Integer count = transactionTemplate.execute(status -> removeBatch(jobGroup, cutoffBucket, batchSize,
+                    policy.getAction()));
+            batchRemoved = count != null ? count : 0;
+            removed += batchRemoved;
+            removedCounter.increment(batchRemoved);
+        } while (batchRemoved == batchSize && pause());
+
+        if (removed > 0) {
+            log.info("Housekeeping {} {} execution metadata rows of group {} before bucket day {}",
+                    policy.getAction() == RetentionAction.ARCHIVE ? "archived" : "deleted", removed, jobGroup,
+                    LocalDate.ofEpochDay(cutoffBucket));
+        }
+        return removed;
+    }
+
+    /**
+     * First UTC epoch day that is kept; WEEK policies round down to the Monday so only whole weeks expire
+     */
+    static long cutoffBucketDay(RetentionProperties.Policy policy, LocalDate today) {
+        LocalDate cutoff = today.minusDays(policy.getDays());
+        if (policy.getBucket() == RetentionBucket.WEEK) {
+            cutoff = cutoff.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+        return cutoff.toEpochDay();
+    }
+
+    private int removeBatch(String jobGroup, long cutoffBucket, int batchSize, RetentionAction action) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_EXPIRED_IDS_SQL, Long.class, jobGroup, cutoffBucket,
+                batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (action == RetentionAction.ARCHIVE) {
+            jdbcTemplate.batchUpdate(ARCHIVE_SQL, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+        return ids.size();
+    }
+
+    private boolean pause() {
+        if (properties.getBatchPauseMs() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getBatchPauseMs());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
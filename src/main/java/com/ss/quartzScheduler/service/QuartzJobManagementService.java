@@ -1,65 +1,113 @@
 package com.ss.quartzScheduler.service;
 
+import com.ss.quartzScheduler.config.LaneProperties;
 import com.ss.quartzScheduler.job.ADRJob;
 import com.ss.quartzScheduler.job.JobResumeJob;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
 import com.ss.quartzScheduler.model.SuspensionInfo;
+import com.ss.quartzScheduler.model.dto.ExecutionHistoryPage;
+import com.ss.quartzScheduler.model.dto.JobScheduleRequest;
+import com.ss.quartzScheduler.model.dto.JobScheduleResult;
+import com.ss.quartzScheduler.model.entity.JobUserControl;
 import com.ss.quartzScheduler.model.enums.JobStatus;
 import com.ss.quartzScheduler.model.enums.SuspensionType;
 import com.ss.quartzScheduler.util.CronUtil;
 import org.quartz.*;
+import org.quartz.impl.matchers.GroupMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.Set;
 
 import static com.ss.quartzScheduler.util.CronUtil.*;
 
 /**
  * Service for managing Quartz jobs, including scheduling, triggering,
  * suspending (temporarily and permanently), resuming, and extending suspensions.
- * It also maintains job suspension states in memory.
+ * Job suspension states are kept in the cluster-wide {@link SuspensionRegistry}.
  */
 @Service
 public class QuartzJobManagementService {
 
     private static final Logger logger = LoggerFactory.getLogger(QuartzJobManagementService.class);
 
+    // Largest execution history page returned in one request
+    public static final int MAX_HISTORY_PAGE_SIZE = 500;
+
+    @Autowired
+    private SchedulerLanes schedulerLanes;
+
     @Autowired
-    private Scheduler scheduler;
-    private final Map<String, SuspensionInfo> suspendedJobs = new ConcurrentHashMap<>();
+    private LaneProperties laneProperties;
+
+    @Autowired
+    private SuspensionRegistry suspensionRegistry;
 
     /**
-     * Schedule a job with a CRON expression
+     * Schedule a job with a CRON expression in the default lane
      */
     public void scheduleJob(String jobName, String cronExpression) throws SchedulerException {
+        scheduleJob(jobName, cronExpression, null);
+    }
+
+    /**
+     * Schedule a job with a CRON expression in an execution lane
+     *
+     * @param lane lane whose worker threads run the job, the default lane when null
+     */
+    public void scheduleJob(String jobName, String cronExpression, String lane) throws SchedulerException {
+        scheduleJob(jobName, cronExpression, lane, null);
+    }
+
+    /**
+     * Schedule a job with a CRON expression in an execution lane, skipping the times a calendar excludes
+     *
+     * @param lane         lane whose worker threads run the job, the default lane when null
+     * @param calendarName holiday or business calendar of the trigger, none when null
+     * @return next fire time of the job, outside the times the calendar excludes
+     */
+    public LocalDateTime scheduleJob(String jobName, String cronExpression, String lane, String calendarName)
+            throws SchedulerException {
+        JobKey jobKey = new JobKey(jobName, GROUP_NAME);
+        Scheduler scheduler = schedulerLanes.route(lane, jobKey);
         try {
 //            jobName = SCHEDULED_JOB_NAME;
-            JobKey jobKey = new JobKey(jobName, GROUP_NAME);
 
-            // Delete existing job if it exists
-            if (scheduler.checkExists(jobKey)) {
-                scheduler.deleteJob(jobKey);
+            // Fail before removing the existing job
+            if (calendarName != null && scheduler.getCalendar(calendarName) == null) {
+                throw new SchedulerException("Calendar not found: " + calendarName);
+            }
+
+            // Delete existing job if it exists, in whichever lane and shard it was scheduled
+            Scheduler existing = schedulerLanes.find(jobKey);
+            if (existing != null) {
+                existing.deleteJob(jobKey);
                 logger.info("Deleted existing job: {}", jobName);
             }
 
             // Create new job
-            JobDetail jobDetail = JobBuilder.newJob(ADRJob.class).withIdentity(jobKey).withDescription("Dynamic " +
-                    "timestamp job").storeDurably(true).requestRecovery(true).build();
+            JobDetail jobDetail = buildCronJobDetail(jobKey, new JobDataMap());
 
             // Create trigger
-            Trigger trigger = TriggerBuilder.newTrigger().forJob(jobDetail).withIdentity(jobName + "Trigger",
-                    GROUP_NAME).withSchedule(CronScheduleBuilder.cronSchedule(cronExpression).withMisfireHandlingInstructionFireAndProceed()).build();
+            Trigger trigger = buildCronTrigger(jobDetail, cronExpression, calendarName);
 
             scheduler.scheduleJob(jobDetail, trigger);
-            logger.info("Scheduled job: {} with cron: {} | {}", jobName, cronExpression,
-                    CronUtil.decodeCron(cronExpression));
+            logger.info("Scheduled job: {} in {} with cron: {} | {}", jobName, scheduler.getSchedulerName(),
+                    cronExpression, CronUtil.decodeCron(cronExpression));
 
             // Update job user data in database
             DataBaseService.getInstance().storeJobUserData(jobName, GROUP_NAME,
@@ -67,6 +115,7 @@ public class QuartzJobManagementService {
                     // Will not be available until job actually fires
                     convertToLocalDateTime(trigger.getNextFireTime()), JobStatus.SCHEDULED.name());
 
+            return convertToLocalDateTime(trigger.getNextFireTime());
 
         } catch (Exception e) {
             logger.error("Failed to schedule job: {}", jobName, e);
@@ -75,10 +124,117 @@ public class QuartzJobManagementService {
     }
 
     /**
-     * Trigger a job immediately
+     * Schedule a batch of jobs with one scheduler transaction per lane shard.
+     * CRON expressions are generated and validated in parallel, the valid jobs of each shard are committed with
+     * one {@link Scheduler#scheduleJobs(Map, boolean)} call, and the user control rows are written as a JDBC batch.
+     *
+     * @param requests jobs to schedule
+     * @param replace  replace jobs that already exist, also moving them between lanes and shards; if false the
+     *                 jobs of a shard fail when any of them exists
+     * @return per-item results in the order of the requests
+     */
+    public List<JobScheduleResult> scheduleJobs(List<JobScheduleRequest> requests, boolean replace) {
+        // Generate and validate CRON expressions in parallel, keeping the request order
+        List<PreparedJob> prepared = requests.parallelStream().map(QuartzJobManagementService::prepareJob).toList();
+
+        Map<Scheduler, Map<JobDetail, Set<? extends Trigger>>> jobsByShard = new LinkedHashMap<>();
+        Set<String> seenJobNames = new HashSet<>();
+        JobScheduleResult[] results = new JobScheduleResult[prepared.size()];
+        Trigger[] triggers = new Trigger[prepared.size()];
+        Scheduler[] shards = new Scheduler[prepared.size()];
+        // Calendars found in each shard, so one missing calendar fails its jobs instead of the whole shard
+        Map<Scheduler, Map<String, Boolean>> shardCalendars = new HashMap<>();
+
+        for (int i = 0; i < prepared.size(); i++) {
+            PreparedJob job = prepared.get(i);
+            String lane = job.lane() != null && !job.lane().isBlank() ? job.lane() : schedulerLanes.getDefaultLane();
+            if (job.error() != null) {
+                results[i] = JobScheduleResult.failed(job.jobName(), job.cronExpression(), job.error());
+            } else if (!schedulerLanes.getLaneNames().contains(lane)) {
+                results[i] = JobScheduleResult.failed(job.jobName(), job.cronExpression(), "Unknown lane: " + lane);
+            } else if (!seenJobNames.add(job.jobName())) {
+                results[i] = JobScheduleResult.failed(job.jobName(), job.cronExpression(),
+                        "Duplicate job name in batch");
+            } else {
+                JobDetail jobDetail = buildCronJobDetail(new JobKey(job.jobName(), GROUP_NAME), job.jobData());
+                Scheduler shard = schedulerLanes.routeOrDefault(lane, jobDetail.getKey());
+                String calendarError = calendarError(shard, job.calendarName(), shardCalendars);
+                if (calendarError != null) {
+                    results[i] = JobScheduleResult.failed(job.jobName(), job.cronExpression(), calendarError);
+                    continue;
+                }
+                triggers[i] = buildCronTrigger(jobDetail, job.cronExpression(), job.calendarName());
+                shards[i] = shard;
+                jobsByShard.computeIfAbsent(shards[i], key -> new LinkedHashMap<>())
+                        .put(jobDetail, Set.of(triggers[i]));
+            }
+        }
+
+        for (Map.Entry<Scheduler, Map<JobDetail, Set<? extends Trigger>>> shardJobs : jobsByShard.entrySet()) {
+            Scheduler shard = shardJobs.getKey();
+            String shardName = schedulerName(shard);
+            try {
+                // Jobs moving from another shard are only removed there once they are committed in this one
+                Map<Scheduler, List<JobKey>> moved = findInOtherShards(shard, shardJobs.getValue().keySet(), replace);
+                shard.scheduleJobs(shardJobs.getValue(), replace);
+                logger.info("Scheduled {} jobs in {} in one batch (replace={})", shardJobs.getValue().size(),
+                        shardName, replace);
+                removeFromOtherShards(shard, moved);
+            } catch (SchedulerException e) {
+                logger.error("Failed to schedule batch of {} jobs in {}", shardJobs.getValue().size(), shardName, e);
+                for (int i = 0; i < prepared.size(); i++) {
+                    if (results[i] == null && shards[i] == shard) {
+                        results[i] = JobScheduleResult.failed(prepared.get(i).jobName(),
+                                prepared.get(i).cronExpression(), "Batch scheduling failed: " + e.getMessage());
+                    }
+                }
+            }
+        }
+
+        // Record user control rows for the committed jobs in one JDBC batch
+        List<JobUserControl> controls = new ArrayList<>();
+        for (int i = 0; i < prepared.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            PreparedJob job = prepared.get(i);
+            results[i] = JobScheduleResult.scheduled(job.jobName(), job.cronExpression(),
+                    convertToLocalDateTime(triggers[i].getNextFireTime()));
+            controls.add(JobUserControl.builder()
+                    .jobName(job.jobName())
+                    .jobGroup(GROUP_NAME)
+                    .nextFireTime(convertToLocalDateTime(triggers[i].getNextFireTime()))
+                    .status(JobStatus.SCHEDULED.name())
+                    .build());
+        }
+
+        if (controls.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        try {
+            DataBaseService.getInstance().storeJobUserDataBatch(controls);
+        } catch (Exception e) {
+            logger.error("Failed to store job user data for batch of {} jobs", controls.size(), e);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Trigger a job immediately in the default lane
      */
     public void triggerJob(String jobName, String groupName) throws SchedulerException {
-        JobKey jobKey = JobKey.jobKey(jobName, groupName);
+        triggerJob(jobName, groupName, null);
+    }
+
+    /**
+     * Trigger a job immediately
+     *
+     * @param lane lane whose worker threads run the job, the default lane when null
+     */
+    public void triggerJob(String jobName, String groupName, String lane) throws SchedulerException {
+        Scheduler scheduler = schedulerLanes.route(lane, JobKey.jobKey(JOB_NAME, GROUP_NAME));
 
         if (isJobSuspended(jobName, groupName)) {
             throw new SchedulerException("Cannot trigger suspended job: " + jobName + "." + groupName);
@@ -93,7 +249,7 @@ public class QuartzJobManagementService {
                         .startNow().withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionNextWithRemainingCount()).build();
 
         // Schedule job with Quartz
-        if (!scheduler.checkExists(jobDetail.getKey())) {
+        if (schedulerLanes.find(jobDetail.getKey()) == null) {
             scheduler.scheduleJob(jobDetail, trigger);
             logger.info("Job triggered: {}.{}", jobName, groupName);
         } else {
@@ -112,8 +268,9 @@ public class QuartzJobManagementService {
      */
     public void suspendJobTemporary(String jobName, String groupName, LocalDateTime resumeDateTime) throws SchedulerException {
         JobKey jobKey = JobKey.jobKey(jobName, groupName);
+        Scheduler scheduler = schedulerLanes.find(jobKey);
 
-        if (!scheduler.checkExists(jobKey)) {
+        if (scheduler == null) {
             throw new SchedulerException("Job does not exist: " + jobName + "." + groupName);
         }
 
@@ -125,13 +282,12 @@ public class QuartzJobManagementService {
                 JobStatus.SUSPENDED_TEMP.name());
 
         // Store suspension info
-        String suspensionKey = jobName + "." + groupName;
         SuspensionInfo suspensionInfo = new SuspensionInfo(SuspensionType.TEMPORARY, LocalDateTime.now(),
                 resumeDateTime, "Temporary suspension");
-        suspendedJobs.put(suspensionKey, suspensionInfo);
+        suspensionRegistry.suspend(jobName, groupName, suspensionInfo);
 
         // Schedule automatic resume
-        scheduleJobResume(jobName, groupName, resumeDateTime);
+        scheduleJobResume(jobName, groupName, scheduler.getSchedulerName(), resumeDateTime);
 
         logger.info("Job suspended temporarily until {}: {}.{}", resumeDateTime, jobName, groupName);
     }
@@ -141,8 +297,9 @@ public class QuartzJobManagementService {
      */
     public void suspendJobPermanently(String jobName, String groupName, String reason) throws SchedulerException {
         JobKey jobKey = JobKey.jobKey(jobName, groupName);
+        Scheduler scheduler = schedulerLanes.find(jobKey);
 
-        if (!scheduler.checkExists(jobKey)) {
+        if (scheduler == null) {
             throw new SchedulerException("Job does not exist: " + jobName + "." + groupName);
         }
 
@@ -154,10 +311,9 @@ public class QuartzJobManagementService {
                 JobStatus.SUSPENDED_PERM.name());
 
         // Store suspension info
-        String suspensionKey = jobName + "." + groupName;
         SuspensionInfo suspensionInfo = new SuspensionInfo(SuspensionType.PERMANENT, LocalDateTime.now(), null,
                 reason != null ? reason : "Permanent suspension");
-        suspendedJobs.put(suspensionKey, suspensionInfo);
+        suspensionRegistry.suspend(jobName, groupName, suspensionInfo);
 
         logger.info("Job suspended permanently: {}.{}, Reason: {}", jobName, groupName, reason);
     }
@@ -167,13 +323,13 @@ public class QuartzJobManagementService {
      */
     public void revokeSuspension(String jobName, String groupName) throws SchedulerException {
         JobKey jobKey = JobKey.jobKey(jobName, groupName);
+        Scheduler scheduler = schedulerLanes.find(jobKey);
 
-        if (!scheduler.checkExists(jobKey)) {
+        if (scheduler == null) {
             throw new SchedulerException("Job does not exist: " + jobName + "." + groupName);
         }
 
-        String suspensionKey = jobName + "." + groupName;
-        SuspensionInfo suspensionInfo = suspendedJobs.get(suspensionKey);
+        SuspensionInfo suspensionInfo = suspensionRegistry.get(jobName, groupName);
 
         if (suspensionInfo == null) {
             throw new SchedulerException("Job is not suspended: " + jobName + "." + groupName);
@@ -187,7 +343,7 @@ public class QuartzJobManagementService {
                 suspensionInfo.getResumeDateTime(), JobStatus.RESUMED.name());
 
         // Remove suspension info
-        suspendedJobs.remove(suspensionKey);
+        suspensionRegistry.remove(jobName, groupName);
 
         // Cancel auto-resume trigger if it exists
         cancelAutoResumeJob(jobName, groupName);
@@ -199,8 +355,7 @@ public class QuartzJobManagementService {
      * Extend the suspension period for a temporarily suspended job
      */
     public void extendSuspension(String jobName, String groupName, LocalDateTime newResumeDateTime) throws SchedulerException {
-        String suspensionKey = jobName + "." + groupName;
-        SuspensionInfo suspensionInfo = suspendedJobs.get(suspensionKey);
+        SuspensionInfo suspensionInfo = suspensionRegistry.get(jobName, groupName);
 
         if (suspensionInfo == null) {
             throw new SchedulerException("Job is not suspended: " + jobName + "." + groupName);
@@ -211,11 +366,15 @@ public class QuartzJobManagementService {
         }
 
         // Update suspension info
-        suspensionInfo.setResumeDateTime(newResumeDateTime);
+        if (!suspensionRegistry.extend(jobName, groupName, newResumeDateTime)) {
+            throw new SchedulerException("Job is no longer temporarily suspended: " + jobName + "." + groupName);
+        }
 
         // Cancel existing auto-resume and schedule new one
         cancelAutoResumeJob(jobName, groupName);
-        scheduleJobResume(jobName, groupName, newResumeDateTime);
+        Scheduler scheduler = schedulerLanes.find(JobKey.jobKey(jobName, groupName));
+        scheduleJobResume(jobName, groupName, scheduler != null ? scheduler.getSchedulerName() : null,
+                newResumeDateTime);
 
         logger.info("Job suspension extended until {}: {}.{}", newResumeDateTime, jobName, groupName);
     }
@@ -224,42 +383,205 @@ public class QuartzJobManagementService {
      * Check if a job is currently suspended
      */
     public boolean isJobSuspended(String jobName, String groupName) {
-        String suspensionKey = jobName + "." + groupName;
-        return suspendedJobs.containsKey(suspensionKey);
+        return suspensionRegistry.isSuspended(jobName, groupName);
     }
 
     /**
      * Get suspension information for a job
      */
     public SuspensionInfo getSuspensionInfo(String jobName, String groupName) {
-        String suspensionKey = jobName + "." + groupName;
-        return suspendedJobs.get(suspensionKey);
+        return suspensionRegistry.get(jobName, groupName);
+    }
+
+    /**
+     * Get the execution lane a job is scheduled in, or null if the job does not exist
+     */
+    public String getJobLane(String jobName, String groupName) throws SchedulerException {
+        return schedulerLanes.laneOf(JobKey.jobKey(jobName, groupName));
+    }
+
+    /**
+     * Get the stored status of a job, served from the status cache
+     */
+    public Optional<JobUserControl> getJobStatus(String jobName, String groupName) {
+        return DataBaseService.getInstance().getStatus(jobName, groupName);
+    }
+
+    /**
+     * Get one page of a job's execution history, newest first
+     *
+     * @param from           Oldest actual fire time to include, the epoch when null
+     * @param to             Newest actual fire time to include, now when null
+     * @param beforeFireTime Cursor returned with the previous page, null for the first page
+     * @param beforeId       Cursor returned with the previous page, null for the first page
+     * @param size           Page size, capped at {@link #MAX_HISTORY_PAGE_SIZE}
+     */
+    public ExecutionHistoryPage getExecutionHistory(String jobName, String groupName, Instant from, Instant to,
+                                                    Instant beforeFireTime, Long beforeId, int size) {
+        Instant rangeFrom = from != null ? from : Instant.EPOCH;
+        Instant rangeTo = to != null ? to : Instant.now();
+        int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        return DataBaseService.getInstance().getExecutionHistory(jobName, groupName, rangeFrom, rangeTo,
+                beforeFireTime, beforeId, pageSize);
     }
 
     /**
      * Get all suspended jobs
      */
     public Map<String, SuspensionInfo> getAllSuspendedJobs() {
-        return new HashMap<>(suspendedJobs);
+        return new HashMap<>(suspensionRegistry.getAll());
+    }
+
+    /**
+     * Build the durable ADR job detail used for CRON scheduled jobs
+     */
+    private JobDetail buildCronJobDetail(JobKey jobKey, JobDataMap jobData) {
+        return JobBuilder.newJob(ADRJob.class).withIdentity(jobKey).withDescription("Dynamic " +
+                "timestamp job").usingJobData(jobData).storeDurably(true).requestRecovery(true).build();
+    }
+
+    /**
+     * Build the CRON trigger for a job detail, modified by a calendar when one is given
+     */
+    private Trigger buildCronTrigger(JobDetail jobDetail, String cronExpression, String calendarName) {
+        return TriggerBuilder.newTrigger().forJob(jobDetail).withIdentity(jobDetail.getKey().getName() + "Trigger",
+                GROUP_NAME).modifiedByCalendar(calendarName).withSchedule(CronScheduleBuilder.cronSchedule(cronExpression).withMisfireHandlingInstructionFireAndProceed()).build();
+    }
+
+    /**
+     * Find the jobs to be scheduled in the given shard that are stored in other lanes and shards. Each other
+     * scheduler is read with a single query for the job group.
+     *
+     * @return job keys by the scheduler they are stored in
+     * @throws ObjectAlreadyExistsException if a job exists in another scheduler and replace is false
+     */
+    private Map<Scheduler, List<JobKey>> findInOtherShards(Scheduler shard, Set<JobDetail> jobDetails,
+                                                           boolean replace) throws SchedulerException {
+        Map<Scheduler, List<JobKey>> found = new LinkedHashMap<>();
+        for (Scheduler other : schedulerLanes.getSchedulers()) {
+            if (other == shard) {
+                continue;
+            }
+            Set<JobKey> existing = other.getJobKeys(GroupMatcher.jobGroupEquals(GROUP_NAME));
+            List<JobKey> moved = jobDetails.stream().map(JobDetail::getKey).filter(existing::contains).toList();
+            if (moved.isEmpty()) {
+                continue;
+            }
+            if (!replace) {
+                throw new ObjectAlreadyExistsException("Jobs already scheduled in " + other.getSchedulerName() +
+                        ": " + moved);
+            }
+            found.put(other, moved);
+        }
+        return found;
+    }
+
+    /**
+     * Remove jobs that were committed in the given shard from the schedulers they were stored in before, so a job
+     * lives in one scheduler only. A job that cannot be removed stays in both until it is scheduled again.
+     */
+    private void removeFromOtherShards(Scheduler shard, Map<Scheduler, List<JobKey>> moved) {
+        for (Map.Entry<Scheduler, List<JobKey>> other : moved.entrySet()) {
+            try {
+                other.getKey().deleteJobs(other.getValue());
+                logger.info("Moved {} jobs from {} to {}", other.getValue().size(), schedulerName(other.getKey()),
+                        schedulerName(shard));
+            } catch (SchedulerException e) {
+                logger.error("Failed to remove {} jobs moved to {} from {}: {}", other.getValue().size(),
+                        schedulerName(shard), schedulerName(other.getKey()), other.getValue(), e);
+            }
+        }
+    }
+
+    /**
+     * Why a trigger cannot use a calendar in a shard, null when it can or has no calendar
+     */
+    private static String calendarError(Scheduler shard, String calendarName,
+                                        Map<Scheduler, Map<String, Boolean>> shardCalendars) {
+        if (calendarName == null) {
+            return null;
+        }
+        Map<String, Boolean> calendars = shardCalendars.computeIfAbsent(shard, key -> new HashMap<>());
+        Boolean exists = calendars.get(calendarName);
+        if (exists == null) {
+            try {
+                exists = shard.getCalendar(calendarName) != null;
+            } catch (SchedulerException e) {
+                return "Calendar lookup failed: " + e.getMessage();
+            }
+            calendars.put(calendarName, exists);
+        }
+        return exists ? null : "Calendar not found: " + calendarName;
+    }
+
+    private static String schedulerName(Scheduler scheduler) {
+        try {
+            return scheduler.getSchedulerName();
+        } catch (SchedulerException e) {
+            return "unknown scheduler";
+        }
+    }
+
+    /**
+     * Generate and validate the CRON expression of a bulk request item
+     */
+    private static PreparedJob prepareJob(JobScheduleRequest request) {
+        String cronExpression = null;
+        try {
+            cronExpression = CronUtil.generateCron(request.getSecond(), request.getMinute(), request.getHour(),
+                    request.getDay(), request.getMonth(), request.getYear(), request.isRepeat(),
+                    request.getInterval(), request.getDaysOfWeek());
+
+            if (!CronUtil.validateCron(cronExpression)) {
+                return new PreparedJob(request.getJobName(), request.getLane(), cronExpression, null, null,
+                        "Invalid CRON expression");
+            }
+
+            // CUSIP set processed by each run of the ADR job
+            JobDataMap jobData = new JobDataMap();
+            if (request.getCusips() != null && !request.getCusips().isEmpty()) {
+                jobData.put(ADRJob.CUSIPS_KEY, String.join(",", request.getCusips()));
+            }
+            if (request.getPartitionSize() != null) {
+                jobData.put(ADRJob.PARTITION_SIZE_KEY, request.getPartitionSize().intValue());
+            }
+            return new PreparedJob(request.getJobName(), request.getLane(), cronExpression, jobData,
+                    request.getCalendarName(), null);
+
+        } catch (IllegalArgumentException e) {
+            return new PreparedJob(request.getJobName(), request.getLane(), cronExpression, null, null,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Bulk request item with its generated CRON expression and job data, or the reason it cannot be scheduled
+     */
+    private record PreparedJob(String jobName, String lane, String cronExpression, JobDataMap jobData,
+                               String calendarName, String error) {
     }
 
     /**
-     * Schedule automatic job resume
+     * Schedule automatic job resume in the housekeeping lane, so it is not delayed by busy job lanes
+     *
+     * @param jobScheduler name of the scheduler (lane shard) the suspended job is stored in
      */
-    private void scheduleJobResume(String jobName, String groupName, LocalDateTime resumeDateTime) throws SchedulerException {
+    private void scheduleJobResume(String jobName, String groupName, String jobScheduler, LocalDateTime resumeDateTime) throws SchedulerException {
         String resumeJobName = "resume-" + jobName;
         String resumeGroupName = "resume-" + groupName;
 
         JobDetail resumeJob =
                 JobBuilder.newJob(JobResumeJob.class).withIdentity(resumeJobName, resumeGroupName).usingJobData(
-                        "originalJobName", jobName).usingJobData("originalGroupName", groupName).build();
+                        "originalJobName", jobName).usingJobData("originalGroupName", groupName)
+                        .usingJobData(JobResumeJob.ORIGINAL_LANE_KEY, jobScheduler).build();
 
         Date resumeDate = Date.from(resumeDateTime.atZone(ZoneId.systemDefault()).toInstant());
 
         Trigger resumeTrigger = TriggerBuilder.newTrigger().withIdentity("resume-trigger-" + jobName, "resume-trigger"
                 + "-" + groupName).startAt(resumeDate).build();
 
-        scheduler.scheduleJob(resumeJob, resumeTrigger);
+        schedulerLanes.routeOrDefault(laneProperties.getHousekeepingLane(), resumeJob.getKey())
+                .scheduleJob(resumeJob, resumeTrigger);
     }
 
     /**
@@ -270,7 +592,8 @@ public class QuartzJobManagementService {
         String resumeGroupName = "resume-" + groupName;
         JobKey resumeJobKey = JobKey.jobKey(resumeJobName, resumeGroupName);
 
-        if (scheduler.checkExists(resumeJobKey)) {
+        Scheduler scheduler = schedulerLanes.find(resumeJobKey);
+        if (scheduler != null) {
             scheduler.deleteJob(resumeJobKey);
         }
     }
@@ -0,0 +1,196 @@
+package com.ss.quartzScheduler.service;
+
+import com.ss.quartzScheduler.model.SuspensionInfo;
+import com.ss.quartzScheduler.model.enums.SuspensionType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide registry of suspended jobs backed by DREAM_JOB_SUSPENSION.
+ * <p>
+ * Every change bumps the single registry version in DREAM_JOB_SUSPENSION_VERSION in the same transaction.
+ * Each node keeps an immutable snapshot of all suspensions and only reloads it when the polled version
+ * differs from the one it loaded, so lookups stay in-memory O(1) while suspensions made on other
+ * nodes become visible within one poll interval and survive restarts.
+ */
+@Slf4j
+@Component
+public class SuspensionRegistry {
+
+    private static final String SELECT_VERSION_SQL = "SELECT VERSION FROM DREAM_JOB_SUSPENSION_VERSION WHERE ID = 1";
+    private static final String BUMP_VERSION_SQL = "UPDATE DREAM_JOB_SUSPENSION_VERSION SET VERSION = VERSION + 1 " +
+            "WHERE ID = 1";
+    private static final String SELECT_ALL_SQL = "SELECT JOB_NAME, JOB_GROUP, SUSPENSION_TYPE, SUSPENDED_AT, " +
+            "RESUME_DATE_TIME, REASON FROM DREAM_JOB_SUSPENSION";
+    private static final String UPDATE_SQL = "UPDATE DREAM_JOB_SUSPENSION SET SUSPENSION_TYPE = ?, " +
+            "SUSPENDED_AT = ?, RESUME_DATE_TIME = ?, REASON = ?, VERSION = VERSION + 1 " +
+            "WHERE JOB_NAME = ? AND JOB_GROUP = ?";
+    private static final String INSERT_SQL = "INSERT INTO DREAM_JOB_SUSPENSION (JOB_NAME, JOB_GROUP, " +
+            "SUSPENSION_TYPE, SUSPENDED_AT, RESUME_DATE_TIME, REASON, VERSION) VALUES (?, ?, ?, ?, ?, ?, 1)";
+    private static final String EXTEND_SQL = "UPDATE DREAM_JOB_SUSPENSION SET RESUME_DATE_TIME = ?, " +
+            "VERSION = VERSION + 1 WHERE JOB_NAME = ? AND JOB_GROUP = ? AND SUSPENSION_TYPE = ?";
+    private static final String DELETE_SQL = "DELETE FROM DREAM_JOB_SUSPENSION WHERE JOB_NAME = ? AND JOB_GROUP = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long pollIntervalMs;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "suspension-registry-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Immutable snapshot keyed by "jobName.groupName", replaced as a whole on reload
+    private volatile Snapshot snapshot = new Snapshot(-1L, Map.of());
+
+    public SuspensionRegistry(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                              @Value("${scheduler.suspension.poll-interval-ms:1000}") long pollIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        reload();
+        poller.scheduleWithFixedDelay(this::refreshQuietly, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Loaded {} job suspensions (version {})", snapshot.suspensions().size(), snapshot.version());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    /**
+     * Check if a job is suspended, using the local snapshot only
+     */
+    public boolean isSuspended(String jobName, String groupName) {
+        return snapshot.suspensions().containsKey(key(jobName, groupName));
+    }
+
+    /**
+     * Get suspension information for a job from the local snapshot
+     */
+    public SuspensionInfo get(String jobName, String groupName) {
+        return snapshot.suspensions().get(key(jobName, groupName));
+    }
+
+    /**
+     * Get all suspended jobs keyed by "jobName.groupName"
+     */
+    public Map<String, SuspensionInfo> getAll() {
+        return snapshot.suspensions();
+    }
+
+    /**
+     * Store or replace the suspension of a job
+     */
+    public void suspend(String jobName, String groupName, SuspensionInfo info) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int updated = jdbcTemplate.update(UPDATE_SQL, info.getType().name(), toTimestamp(info.getSuspendedAt()),
+                    toTimestamp(info.getResumeDateTime()), info.getReason(), jobName, groupName);
+            if (updated == 0) {
+                jdbcTemplate.update(INSERT_SQL, jobName, groupName, info.getType().name(),
+                        toTimestamp(info.getSuspendedAt()), toTimestamp(info.getResumeDateTime()), info.getReason());
+            }
+            jdbcTemplate.update(BUMP_VERSION_SQL);
+        });
+        reload();
+    }
+
+    /**
+     * Move the resume time of a temporary suspension
+     *
+     * @return false if the job has no temporary suspension
+     */
+    public boolean extend(String jobName, String groupName, LocalDateTime newResumeDateTime) {
+        Boolean extended = transactionTemplate.execute(status -> {
+            int updated = jdbcTemplate.update(EXTEND_SQL, toTimestamp(newResumeDateTime), jobName, groupName,
+                    SuspensionType.TEMPORARY.name());
+            if (updated > 0) {
+                jdbcTemplate.update(BUMP_VERSION_SQL);
+            }
+            return updated > 0;
+        });
+        reload();
+        return Boolean.TRUE.equals(extended);
+    }
+
+    /**
+     * Remove the suspension of a job
+     *
+     * @return false if the job was not suspended
+     */
+    public boolean remove(String jobName, String groupName) {
+        Boolean removed = transactionTemplate.execute(status -> {
+            int deleted = jdbcTemplate.update(DELETE_SQL, jobName, groupName);
+            if (deleted > 0) {
+                jdbcTemplate.update(BUMP_VERSION_SQL);
+            }
+            return deleted > 0;
+        });
+        reload();
+        return Boolean.TRUE.equals(removed);
+    }
+
+    /**
+     * Reload the snapshot if another node has changed the registry since it was loaded.
+     */
+    public void refresh() {
+        Long version = jdbcTemplate.queryForObject(SELECT_VERSION_SQL, Long.class);
+        if (version != null && version != snapshot.version()) {
+            reload();
+        }
+    }
+
+    /**
+     * Load the version first and the rows second: a change committed in between only makes the rows
+     * newer than the version, which the next poll corrects.
+     */
+    private synchronized void reload() {
+        Long version = jdbcTemplate.queryForObject(SELECT_VERSION_SQL, Long.class);
+        Map<String, SuspensionInfo> suspensions = new HashMap<>();
+        jdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+            Timestamp resumeDateTime = rs.getTimestamp("RESUME_DATE_TIME");
+            suspensions.put(key(rs.getString("JOB_NAME"), rs.getString("JOB_GROUP")), new SuspensionInfo(
+                    SuspensionType.valueOf(rs.getString("SUSPENSION_TYPE")),
+                    rs.getTimestamp("SUSPENDED_AT").toLocalDateTime(),
+                    resumeDateTime != null ? resumeDateTime.toLocalDateTime() : null,
+                    rs.getString("REASON")));
+        });
+        snapshot = new Snapshot(version != null ? version : 0L, Map.copyOf(suspensions));
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Failed to refresh job suspensions, keeping version {}", snapshot.version(), e);
+        }
+    }
+
+    private static String key(String jobName, String groupName) {
+        return jobName + "." + groupName;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+
+    private record Snapshot(long version, Map<String, SuspensionInfo> suspensions) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.ss.quartzScheduler.threadpool;
+
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Quartz {@link ThreadPool} that runs every job on its own virtual thread.
+ * <p>
+ * Concurrency is capped by a semaphore with {@code threadCount} permits, so the scheduler still only
+ * acquires as many triggers as there are permits. Jobs that block on sleep or I/O release their carrier
+ * thread, which makes a much higher cap affordable than with platform worker threads.
+ * <p>
+ * Selected with {@code scheduler.thread-pool.type: VIRTUAL}; the cap comes from
+ * {@code org.quartz.threadPool.threadCount}.
+ */
+public class VirtualThreadPool implements ThreadPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPool.class);
+
+    private int threadCount = 10;
+    private String instanceName = "QuartzScheduler";
+    private Semaphore permits;
+    private ThreadFactory threadFactory;
+    private final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private volatile boolean shutdown;
+
+    public VirtualThreadPool() {
+    }
+
+    public VirtualThreadPool(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Set the maximum number of jobs running at the same time. Called by Quartz from
+     * {@code org.quartz.threadPool.threadCount}.
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (threadCount <= 0) {
+            throw new SchedulerConfigException("Thread count must be > 0");
+        }
+        permits = new Semaphore(threadCount);
+        threadFactory = Thread.ofVirtual().name(instanceName + "_Worker-", 1).factory();
+        logger.info("Initialized virtual thread pool with a concurrency cap of {}", threadCount);
+    }
+
+    /**
+     * Run the job on a new virtual thread, blocking until a permit is available.
+     *
+     * @return false if the pool has been shut down
+     */
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null || shutdown) {
+            return false;
+        }
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        if (shutdown) {
+            releasePermit();
+            return false;
+        }
+
+        Thread thread = threadFactory.newThread(() -> {
+            try {
+                runnable.run();
+            } catch (RuntimeException e) {
+                logger.error("Error while executing the Runnable", e);
+            } finally {
+                runningThreads.remove(Thread.currentThread());
+                releasePermit();
+            }
+        });
+        runningThreads.add(thread);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * Block until at least one permit is free (or the pool is shut down) and return the number of free permits.
+     */
+    @Override
+    public int blockForAvailableThreads() {
+        lock.lock();
+        try {
+            while (permits.availablePermits() < 1 && !shutdown) {
+                try {
+                    permitReleased.await(500, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return permits.availablePermits();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        shutdown = true;
+        signalWaiters();
+
+        if (waitForJobsToComplete) {
+            for (Thread thread : runningThreads) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        logger.info("Virtual thread pool shut down, {} jobs still running", runningThreads.size());
+    }
+
+    @Override
+    public int getPoolSize() {
+        return threadCount;
+    }
+
+    /**
+     * Number of jobs currently running
+     */
+    public int getActiveCount() {
+        return runningThreads.size();
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+        // Not used; thread names are based on the scheduler name
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+
+    private void releasePermit() {
+        permits.release();
+        signalWaiters();
+    }
+
+    private void signalWaiters() {
+        lock.lock();
+        try {
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
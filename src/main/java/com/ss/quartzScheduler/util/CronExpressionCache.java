@@ -0,0 +1,125 @@
+package com.ss.quartzScheduler.util;
+
+import org.quartz.CronExpression;
+
+import java.text.ParseException;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded LRU cache of compiled {@link CronExpression} objects keyed by expression string.
+ * <p>
+ * {@code CronExpression} is mutable and not documented as thread-safe, so cached instances never leave
+ * this class: every evaluation runs while holding the monitor of the instance being evaluated.
+ */
+public class CronExpressionCache {
+
+    private final int maxSize;
+    private final Map<String, CronExpression> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CronExpressionCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CronExpression> eldest) {
+                return size() > CronExpressionCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Parse the expression, or reuse the compiled instance if it is cached.
+     *
+     * @param cronExpression the CRON expression
+     * @throws ParseException if the expression is invalid
+     */
+    public void validate(String cronExpression) throws ParseException {
+        compile(cronExpression);
+    }
+
+    /**
+     * Gets the next valid time after the given date
+     *
+     * @param cronExpression the CRON expression
+     * @param after          the date to start searching from
+     * @return the next valid time, or null if there is none
+     * @throws ParseException if the expression is invalid
+     */
+    public Date getNextValidTimeAfter(String cronExpression, Date after) throws ParseException {
+        CronExpression cron = compile(cronExpression);
+        synchronized (cron) {
+            return cron.getNextValidTimeAfter(after);
+        }
+    }
+
+    /**
+     * Gets up to {@code count} consecutive valid times after the given date
+     *
+     * @param cronExpression the CRON expression
+     * @param after          the date to start searching from
+     * @param count          number of times to compute
+     * @return array of length {@code count}; trailing entries are null if the schedule ends earlier
+     * @throws ParseException if the expression is invalid
+     */
+    public Date[] getNextValidTimesAfter(String cronExpression, Date after, int count) throws ParseException {
+        CronExpression cron = compile(cronExpression);
+        Date[] times = new Date[count];
+        synchronized (cron) {
+            Date current = after;
+            for (int i = 0; i < count; i++) {
+                current = cron.getNextValidTimeAfter(current);
+                if (current == null) {
+                    break;
+                }
+                times[i] = current;
+            }
+        }
+        return times;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized void clear() {
+        cache.clear();
+    }
+
+    private CronExpression compile(String cronExpression) throws ParseException {
+        CronExpression cron;
+        synchronized (this) {
+            cron = cache.get(cronExpression);
+        }
+        if (cron != null) {
+            hits.increment();
+            return cron;
+        }
+
+        // Parse outside the lock; if two threads race, the first instance stored wins
+        misses.increment();
+        CronExpression parsed = new CronExpression(cronExpression);
+        synchronized (this) {
+            CronExpression existing = cache.putIfAbsent(cronExpression, parsed);
+            return existing != null ? existing : parsed;
+        }
+    }
+}
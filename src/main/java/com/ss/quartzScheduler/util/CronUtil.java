@@ -1,7 +1,6 @@
 package com.ss.quartzScheduler.util;
 
 import com.ss.quartzScheduler.model.enums.DayOfWeekEnum;
-import org.quartz.CronExpression;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,6 +27,12 @@ public class CronUtil {
     // Default group name for jobs
     public static final String GROUP_NAME = "QuartzGroup";
 
+    // Maximum number of compiled CRON expressions kept in memory
+    public static final int CRON_CACHE_SIZE = 1024;
+
+    // Shared cache of compiled CRON expressions
+    private static final CronExpressionCache CRON_CACHE = new CronExpressionCache(CRON_CACHE_SIZE);
+
     /**
      * Validates a CRON expression
      *
@@ -36,7 +41,7 @@ public class CronUtil {
      */
     public static boolean validateCron(String cronExpression) {
         try {
-            new CronExpression(cronExpression);
+            CRON_CACHE.validate(cronExpression);
             return true;
         } catch (ParseException e) {
             logger.error("Invalid CRON expression: {}", cronExpression, e);
@@ -52,8 +57,7 @@ public class CronUtil {
      */
     public static LocalDateTime getNextExecutionTime(String cronExpression) {
         try {
-            CronExpression cron = new CronExpression(cronExpression);
-            Date nextDate = cron.getNextValidTimeAfter(new Date());
+            Date nextDate = CRON_CACHE.getNextValidTimeAfter(cronExpression, new Date());
 
             if (nextDate != null) {
                 return LocalDateTime.ofInstant(nextDate.toInstant(), ZoneId.systemDefault());
@@ -76,15 +80,12 @@ public class CronUtil {
      */
     public static LocalDateTime[] getNextExecutionTimes(String cronExpression, int count) {
         try {
-            CronExpression cron = new CronExpression(cronExpression);
+            Date[] nextDates = CRON_CACHE.getNextValidTimesAfter(cronExpression, new Date(), count);
             LocalDateTime[] executionTimes = new LocalDateTime[count];
 
-            Date currentDate = new Date();
             for (int i = 0; i < count; i++) {
-                Date nextDate = cron.getNextValidTimeAfter(currentDate);
-                if (nextDate != null) {
-                    executionTimes[i] = LocalDateTime.ofInstant(nextDate.toInstant(), ZoneId.systemDefault());
-                    currentDate = nextDate;
+                if (nextDates[i] != null) {
+                    executionTimes[i] = LocalDateTime.ofInstant(nextDates[i].toInstant(), ZoneId.systemDefault());
                 } else {
                     break;
                 }
@@ -99,6 +100,16 @@ public class CronUtil {
     }
 
 
+    /**
+     * Gets the cache of compiled CRON expressions used by this class, e.g. to read its hit/miss counters
+     *
+     * @return the shared CRON expression cache
+     */
+    public static CronExpressionCache getCronCache() {
+        return CRON_CACHE;
+    }
+
+
     /**
      * Build a Quartz cron expression from parameters.
      *
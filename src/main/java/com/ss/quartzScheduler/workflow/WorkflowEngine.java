@@ -0,0 +1,446 @@
+package com.ss.quartzScheduler.workflow;
+
+import com.ss.quartzScheduler.admission.AdmissionControlListener;
+import com.ss.quartzScheduler.exception.JobManagementException;
+import com.ss.quartzScheduler.job.ADRJob;
+import com.ss.quartzScheduler.job.WorkflowStartJob;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import com.ss.quartzScheduler.retry.RetryScheduler;
+import com.ss.quartzScheduler.model.dto.WorkflowDefinitionRequest;
+import com.ss.quartzScheduler.model.dto.WorkflowRunDto;
+import com.ss.quartzScheduler.model.dto.WorkflowRunStepDto;
+import com.ss.quartzScheduler.model.dto.WorkflowStepDefinition;
+import com.ss.quartzScheduler.model.enums.WorkflowRunStatus;
+import com.ss.quartzScheduler.model.enums.WorkflowStepStatus;
+import com.ss.quartzScheduler.util.CronUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.quartz.QuartzDataSource;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.ss.quartzScheduler.util.CronUtil.GROUP_NAME;
+
+/**
+ * Runs workflows: jobs ordered by their dependencies as a directed acyclic graph.
+ * A run fires the steps without upstream steps, and every completed step fires the steps whose upstream steps
+ * have all completed, so downstream jobs start as soon as they can and independent branches run at the same
+ * time in their lanes.
+ * <p>
+ * Definitions and run state are kept in the DREAM_WORKFLOW tables. Steps are fired with their run id and step
+ * name in the trigger data, which Quartz keeps when it recovers a fire, so a step interrupted by a node failure
+ * fires again on another node and the run continues from there. Step state changes and the triggers of the
+ * steps they start are written in one transaction on the trigger store pool, which the JDBC job store joins,
+ * and the run row is locked meanwhile, so steps finishing at the same time start a shared downstream step once.
+ */
+@Slf4j
+@Component
+public class WorkflowEngine {
+
+    // Trigger JobDataMap keys of step fires
+    public static final String RUN_ID_KEY = "workflowRunId";
+    public static final String STEP_KEY = "workflowStep";
+
+    // Group of the jobs starting workflow runs on their cron
+    public static final String START_JOB_GROUP = "workflow";
+
+    private static final String UPDATE_WORKFLOW_SQL = "UPDATE DREAM_WORKFLOW SET CRON_EXPRESSION = ?, " +
+            "UPDATED_AT = ? WHERE WORKFLOW_NAME = ?";
+    private static final String INSERT_WORKFLOW_SQL = "INSERT INTO DREAM_WORKFLOW (WORKFLOW_NAME, CRON_EXPRESSION, " +
+            "UPDATED_AT) VALUES (?, ?, ?)";
+    private static final String LOCK_WORKFLOW_SQL = "SELECT WORKFLOW_NAME FROM DREAM_WORKFLOW " +
+            "WHERE WORKFLOW_NAME = ? FOR UPDATE";
+    private static final String DELETE_STEPS_SQL = "DELETE FROM DREAM_WORKFLOW_STEP WHERE WORKFLOW_NAME = ?";
+    private static final String INSERT_STEP_SQL = "INSERT INTO DREAM_WORKFLOW_STEP (WORKFLOW_NAME, STEP_NAME, " +
+            "JOB_GROUP, LANE, DEPENDS_ON) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_STEPS_SQL = "SELECT STEP_NAME, JOB_GROUP, DEPENDS_ON FROM DREAM_WORKFLOW_STEP " +
+            "WHERE WORKFLOW_NAME = ?";
+
+    private static final String COUNT_RUNNING_SQL = "SELECT COUNT(*) FROM DREAM_WORKFLOW_RUN " +
+            "WHERE WORKFLOW_NAME = ? AND STATUS = 'RUNNING'";
+    private static final String INSERT_RUN_SQL = "INSERT INTO DREAM_WORKFLOW_RUN (WORKFLOW_NAME, STATUS, STARTED_AT) " +
+            "VALUES (?, 'RUNNING', ?)";
+    private static final String LOCK_RUN_SQL = "SELECT STATUS FROM DREAM_WORKFLOW_RUN WHERE RUN_ID = ? FOR UPDATE";
+    private static final String SELECT_RUN_SQL = "SELECT RUN_ID, WORKFLOW_NAME, STATUS, STARTED_AT, FINISHED_AT " +
+            "FROM DREAM_WORKFLOW_RUN WHERE RUN_ID = ?";
+    private static final String SELECT_RUNNING_RUNS_SQL = "SELECT RUN_ID FROM DREAM_WORKFLOW_RUN " +
+            "WHERE STATUS = 'RUNNING'";
+    private static final String FINISH_RUN_SQL = "UPDATE DREAM_WORKFLOW_RUN SET STATUS = ?, FINISHED_AT = ? " +
+            "WHERE RUN_ID = ? AND STATUS = 'RUNNING'";
+
+    private static final String INSERT_RUN_STEP_SQL = "INSERT INTO DREAM_WORKFLOW_RUN_STEP (RUN_ID, STEP_NAME, " +
+            "JOB_GROUP, DEPENDS_ON, STATUS) VALUES (?, ?, ?, ?, 'PENDING')";
+    private static final String SELECT_RUN_STEPS_SQL = "SELECT STEP_NAME, JOB_GROUP, DEPENDS_ON, STATUS, STARTED_AT, " +
+            "FINISHED_AT FROM DREAM_WORKFLOW_RUN_STEP WHERE RUN_ID = ? ORDER BY STEP_NAME";
+    private static final String START_STEP_SQL = "UPDATE DREAM_WORKFLOW_RUN_STEP SET STATUS = 'RUNNING', " +
+            "STARTED_AT = ? WHERE RUN_ID = ? AND STEP_NAME = ? AND STATUS = 'PENDING'";
+    private static final String FINISH_STEP_SQL = "UPDATE DREAM_WORKFLOW_RUN_STEP SET STATUS = ?, FINISHED_AT = ? " +
+            "WHERE RUN_ID = ? AND STEP_NAME = ? AND STATUS = 'RUNNING'";
+    private static final String SKIP_PENDING_STEPS_SQL = "UPDATE DREAM_WORKFLOW_RUN_STEP SET STATUS = 'SKIPPED' " +
+            "WHERE RUN_ID = ? AND STATUS = 'PENDING'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<SchedulerLanes> lanesProvider;
+
+    public WorkflowEngine(@QuartzDataSource DataSource dataSource, ObjectProvider<SchedulerLanes> lanesProvider) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.lanesProvider = lanesProvider;
+    }
+
+    /**
+     * Create or replace a workflow. Step jobs that do not exist yet are created as ADR jobs in the step's lane,
+     * and the triggers of existing step jobs are removed, since steps only run when their upstream steps
+     * complete. With a CRON expression a start job fires a run of the workflow on it.
+     */
+    public void define(WorkflowDefinitionRequest request) throws JobManagementException, SchedulerException {
+        String workflowName = request.getWorkflowName();
+        String cronExpression = request.getCronExpression() != null && !request.getCronExpression().isBlank()
+                ? request.getCronExpression() : null;
+        if (cronExpression != null && !CronUtil.validateCron(cronExpression)) {
+            throw new JobManagementException("Invalid CRON expression: " + cronExpression);
+        }
+        validate(request.getSteps());
+
+        SchedulerLanes lanes = lanesProvider.getObject();
+        for (WorkflowStepDefinition step : request.getSteps()) {
+            prepareStepJob(lanes, step);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (jdbcTemplate.update(UPDATE_WORKFLOW_SQL, cronExpression, Timestamp.valueOf(now), workflowName) == 0) {
+                jdbcTemplate.update(INSERT_WORKFLOW_SQL, workflowName, cronExpression, Timestamp.valueOf(now));
+            }
+            jdbcTemplate.update(DELETE_STEPS_SQL, workflowName);
+            jdbcTemplate.batchUpdate(INSERT_STEP_SQL, request.getSteps(), request.getSteps().size(), (ps, step) -> {
+                ps.setString(1, workflowName);
+                ps.setString(2, step.getJobName());
+                ps.setString(3, groupOf(step));
+                ps.setString(4, step.getLane());
+                ps.setString(5, String.join(",", step.getDependsOn()));
+            });
+        });
+
+        scheduleStart(lanes, workflowName, cronExpression);
+        log.info("Defined workflow {} with {} steps{}", workflowName, request.getSteps().size(),
+                cronExpression != null ? " starting on cron " + cronExpression : "");
+    }
+
+    /**
+     * Start a run of a workflow by firing its steps without upstream steps
+     *
+     * @return id of the run
+     * @throws JobManagementException if the workflow does not exist or a run of it is still running
+     */
+    public long startRun(String workflowName) throws JobManagementException {
+        List<RunStep> steps = jdbcTemplate.query(SELECT_STEPS_SQL, (rs, rowNum) -> new RunStep(
+                rs.getString("STEP_NAME"), rs.getString("JOB_GROUP"), dependencies(rs.getString("DEPENDS_ON")),
+                WorkflowStepStatus.PENDING), workflowName);
+        if (steps.isEmpty()) {
+            throw new JobManagementException("Workflow does not exist: " + workflowName);
+        }
+
+        Long runId = transactionTemplate.execute(status -> {
+            // Concurrent starts of the same workflow wait for each other and see each other's run
+            jdbcTemplate.queryForList(LOCK_WORKFLOW_SQL, String.class, workflowName);
+            Integer running = jdbcTemplate.queryForObject(COUNT_RUNNING_SQL, Integer.class, workflowName);
+            if (running != null && running > 0) {
+                return null;
+            }
+
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(INSERT_RUN_SQL, Statement.RETURN_GENERATED_KEYS);
+                ps.setString(1, workflowName);
+                ps.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                return ps;
+            }, keyHolder);
+            long id = keyHolder.getKeyAs(Long.class);
+
+            jdbcTemplate.batchUpdate(INSERT_RUN_STEP_SQL, steps, steps.size(), (ps, step) -> {
+                ps.setLong(1, id);
+                ps.setString(2, step.stepName());
+                ps.setString(3, step.jobGroup());
+                ps.setString(4, String.join(",", step.dependsOn()));
+            });
+            startReadySteps(id, steps);
+            return id;
+        });
+
+        if (runId == null) {
+            throw new JobManagementException("Workflow " + workflowName + " has a run that is still running");
+        }
+        log.info("Started run {} of workflow {}", runId, workflowName);
+        return runId;
+    }
+
+    /**
+     * Record the outcome of a step and start the steps that were waiting for it. A failed step fails the run:
+     * steps already running finish, pending ones are skipped.
+     * Outcomes of steps that are not running, like a second report of a recovered fire, are ignored.
+     */
+    public void stepFinished(long runId, String stepName, boolean success) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<String> runStatus = jdbcTemplate.queryForList(LOCK_RUN_SQL, String.class, runId);
+            if (runStatus.isEmpty()) {
+                log.warn("Step {} finished for unknown workflow run {}", stepName, runId);
+                return;
+            }
+
+            WorkflowStepStatus stepStatus = success ? WorkflowStepStatus.COMPLETED : WorkflowStepStatus.FAILED;
+            int updated = jdbcTemplate.update(FINISH_STEP_SQL, stepStatus.name(),
+                    Timestamp.valueOf(LocalDateTime.now()), runId, stepName);
+            if (updated == 0 || !WorkflowRunStatus.RUNNING.name().equals(runStatus.get(0))) {
+                return;
+            }
+
+            if (success) {
+                advance(runId);
+            } else {
+                log.warn("Step {} of workflow run {} failed", stepName, runId);
+                failRun(runId);
+            }
+        });
+    }
+
+    /**
+     * Start the steps of running workflows whose upstream steps completed while no node could start them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeRuns() {
+        List<Long> runIds = jdbcTemplate.queryForList(SELECT_RUNNING_RUNS_SQL, Long.class);
+        for (Long runId : runIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<String> runStatus = jdbcTemplate.queryForList(LOCK_RUN_SQL, String.class, runId);
+                if (!runStatus.isEmpty() && WorkflowRunStatus.RUNNING.name().equals(runStatus.get(0))) {
+                    advance(runId);
+                }
+            });
+        }
+        if (!runIds.isEmpty()) {
+            log.info("Resumed {} running workflow runs", runIds.size());
+        }
+    }
+
+    /**
+     * Get a run and the state of its steps
+     */
+    public Optional<WorkflowRunDto> getRun(long runId) {
+        List<WorkflowRunDto> runs = jdbcTemplate.query(SELECT_RUN_SQL, (rs, rowNum) -> new WorkflowRunDto(
+                rs.getLong("RUN_ID"), rs.getString("WORKFLOW_NAME"),
+                WorkflowRunStatus.valueOf(rs.getString("STATUS")), toLocalDateTime(rs.getTimestamp("STARTED_AT")),
+                toLocalDateTime(rs.getTimestamp("FINISHED_AT")), null), runId);
+        if (runs.isEmpty()) {
+            return Optional.empty();
+        }
+
+        WorkflowRunDto run = runs.get(0);
+        run.setSteps(jdbcTemplate.query(SELECT_RUN_STEPS_SQL, (rs, rowNum) -> new WorkflowRunStepDto(
+                rs.getString("STEP_NAME"), rs.getString("JOB_GROUP"), dependencies(rs.getString("DEPENDS_ON")),
+                WorkflowStepStatus.valueOf(rs.getString("STATUS")), toLocalDateTime(rs.getTimestamp("STARTED_AT")),
+                toLocalDateTime(rs.getTimestamp("FINISHED_AT"))), runId));
+        return Optional.of(run);
+    }
+
+    /**
+     * Complete a run whose steps all completed, or start its steps that are ready. Runs with the run row locked.
+     */
+    private void advance(long runId) {
+        List<RunStep> steps = jdbcTemplate.query(SELECT_RUN_STEPS_SQL, (rs, rowNum) -> new RunStep(
+                rs.getString("STEP_NAME"), rs.getString("JOB_GROUP"), dependencies(rs.getString("DEPENDS_ON")),
+                WorkflowStepStatus.valueOf(rs.getString("STATUS"))), runId);
+        if (steps.stream().allMatch(step -> step.status() == WorkflowStepStatus.COMPLETED)) {
+            jdbcTemplate.update(FINISH_RUN_SQL, WorkflowRunStatus.COMPLETED.name(),
+                    Timestamp.valueOf(LocalDateTime.now()), runId);
+            log.info("Workflow run {} completed", runId);
+            return;
+        }
+        startReadySteps(runId, steps);
+    }
+
+    /**
+     * Fire the pending steps whose upstream steps all completed. Runs with the run row locked.
+     */
+    private void startReadySteps(long runId, List<RunStep> steps) {
+        Map<String, WorkflowStepStatus> statuses = new HashMap<>();
+        steps.forEach(step -> statuses.put(step.stepName(), step.status()));
+
+        for (RunStep step : steps) {
+            boolean ready = step.status() == WorkflowStepStatus.PENDING && step.dependsOn().stream()
+                    .allMatch(upstream -> statuses.get(upstream) == WorkflowStepStatus.COMPLETED);
+            if (!ready || jdbcTemplate.update(START_STEP_SQL, Timestamp.valueOf(LocalDateTime.now()), runId,
+                    step.stepName()) == 0) {
+                continue;
+            }
+
+            JobKey jobKey = JobKey.jobKey(step.stepName(), step.jobGroup());
+            try {
+                Scheduler scheduler = lanesProvider.getObject().find(jobKey);
+                if (scheduler == null) {
+                    throw new SchedulerException("Job of the step does not exist: " + jobKey);
+                }
+                JobDataMap stepData = new JobDataMap();
+                stepData.put(RUN_ID_KEY, runId);
+                stepData.put(STEP_KEY, step.stepName());
+                scheduler.triggerJob(jobKey, stepData);
+                log.debug("Fired step {} of workflow run {}", step.stepName(), runId);
+            } catch (SchedulerException e) {
+                log.error("Failed to fire step {} of workflow run {}", step.stepName(), runId, e);
+                jdbcTemplate.update(FINISH_STEP_SQL, WorkflowStepStatus.FAILED.name(),
+                        Timestamp.valueOf(LocalDateTime.now()), runId, step.stepName());
+                failRun(runId);
+                return;
+            }
+        }
+    }
+
+    private void failRun(long runId) {
+        jdbcTemplate.update(FINISH_RUN_SQL, WorkflowRunStatus.FAILED.name(), Timestamp.valueOf(LocalDateTime.now()),
+                runId);
+        jdbcTemplate.update(SKIP_PENDING_STEPS_SQL, runId);
+    }
+
+    /**
+     * Check that step names are unique, dependencies exist and the steps have no cycle
+     */
+    private static void validate(List<WorkflowStepDefinition> steps) throws JobManagementException {
+        Map<String, WorkflowStepDefinition> byName = new LinkedHashMap<>();
+        for (WorkflowStepDefinition step : steps) {
+            if (byName.put(step.getJobName(), step) != null) {
+                throw new JobManagementException("Duplicate step: " + step.getJobName());
+            }
+        }
+
+        Map<String, Integer> pendingUpstreams = new HashMap<>();
+        for (WorkflowStepDefinition step : steps) {
+            for (String upstream : step.getDependsOn()) {
+                if (!byName.containsKey(upstream)) {
+                    throw new JobManagementException("Step " + step.getJobName() + " depends on unknown step " +
+                            upstream);
+                }
+            }
+            pendingUpstreams.put(step.getJobName(), Set.copyOf(step.getDependsOn()).size());
+        }
+
+        // Kahn's algorithm: every step is reached only if there is no cycle
+        Deque<String> ready = new ArrayDeque<>();
+        pendingUpstreams.forEach((name, count) -> {
+            if (count == 0) {
+                ready.add(name);
+            }
+        });
+        int reached = 0;
+        while (!ready.isEmpty()) {
+            String name = ready.poll();
+            reached++;
+            for (WorkflowStepDefinition step : steps) {
+                if (step.getDependsOn().contains(name) && pendingUpstreams.merge(step.getJobName(), -1,
+                        Integer::sum) == 0) {
+                    ready.add(step.getJobName());
+                }
+            }
+        }
+        if (reached < steps.size()) {
+            throw new JobManagementException("Workflow steps have a dependency cycle");
+        }
+    }
+
+    /**
+     * Create the job of a step if it does not exist, otherwise remove its own triggers
+     */
+    private static void prepareStepJob(SchedulerLanes lanes, WorkflowStepDefinition step) throws SchedulerException {
+        JobKey jobKey = JobKey.jobKey(step.getJobName(), groupOf(step));
+        Scheduler scheduler = lanes.find(jobKey);
+        if (scheduler == null) {
+            JobDetail jobDetail = JobBuilder.newJob(ADRJob.class).withIdentity(jobKey).withDescription("Workflow " +
+                    "step job").storeDurably(true).requestRecovery(true).build();
+            lanes.route(step.getLane(), jobKey).addJob(jobDetail, false);
+            return;
+        }
+
+        // Keep the job when its last trigger is removed
+        JobDetail jobDetail = scheduler.getJobDetail(jobKey);
+        if (!jobDetail.isDurable()) {
+            scheduler.addJob(jobDetail.getJobBuilder().storeDurably(true).build(), true);
+        }
+        for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+            // Manual (Quartz puts them in the default group), deferred and retry triggers are step fires of
+            // running workflows
+            String triggerGroup = trigger.getKey().getGroup();
+            if (!Scheduler.DEFAULT_GROUP.equals(triggerGroup)
+                    && !AdmissionControlListener.DEFERRED_TRIGGER_GROUP.equals(triggerGroup)
+                    && !RetryScheduler.RETRY_TRIGGER_GROUP.equals(triggerGroup)) {
+                scheduler.unscheduleJob(trigger.getKey());
+                log.info("Removed trigger {} of workflow step job {}", trigger.getKey(), jobKey);
+            }
+        }
+    }
+
+    /**
+     * Schedule the job starting runs of a workflow on its cron, or remove it without one
+     */
+    private static void scheduleStart(SchedulerLanes lanes, String workflowName, String cronExpression)
+            throws SchedulerException {
+        JobKey startJobKey = JobKey.jobKey(workflowName, START_JOB_GROUP);
+        Scheduler current = lanes.find(startJobKey);
+        if (cronExpression == null) {
+            if (current != null) {
+                current.deleteJob(startJobKey);
+            }
+            return;
+        }
+
+        JobDetail jobDetail = JobBuilder.newJob(WorkflowStartJob.class).withIdentity(startJobKey)
+                .withDescription("Starts workflow " + workflowName)
+                .usingJobData(WorkflowStartJob.WORKFLOW_NAME_KEY, workflowName).storeDurably(true).build();
+        Trigger trigger = TriggerBuilder.newTrigger().forJob(jobDetail)
+                .withIdentity(workflowName + "Trigger", START_JOB_GROUP)
+                .withSchedule(CronScheduleBuilder.cronSchedule(cronExpression)
+                        .withMisfireHandlingInstructionFireAndProceed())
+                .build();
+        Scheduler scheduler = current != null ? current : lanes.route(null, startJobKey);
+        scheduler.scheduleJob(jobDetail, Set.of(trigger), true);
+    }
+
+    private static String groupOf(WorkflowStepDefinition step) {
+        return step.getGroupName() != null && !step.getGroupName().isBlank() ? step.getGroupName() : GROUP_NAME;
+    }
+
+    private static List<String> dependencies(String dependsOn) {
+        return dependsOn == null || dependsOn.isBlank() ? List.of() : Arrays.asList(dependsOn.split(","));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Step of a workflow run with its state
+     */
+    private record RunStep(String stepName, String jobGroup, List<String> dependsOn, WorkflowStepStatus status) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.ss.quartzScheduler.workflow;
+
+import com.ss.quartzScheduler.admission.AdmissionControlListener;
+import com.ss.quartzScheduler.model.enums.WorkflowStepOutcome;
+import com.ss.quartzScheduler.retry.RetryScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Global job listener reporting the outcome of workflow step fires to the {@link WorkflowEngine}.
+ * A step is finished when its job returns, or, for jobs that set a {@link CompletionStage} of a
+ * {@link WorkflowStepOutcome} as their result, when that stage completes.
+ */
+@Slf4j
+@Component
+public class WorkflowJobListener implements JobListener {
+
+    private final WorkflowEngine workflowEngine;
+
+    public WorkflowJobListener(WorkflowEngine workflowEngine) {
+        this.workflowEngine = workflowEngine;
+    }
+
+    @Override
+    public String getName() {
+        return "workflowJobListener";
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+        // A deferred fire carries the step to its next fire
+        JobDataMap triggerData = context.getTrigger().getJobDataMap();
+        if (triggerData.containsKey(WorkflowEngine.RUN_ID_KEY)
+                && context.get(AdmissionControlListener.DEFERRED_KEY) == null) {
+            report(triggerData, false);
+        }
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        JobDataMap triggerData = context.getTrigger().getJobDataMap();
+        if (!triggerData.containsKey(WorkflowEngine.RUN_ID_KEY)) {
+            return;
+        }
+        // Executed again for the same step, either right away, by a backoff retry or by a deferred fire
+        if (jobException != null && jobException.refireImmediately()
+                || context.get(RetryScheduler.RETRY_SCHEDULED_KEY) != null
+                || context.get(AdmissionControlListener.DEFERRED_KEY) != null) {
+            return;
+        }
+
+        if (jobException == null && context.getResult() instanceof CompletionStage<?> completion) {
+            completion.whenComplete((outcome, error) -> {
+                if (outcome != WorkflowStepOutcome.RETRYING) {
+                    report(triggerData, error == null && outcome != WorkflowStepOutcome.FAILED);
+                }
+            });
+            return;
+        }
+        report(triggerData, jobException == null);
+    }
+
+    private void report(JobDataMap triggerData, boolean success) {
+        long runId = triggerData.getLongValue(WorkflowEngine.RUN_ID_KEY);
+        String stepName = triggerData.getString(WorkflowEngine.STEP_KEY);
+        try {
+            workflowEngine.stepFinished(runId, stepName, success);
+        } catch (RuntimeException e) {
+            log.error("Failed to record step {} of workflow run {}", stepName, runId, e);
+        }
+    }
+}
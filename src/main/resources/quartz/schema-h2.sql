@@ -138,7 +138,29 @@ CREATE TABLE IF NOT EXISTS DREAM_JOB_EXECUTION_METADATA (
     last_scheduled_time TIMESTAMP,
     actual_fire_time TIMESTAMP,
     next_fire_time TIMESTAMP,
-    execution_time TIMESTAMP
+    execution_time TIMESTAMP,
+    bucket_day BIGINT
+);
+
+-- Keyset pagination of a job's execution history
+CREATE INDEX IF NOT EXISTS IDX_JOB_EXEC_META_GROUP_NAME_FIRE
+    ON DREAM_JOB_EXECUTION_METADATA(job_group, job_name, actual_fire_time);
+
+-- Retention housekeeping removes whole day buckets of a job group
+CREATE INDEX IF NOT EXISTS IDX_JOB_EXEC_META_GROUP_BUCKET
+    ON DREAM_JOB_EXECUTION_METADATA(job_group, bucket_day);
+
+-- Expired execution metadata of groups whose retention policy archives instead of deleting
+CREATE TABLE IF NOT EXISTS DREAM_JOB_EXECUTION_METADATA_ARCHIVE (
+    id BIGINT PRIMARY KEY,
+    job_name VARCHAR(255),
+    job_group VARCHAR(255),
+    last_scheduled_time TIMESTAMP,
+    actual_fire_time TIMESTAMP,
+    next_fire_time TIMESTAMP,
+    execution_time TIMESTAMP,
+    bucket_day BIGINT,
+    archived_at TIMESTAMP NOT NULL
 );
 
 -- Custom table for job status tracking
@@ -161,3 +183,95 @@ CREATE INDEX IDX_QRTZ_T_G ON QRTZ_TRIGGERS(SCHED_NAME, TRIGGER_GROUP);
 CREATE INDEX IDX_QRTZ_FT_TRIG_INST_NAME ON QRTZ_FIRED_TRIGGERS(SCHED_NAME, INSTANCE_NAME);
 CREATE INDEX IDX_QRTZ_FT_INST_JOB_REQ_RCVRY ON QRTZ_FIRED_TRIGGERS(SCHED_NAME, INSTANCE_NAME, REQUESTS_RECOVERY);
 CREATE INDEX IDX_QRTZ_FT_J_G ON QRTZ_FIRED_TRIGGERS(SCHED_NAME, JOB_NAME, JOB_GROUP);
+
+-- Completed partitions of a partitioned job run, so a retry resumes where the failed run stopped
+CREATE TABLE IF NOT EXISTS DREAM_JOB_PARTITION_CHECKPOINT (
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    RUN_ID BIGINT NOT NULL,
+    PARTITION_NO INTEGER NOT NULL,
+    COMPLETED_AT TIMESTAMP NOT NULL,
+    PRIMARY KEY (JOB_NAME, JOB_GROUP, RUN_ID, PARTITION_NO)
+);
+
+-- Execution ledger keyed by the fire instance id of the execution that started the work, with the trigger and
+-- scheduled fire time of the latest fire working on it, so a recovered execution finds its ledger
+CREATE TABLE IF NOT EXISTS DREAM_EXECUTION_LEDGER (
+    LEDGER_ID VARCHAR(200) NOT NULL PRIMARY KEY,
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    TRIGGER_NAME VARCHAR(200) NOT NULL,
+    TRIGGER_GROUP VARCHAR(200) NOT NULL,
+    SCHEDULED_FIRE_TIME BIGINT NOT NULL,
+    UPDATED_AT TIMESTAMP NOT NULL
+);
+CREATE INDEX IF NOT EXISTS IDX_EXECUTION_LEDGER_FIRE ON DREAM_EXECUTION_LEDGER(TRIGGER_NAME, TRIGGER_GROUP,
+    SCHEDULED_FIRE_TIME);
+
+-- Steps completed by the executions of a ledger
+CREATE TABLE IF NOT EXISTS DREAM_EXECUTION_LEDGER_STEP (
+    LEDGER_ID VARCHAR(200) NOT NULL,
+    STEP VARCHAR(200) NOT NULL,
+    COMPLETED_AT TIMESTAMP NOT NULL,
+    PRIMARY KEY (LEDGER_ID, STEP)
+);
+
+-- Job suspensions shared by all cluster nodes; VERSION counts changes to the row
+CREATE TABLE IF NOT EXISTS DREAM_JOB_SUSPENSION (
+    JOB_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    SUSPENSION_TYPE VARCHAR(16) NOT NULL,
+    SUSPENDED_AT TIMESTAMP NOT NULL,
+    RESUME_DATE_TIME TIMESTAMP,
+    REASON VARCHAR(250),
+    VERSION BIGINT NOT NULL,
+    PRIMARY KEY (JOB_NAME, JOB_GROUP)
+);
+
+-- Single-row version of the whole suspension registry, polled by each node to detect changes
+CREATE TABLE IF NOT EXISTS DREAM_JOB_SUSPENSION_VERSION (
+    ID INTEGER NOT NULL PRIMARY KEY,
+    VERSION BIGINT NOT NULL
+);
+
+INSERT INTO DREAM_JOB_SUSPENSION_VERSION (ID, VERSION)
+SELECT 1, 0 WHERE NOT EXISTS (SELECT 1 FROM DREAM_JOB_SUSPENSION_VERSION WHERE ID = 1);
+
+-- Workflow definitions: the step jobs of a workflow and the steps each one waits for
+CREATE TABLE IF NOT EXISTS DREAM_WORKFLOW (
+    WORKFLOW_NAME VARCHAR(200) NOT NULL PRIMARY KEY,
+    CRON_EXPRESSION VARCHAR(120),
+    UPDATED_AT TIMESTAMP NOT NULL
+);
+
+-- DEPENDS_ON is a comma-separated list of step names of the same workflow
+CREATE TABLE IF NOT EXISTS DREAM_WORKFLOW_STEP (
+    WORKFLOW_NAME VARCHAR(200) NOT NULL,
+    STEP_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    LANE VARCHAR(100),
+    DEPENDS_ON VARCHAR(2000),
+    PRIMARY KEY (WORKFLOW_NAME, STEP_NAME)
+);
+
+-- Workflow runs and the state of each of their steps, so another node can continue a run after failover
+CREATE TABLE IF NOT EXISTS DREAM_WORKFLOW_RUN (
+    RUN_ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    WORKFLOW_NAME VARCHAR(200) NOT NULL,
+    STATUS VARCHAR(16) NOT NULL,
+    STARTED_AT TIMESTAMP NOT NULL,
+    FINISHED_AT TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS IDX_WORKFLOW_RUN_STATUS ON DREAM_WORKFLOW_RUN(WORKFLOW_NAME, STATUS);
+
+CREATE TABLE IF NOT EXISTS DREAM_WORKFLOW_RUN_STEP (
+    RUN_ID BIGINT NOT NULL,
+    STEP_NAME VARCHAR(200) NOT NULL,
+    JOB_GROUP VARCHAR(200) NOT NULL,
+    DEPENDS_ON VARCHAR(2000),
+    STATUS VARCHAR(16) NOT NULL,
+    STARTED_AT TIMESTAMP,
+    FINISHED_AT TIMESTAMP,
+    PRIMARY KEY (RUN_ID, STEP_NAME)
+);
@@ -0,0 +1,140 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.admission.AdmissionControlListener;
+import com.ss.quartzScheduler.config.AdmissionProperties;
+import com.ss.quartzScheduler.job.HelloWorldJob;
+import com.ss.quartzScheduler.model.dto.AdmissionLimitDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.quartz.Job;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+/**
+ * Unit tests for AdmissionControlListener class
+ */
+class AdmissionControlListenerTest {
+
+    private static final String GROUP = "limited";
+
+    private Scheduler scheduler;
+    private AdmissionProperties properties;
+    private AdmissionControlListener listener;
+    private JobDetail jobDetail;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = mock(Scheduler.class);
+        properties = new AdmissionProperties();
+        properties.setDeferDelayMs(500);
+        properties.setMaxDeferrals(2);
+        AdmissionProperties.Limit limit = new AdmissionProperties.Limit();
+        limit.setMaxInFlight(1);
+        properties.getGroups().put(GROUP, limit);
+        listener = new AdmissionControlListener(properties, new SimpleMeterRegistry());
+        jobDetail = newJob(HelloWorldJob.class).withIdentity("job", GROUP).build();
+    }
+
+    @Test
+    void testVetoJobExecution_defersThenRejectsAfterMaxDeferrals() throws SchedulerException {
+        JobExecutionContext running = context(trigger());
+        assertFalse(listener.vetoJobExecution(running.getTrigger(), running));
+
+        // Every deferral fires the job again with a one-shot trigger carrying the trigger data
+        Trigger next = trigger();
+        ArgumentCaptor<Trigger> deferred = ArgumentCaptor.forClass(Trigger.class);
+        for (int deferral = 1; deferral <= 2; deferral++) {
+            JobExecutionContext context = context(next);
+            long before = System.currentTimeMillis();
+            assertTrue(listener.vetoJobExecution(next, context));
+            assertEquals(Boolean.TRUE, context.get(AdmissionControlListener.DEFERRED_KEY));
+
+            verify(scheduler, times(deferral)).scheduleJob(deferred.capture());
+            next = deferred.getValue();
+            assertEquals(AdmissionControlListener.DEFERRED_TRIGGER_GROUP, next.getKey().getGroup());
+            assertEquals(jobDetail.getKey(), next.getJobKey());
+            assertEquals("value", next.getJobDataMap().getString("key"));
+            long delay = next.getStartTime().getTime() - before;
+            assertTrue(delay >= 500 && delay <= 1000 + System.currentTimeMillis() - before, "Deferred by " + delay);
+        }
+
+        JobExecutionContext rejected = context(next);
+        assertTrue(listener.vetoJobExecution(next, rejected));
+        assertNull(rejected.get(AdmissionControlListener.DEFERRED_KEY));
+        verify(scheduler, times(2)).scheduleJob(any(Trigger.class));
+
+        AdmissionLimitDto limits = listener.getLimits().get(0);
+        assertEquals(1, limits.getAdmitted());
+        assertEquals(2, limits.getDeferred());
+        assertEquals(1, limits.getRejected());
+        assertEquals(1, limits.getInFlight());
+    }
+
+    @Test
+    void testTriggerComplete_releasesSlot() {
+        JobExecutionContext first = context(trigger());
+        assertFalse(listener.vetoJobExecution(first.getTrigger(), first));
+
+        listener.triggerComplete(first.getTrigger(), first, Trigger.CompletedExecutionInstruction.NOOP);
+
+        JobExecutionContext second = context(trigger());
+        assertFalse(listener.vetoJobExecution(second.getTrigger(), second));
+    }
+
+    @Test
+    void testTriggerComplete_holdsSlotUntilResultCompletes() {
+        JobExecutionContext first = context(trigger());
+        listener.vetoJobExecution(first.getTrigger(), first);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        first.setResult(result);
+
+        listener.triggerComplete(first.getTrigger(), first, Trigger.CompletedExecutionInstruction.NOOP);
+        assertEquals(1, listener.getLimits().get(0).getInFlight());
+
+        result.complete(null);
+        assertEquals(0, listener.getLimits().get(0).getInFlight());
+    }
+
+    @Test
+    void testVetoJobExecution_admitsGroupsWithoutLimits() {
+        JobDetail other = newJob(HelloWorldJob.class).withIdentity("job", "unlimited").build();
+        OperableTrigger trigger = (OperableTrigger) newTrigger().forJob(other).startNow().build();
+        for (int i = 0; i < 10; i++) {
+            JobExecutionContext context = context(trigger, other);
+            assertFalse(listener.vetoJobExecution(trigger, context));
+        }
+    }
+
+    private OperableTrigger trigger() {
+        return (OperableTrigger) newTrigger().forJob(jobDetail).usingJobData("key", "value").startNow().build();
+    }
+
+    private JobExecutionContext context(Trigger trigger) {
+        return context((OperableTrigger) trigger, jobDetail);
+    }
+
+    private JobExecutionContext context(OperableTrigger trigger, JobDetail job) {
+        trigger.setFireInstanceId(UUID.randomUUID().toString());
+        Date now = new Date();
+        return new JobExecutionContextImpl(scheduler,
+                new TriggerFiredBundle(job, trigger, null, false, now, now, null, null), mock(Job.class));
+    }
+}
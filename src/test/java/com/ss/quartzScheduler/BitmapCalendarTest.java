@@ -0,0 +1,175 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.calendar.BitmapCalendar;
+import com.ss.quartzScheduler.model.enums.CalendarType;
+import org.junit.jupiter.api.Test;
+import org.quartz.impl.calendar.HolidayCalendar;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BitmapCalendar class
+ */
+class BitmapCalendarTest {
+
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final TimeZone BERLIN = TimeZone.getTimeZone("Europe/Berlin");
+    private static final Set<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+    @Test
+    void testIsTimeIncluded_excludesHolidaysWeekendsAndOutsideBusinessHours() {
+        BitmapCalendar calendar = businessCalendar(UTC, List.of(LocalDate.of(2026, 1, 6)));
+
+        assertTrue(calendar.isTimeIncluded(millis("2026-01-05T09:00:00Z")));
+        assertTrue(calendar.isTimeIncluded(millis("2026-01-05T16:59:59Z")));
+        assertFalse(calendar.isTimeIncluded(millis("2026-01-05T08:59:59Z")));
+        assertFalse(calendar.isTimeIncluded(millis("2026-01-05T17:00:00Z")));
+        // Holiday
+        assertFalse(calendar.isTimeIncluded(millis("2026-01-06T10:00:00Z")));
+        // Saturday
+        assertFalse(calendar.isTimeIncluded(millis("2026-01-10T10:00:00Z")));
+    }
+
+    @Test
+    void testIsTimeIncluded_holidayCalendarIncludesWholeDays() {
+        BitmapCalendar calendar = new BitmapCalendar(CalendarType.HOLIDAY, "holidays", UTC,
+                List.of(LocalDate.of(2026, 12, 25)), List.of(), null, null);
+
+        assertFalse(calendar.isTimeIncluded(millis("2026-12-25T00:00:00Z")));
+        assertFalse(calendar.isTimeIncluded(millis("2026-12-25T23:59:59Z")));
+        assertTrue(calendar.isTimeIncluded(millis("2026-12-26T00:00:00Z")));
+        assertTrue(calendar.isTimeIncluded(millis("2026-12-27T03:00:00Z")));
+    }
+
+    @Test
+    void testIsTimeIncluded_usesCalendarTimeZone() {
+        BitmapCalendar calendar = new BitmapCalendar(CalendarType.BUSINESS, "weekdays", BERLIN, List.of(),
+                WEEKDAYS, null, null);
+
+        // Friday in UTC, but already Saturday in Berlin
+        assertFalse(calendar.isTimeIncluded(millis("2026-01-09T23:30:00Z")));
+        // Sunday in UTC, but already Monday in Berlin
+        assertTrue(calendar.isTimeIncluded(millis("2026-01-11T23:30:00Z")));
+    }
+
+    @Test
+    void testGetNextIncludedTime_skipsHolidaysWeekendsAndOutsideBusinessHours() {
+        BitmapCalendar calendar = businessCalendar(UTC, List.of(LocalDate.of(2026, 1, 6)));
+
+        // An included time is its own next included time
+        assertEquals(millis("2026-01-05T10:00:00Z"), calendar.getNextIncludedTime(millis("2026-01-05T10:00:00Z")));
+        assertEquals(millis("2026-01-05T09:00:00Z"), calendar.getNextIncludedTime(millis("2026-01-05T07:00:00Z")));
+        // Past the business hours of Monday, Tuesday is a holiday
+        assertEquals(millis("2026-01-07T09:00:00Z"), calendar.getNextIncludedTime(millis("2026-01-05T17:00:00Z")));
+        // Friday evening to Monday morning
+        assertEquals(millis("2026-01-12T09:00:00Z"), calendar.getNextIncludedTime(millis("2026-01-09T18:00:00Z")));
+    }
+
+    @Test
+    void testGetNextIncludedTime_crossesYearBoundary() {
+        BitmapCalendar calendar = businessCalendar(UTC,
+                List.of(LocalDate.of(2026, 12, 31), LocalDate.of(2027, 1, 1)));
+
+        // Wednesday evening, Thursday and Friday are holidays, then the weekend
+        assertEquals(millis("2027-01-04T09:00:00Z"), calendar.getNextIncludedTime(millis("2026-12-30T18:00:00Z")));
+        assertFalse(calendar.isTimeIncluded(millis("2027-01-01T10:00:00Z")));
+        assertTrue(calendar.isTimeIncluded(millis("2027-01-04T10:00:00Z")));
+
+        // No included day left in the year
+        BitmapCalendar endOfYear = new BitmapCalendar(CalendarType.HOLIDAY, "holidays", UTC,
+                List.of(LocalDate.of(2026, 12, 30), LocalDate.of(2026, 12, 31)), List.of(), null, null);
+        assertEquals(millis("2027-01-01T00:00:00Z"), endOfYear.getNextIncludedTime(millis("2026-12-30T12:00:00Z")));
+    }
+
+    @Test
+    void testGetNextIncludedTime_daylightSavingTransitions() {
+        // Berlin skips from 02:00 to 03:00 on 29 March 2026 and repeats 02:00 to 03:00 on 25 October 2026
+        BitmapCalendar calendar = new BitmapCalendar(CalendarType.BUSINESS, "night", BERLIN, List.of(), List.of(),
+                LocalTime.of(2, 0), LocalTime.of(4, 0));
+
+        // 01:30 CET, the business hours start at a local time that does not exist that day
+        assertEquals(millis("2026-03-29T01:00:00Z"), calendar.getNextIncludedTime(millis("2026-03-29T00:30:00Z")));
+        assertTrue(calendar.isTimeIncluded(millis("2026-03-29T01:00:00Z")));
+        // 04:00 CEST
+        assertFalse(calendar.isTimeIncluded(millis("2026-03-29T02:00:00Z")));
+
+        // Both 02:30 of the repeated hour are included, 04:00 CET is not
+        assertTrue(calendar.isTimeIncluded(millis("2026-10-25T00:30:00Z")));
+        assertTrue(calendar.isTimeIncluded(millis("2026-10-25T01:30:00Z")));
+        assertFalse(calendar.isTimeIncluded(millis("2026-10-25T03:00:00Z")));
+        // 04:00 CET to 02:00 CET of the next day
+        assertEquals(millis("2026-10-26T01:00:00Z"), calendar.getNextIncludedTime(millis("2026-10-25T03:00:00Z")));
+    }
+
+    @Test
+    void testGetNextIncludedTime_skipsTimesExcludedByBaseCalendar() {
+        HolidayCalendar base = new HolidayCalendar();
+        base.setTimeZone(UTC);
+        base.addExcludedDate(Date.from(Instant.parse("2026-01-06T00:00:00Z")));
+        BitmapCalendar calendar = businessCalendar(UTC, List.of());
+        calendar.setBaseCalendar(base);
+
+        assertFalse(calendar.isTimeIncluded(millis("2026-01-06T10:00:00Z")));
+        assertTrue(calendar.isTimeIncluded(millis("2026-01-07T10:00:00Z")));
+        assertEquals(millis("2026-01-05T10:00:00Z"), calendar.getNextIncludedTime(millis("2026-01-05T10:00:00Z")));
+        assertEquals(millis("2026-01-07T09:00:00Z"), calendar.getNextIncludedTime(millis("2026-01-05T17:30:00Z")));
+    }
+
+    @Test
+    void testReadObject_rebuildsBitmaps() throws Exception {
+        BitmapCalendar calendar = businessCalendar(BERLIN, List.of(LocalDate.of(2026, 1, 6)));
+        HolidayCalendar base = new HolidayCalendar();
+        base.setTimeZone(BERLIN);
+        base.addExcludedDate(Date.from(Instant.parse("2026-01-06T23:00:00Z")));
+        calendar.setBaseCalendar(base);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(calendar);
+        }
+        BitmapCalendar restored;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            restored = (BitmapCalendar) in.readObject();
+        }
+
+        assertEquals(calendar.getHolidays(), restored.getHolidays());
+        assertEquals(calendar.getBusinessDays(), restored.getBusinessDays());
+        assertEquals(BERLIN, restored.getTimeZone());
+        assertTrue(restored.isTimeIncluded(millis("2026-01-05T08:00:00Z")));
+        assertFalse(restored.isTimeIncluded(millis("2026-01-05T16:00:00Z")));
+        // Holiday, then a date excluded by the base calendar
+        assertEquals(millis("2026-01-08T08:00:00Z"), restored.getNextIncludedTime(millis("2026-01-05T16:00:00Z")));
+    }
+
+    @Test
+    void testConstructor_rejectsBusinessHoursEndingBeforeStart() {
+        assertThrows(IllegalArgumentException.class, () -> new BitmapCalendar(CalendarType.BUSINESS, "night", UTC,
+                List.of(), WEEKDAYS, LocalTime.of(17, 0), LocalTime.of(9, 0)));
+    }
+
+    /**
+     * Weekdays from 09:00 to 17:00
+     */
+    private static BitmapCalendar businessCalendar(TimeZone timeZone, List<LocalDate> holidays) {
+        return new BitmapCalendar(CalendarType.BUSINESS, "business", timeZone, holidays, WEEKDAYS,
+                LocalTime.of(9, 0), LocalTime.of(17, 0));
+    }
+
+    private static long millis(String instant) {
+        return Instant.parse(instant).toEpochMilli();
+    }
+}
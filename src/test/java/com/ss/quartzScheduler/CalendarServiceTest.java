@@ -0,0 +1,80 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.calendar.BitmapCalendar;
+import com.ss.quartzScheduler.calendar.CalendarService;
+import com.ss.quartzScheduler.exception.JobManagementException;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import com.ss.quartzScheduler.model.enums.CalendarType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CalendarService class
+ */
+class CalendarServiceTest {
+
+    private Scheduler first;
+    private Scheduler second;
+    private BitmapCalendar calendar;
+    private CalendarService calendarService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        first = mock(Scheduler.class);
+        second = mock(Scheduler.class);
+        SchedulerLanes lanes = mock(SchedulerLanes.class);
+        when(lanes.getSchedulers()).thenReturn(List.of(first, second));
+        calendar = new BitmapCalendar(CalendarType.HOLIDAY, "holidays", TimeZone.getTimeZone("UTC"),
+                List.of(LocalDate.of(2026, 12, 25)), List.of(), null, null);
+        calendarService = new CalendarService(lanes);
+    }
+
+    @Test
+    void testRemoveCalendar_removesFromEveryShard() throws Exception {
+        when(first.getCalendar("holidays")).thenReturn(calendar);
+        when(first.deleteCalendar("holidays")).thenReturn(true);
+        when(second.getCalendar("holidays")).thenReturn(calendar);
+        when(second.deleteCalendar("holidays")).thenReturn(true);
+
+        calendarService.removeCalendar("holidays");
+
+        verify(first).deleteCalendar("holidays");
+        verify(second).deleteCalendar("holidays");
+    }
+
+    @Test
+    void testRemoveCalendar_restoresEarlierShardsWhenLaterShardStillUsesIt() throws Exception {
+        BitmapCalendar secondCopy = new BitmapCalendar(CalendarType.HOLIDAY, "holidays", TimeZone.getTimeZone("UTC"),
+                List.of(LocalDate.of(2026, 12, 25)), List.of(), null, null);
+        when(first.getCalendar("holidays")).thenReturn(calendar);
+        when(first.deleteCalendar("holidays")).thenReturn(true);
+        when(second.getCalendar("holidays")).thenReturn(secondCopy);
+        when(second.deleteCalendar("holidays"))
+                .thenThrow(new SchedulerException("Calender cannot be removed if it referenced by a trigger!"));
+
+        JobManagementException e = assertThrows(JobManagementException.class,
+                () -> calendarService.removeCalendar("holidays"));
+
+        assertTrue(e.getMessage().startsWith("Calendar holidays cannot be removed"));
+        verify(first).addCalendar("holidays", calendar, true, false);
+        verify(second, never()).addCalendar(anyString(), any(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void testRemoveCalendar_missingCalendar() throws Exception {
+        JobManagementException e = assertThrows(JobManagementException.class,
+                () -> calendarService.removeCalendar("holidays"));
+
+        assertEquals("Calendar does not exist: holidays", e.getMessage());
+        verify(first, never()).deleteCalendar(anyString());
+    }
+}
@@ -0,0 +1,161 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.job.HelloWorldJob;
+import com.ss.quartzScheduler.jobstore.CompactJobDataDelegate;
+import com.ss.quartzScheduler.jobstore.JobDataCodec;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.impl.jdbcjobstore.StdJDBCDelegate;
+import org.quartz.simpl.CascadingClassLoadHelper;
+import org.quartz.spi.ClassLoadHelper;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.quartz.JobBuilder.newJob;
+
+/**
+ * Unit tests for CompactJobDataDelegate class
+ */
+class CompactJobDataDelegateTest {
+
+    private static final JobKey JOB_KEY = JobKey.jobKey("job", "group");
+
+    private ClassLoadHelper loadHelper;
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private Connection connection;
+    private CompactJobDataDelegate delegate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        ResourceDatabasePopulator populator =
+                new ResourceDatabasePopulator(new ClassPathResource("quartz/schema-h2.sql"));
+        // Only the Quartz tables are needed, skip the statements of the script H2 does not accept
+        populator.setContinueOnError(true);
+        populator.execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        connection = dataSource.getConnection();
+
+        loadHelper = new CascadingClassLoadHelper();
+        loadHelper.initialize();
+        delegate = new CompactJobDataDelegate();
+        initialize(delegate);
+
+        meterRegistry = new SimpleMeterRegistry();
+        Metrics.addRegistry(meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Metrics.removeRegistry(meterRegistry);
+        connection.close();
+    }
+
+    @Test
+    void testInsertJobDetail_storesEncodedJobData() throws Exception {
+        Date lastRun = new Date();
+        delegate.insertJobDetail(connection, job("count", 3, "lastRun", lastRun, "note", null));
+
+        assertTrue(JobDataCodec.isEncoded(storedJobData()));
+        // Read back by another node
+        CompactJobDataDelegate reader = new CompactJobDataDelegate();
+        initialize(reader);
+        JobDetail stored = reader.selectJobDetail(connection, JOB_KEY, loadHelper);
+        assertEquals(3, stored.getJobDataMap().get("count"));
+        assertEquals(lastRun, stored.getJobDataMap().get("lastRun"));
+        assertTrue(stored.getJobDataMap().containsKey("note"));
+    }
+
+    @Test
+    void testInsertJobDetail_serializesUnsupportedValues() throws Exception {
+        delegate.insertJobDetail(connection, job("amount", new BigDecimal("12.50")));
+
+        assertFalse(JobDataCodec.isEncoded(storedJobData()));
+        JobDetail stored = delegate.selectJobDetail(connection, JOB_KEY, loadHelper);
+        assertEquals(new BigDecimal("12.50"), stored.getJobDataMap().get("amount"));
+    }
+
+    @Test
+    void testSelectJobDetail_readsLegacySerializedJobData() throws Exception {
+        StdJDBCDelegate legacy = new StdJDBCDelegate();
+        initialize(legacy);
+        legacy.insertJobDetail(connection, job("cusip", "037833100", "count", 7L));
+        assertFalse(JobDataCodec.isEncoded(storedJobData()));
+
+        JobDetail stored = delegate.selectJobDetail(connection, JOB_KEY, loadHelper);
+
+        assertEquals("037833100", stored.getJobDataMap().getString("cusip"));
+        assertEquals(7L, stored.getJobDataMap().get("count"));
+
+        // The first update after an execution rewrites the legacy blob in the new encoding
+        stored.getJobDataMap().put("count", 8L);
+        delegate.updateJobData(connection, stored);
+        assertTrue(JobDataCodec.isEncoded(storedJobData()));
+    }
+
+    @Test
+    void testUpdateJobData_skipsUnchangedJobData() throws Exception {
+        delegate.insertJobDetail(connection, job("count", 3));
+        JobDetail fired = delegate.selectJobDetail(connection, JOB_KEY, loadHelper);
+
+        // Written to but left equal, like a job putting back the value it read
+        fired.getJobDataMap().put("count", 3);
+        Connection untouched = mock(Connection.class);
+        assertEquals(1, delegate.updateJobData(untouched, fired));
+
+        verifyNoInteractions(untouched);
+        assertEquals(1, meterRegistry.get("scheduler.jobstore.job-data.unchanged").counter().count());
+        assertEquals(0, meterRegistry.get("scheduler.jobstore.job-data.written").summary().totalAmount());
+    }
+
+    @Test
+    void testUpdateJobData_writesChangedJobData() throws Exception {
+        delegate.insertJobDetail(connection, job("count", 3));
+        JobDetail fired = delegate.selectJobDetail(connection, JOB_KEY, loadHelper);
+
+        fired.getJobDataMap().put("count", 4);
+        assertEquals(1, delegate.updateJobData(connection, fired));
+        assertEquals(4, JobDataCodec.decode(storedJobData()).get("count"));
+
+        // The written data is what the next unchanged execution compares against
+        Connection untouched = mock(Connection.class);
+        delegate.updateJobData(untouched, fired);
+        verifyNoInteractions(untouched);
+    }
+
+    private void initialize(StdJDBCDelegate jdbcDelegate) throws Exception {
+        jdbcDelegate.initialize(LoggerFactory.getLogger(getClass()), "QRTZ_", "TestScheduler", "test", loadHelper,
+                false, null);
+    }
+
+    private byte[] storedJobData() {
+        return jdbcTemplate.queryForObject("SELECT JOB_DATA FROM QRTZ_JOB_DETAILS WHERE JOB_NAME = ?",
+                byte[].class, JOB_KEY.getName());
+    }
+
+    private static JobDetail job(Object... keysAndValues) {
+        JobDetail job = newJob(HelloWorldJob.class).withIdentity(JOB_KEY).storeDurably().build();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            job.getJobDataMap().put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,71 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.util.CronExpressionCache;
+import com.ss.quartzScheduler.util.CronUtil;
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CronExpressionCache class
+ */
+class CronExpressionCacheTest {
+
+    @Test
+    void testValidate_cachesCompiledExpression() throws ParseException {
+        CronExpressionCache cache = new CronExpressionCache(10);
+        cache.validate(CronUtil.CommonCronExpressions.EVERY_MINUTE);
+        cache.validate(CronUtil.CommonCronExpressions.EVERY_MINUTE);
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testValidate_invalidNotCached() {
+        CronExpressionCache cache = new CronExpressionCache(10);
+        assertThrows(ParseException.class, () -> cache.validate("invalid-cron"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testEviction_leastRecentlyUsed() throws ParseException {
+        CronExpressionCache cache = new CronExpressionCache(2);
+        cache.validate(CronUtil.CommonCronExpressions.EVERY_MINUTE);
+        cache.validate(CronUtil.CommonCronExpressions.EVERY_HOUR);
+        cache.validate(CronUtil.CommonCronExpressions.EVERY_MINUTE);
+        cache.validate(CronUtil.CommonCronExpressions.DAILY_AT_NOON);
+
+        assertEquals(2, cache.size());
+
+        // EVERY_MINUTE was used most recently before the eviction, EVERY_HOUR was evicted
+        long misses = cache.getMisses();
+        cache.validate(CronUtil.CommonCronExpressions.EVERY_MINUTE);
+        assertEquals(misses, cache.getMisses());
+        cache.validate(CronUtil.CommonCronExpressions.EVERY_HOUR);
+        assertEquals(misses + 1, cache.getMisses());
+    }
+
+    @Test
+    void testGetNextValidTimesAfter_ordered() throws ParseException {
+        CronExpressionCache cache = new CronExpressionCache(10);
+        Date[] times = cache.getNextValidTimesAfter(CronUtil.CommonCronExpressions.EVERY_MINUTE, new Date(), 3);
+
+        assertEquals(3, times.length);
+        assertTrue(times[0].before(times[1]));
+        assertTrue(times[1].before(times[2]));
+    }
+
+    @Test
+    void testGetNextValidTimesAfter_scheduleEnds() throws ParseException {
+        CronExpressionCache cache = new CronExpressionCache(10);
+        Date[] times = cache.getNextValidTimesAfter("0 0 12 1 1 ? 2000", new Date(), 2);
+
+        assertNull(times[0]);
+        assertNull(times[1]);
+    }
+}
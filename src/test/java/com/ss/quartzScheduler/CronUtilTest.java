@@ -53,6 +53,14 @@ class CronUtilTest {
         assertEquals(0, times.length);
     }
 
+    @Test
+    void testGetNextExecutionTime_usesCronCache() {
+        long hits = CronUtil.getCronCache().getHits();
+        CronUtil.validateCron(CronUtil.CommonCronExpressions.EVERY_30_MINUTES);
+        CronUtil.getNextExecutionTime(CronUtil.CommonCronExpressions.EVERY_30_MINUTES);
+        assertTrue(CronUtil.getCronCache().getHits() > hits);
+    }
+
     @Test
     void testGenerateCron_oneTime() {
         String cron = CronUtil.generateCron(0, 0, 10, 1, 1, 2025, false, null, null);
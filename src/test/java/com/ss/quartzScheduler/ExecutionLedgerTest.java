@@ -0,0 +1,230 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.config.LedgerProperties;
+import com.ss.quartzScheduler.job.HelloWorldJob;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import com.ss.quartzScheduler.service.ExecutionLedger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+/**
+ * Unit tests for ExecutionLedger class
+ */
+class ExecutionLedgerTest {
+
+    private static final JobKey JOB_KEY = JobKey.jobKey("adr", "group");
+
+    private JdbcTemplate jdbcTemplate;
+    private LedgerProperties properties;
+    private Scheduler scheduler;
+    private SchedulerLanes lanes;
+    private ExecutionLedger executionLedger;
+    private JobDetail jobDetail;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        ResourceDatabasePopulator populator =
+                new ResourceDatabasePopulator(new ClassPathResource("quartz/schema-h2.sql"));
+        // Only the ledger tables are needed, skip the statements of the script H2 does not accept
+        populator.setContinueOnError(true);
+        populator.execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        scheduler = mock(Scheduler.class);
+        lanes = mock(SchedulerLanes.class);
+        when(lanes.find(JOB_KEY)).thenReturn(scheduler);
+        ObjectProvider<SchedulerLanes> lanesProvider = mock(ObjectProvider.class);
+        when(lanesProvider.getObject()).thenReturn(lanes);
+        properties = new LedgerProperties();
+        executionLedger = new ExecutionLedger(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), properties, lanesProvider);
+        jobDetail = newJob(HelloWorldJob.class).withIdentity(JOB_KEY).build();
+    }
+
+    @Test
+    void testResumeStaleLedgers_resumedLedgerSkipsCompletedSteps() throws Exception {
+        ExecutionLedger.Ledger lost = executionLedger.open(context(new JobDataMap()));
+        lost.complete("037833100/fetch");
+        lost.complete("037833100/sendEmail");
+        // The node died while the pipeline ran
+        makeStale();
+
+        executionLedger.resumeStaleLedgers();
+
+        ArgumentCaptor<JobDataMap> resumeData = ArgumentCaptor.forClass(JobDataMap.class);
+        verify(scheduler).triggerJob(eq(JOB_KEY), resumeData.capture());
+        assertEquals(lost.getId(), resumeData.getValue().getString(ExecutionLedger.LEDGER_ID_KEY));
+
+        ExecutionLedger.Ledger resumed = executionLedger.open(context(resumeData.getValue()));
+        assertEquals(lost.getId(), resumed.getId());
+        assertTrue(resumed.isCompleted("037833100/fetch"));
+        assertTrue(resumed.isCompleted("037833100/sendEmail"));
+        assertFalse(resumed.isCompleted("037833100/insertDmc"));
+        assertFalse(resumed.isCompleted("037833100/updateTables"));
+    }
+
+    @Test
+    void testResumeStaleLedgers_leavesRunningLedgers() throws Exception {
+        executionLedger.open(context(new JobDataMap()));
+
+        executionLedger.resumeStaleLedgers();
+
+        verify(scheduler, never()).triggerJob(any(JobKey.class), any(JobDataMap.class));
+    }
+
+    @Test
+    void testResumeStaleLedgers_resumesLedgerOnce() throws Exception {
+        executionLedger.open(context(new JobDataMap()));
+        makeStale();
+
+        executionLedger.resumeStaleLedgers();
+        executionLedger.resumeStaleLedgers();
+
+        verify(scheduler, times(1)).triggerJob(eq(JOB_KEY), any(JobDataMap.class));
+    }
+
+    @Test
+    void testResumeStaleLedgers_leavesLedgerContinuedByPendingRetry() throws Exception {
+        ExecutionLedger.Ledger ledger = executionLedger.open(context(new JobDataMap()));
+        makeStale();
+        JobDataMap retryData = new JobDataMap();
+        retryData.put(ExecutionLedger.LEDGER_ID_KEY, ledger.getId());
+        Trigger retry = newTrigger().forJob(JOB_KEY).usingJobData(retryData).build();
+        doReturn(List.of(retry)).when(scheduler).getTriggersOfJob(JOB_KEY);
+
+        executionLedger.resumeStaleLedgers();
+
+        verify(scheduler, never()).triggerJob(any(JobKey.class), any(JobDataMap.class));
+    }
+
+    @Test
+    void testResumeStaleLedgers_leavesLedgerContinuedByQuartzRecovery() throws Exception {
+        JobExecutionContext lost = context(new JobDataMap());
+        executionLedger.open(lost);
+        makeStale();
+        JobDataMap recoveryData = new JobDataMap();
+        recoveryData.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_NAME, lost.getTrigger().getKey().getName());
+        recoveryData.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_GROUP, lost.getTrigger().getKey().getGroup());
+        recoveryData.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_SCHEDULED_FIRETIME_IN_MILLISECONDS,
+                String.valueOf(lost.getScheduledFireTime().getTime()));
+        Trigger recovery = newTrigger().forJob(JOB_KEY).withIdentity("recover", Scheduler.DEFAULT_RECOVERY_GROUP)
+                .usingJobData(recoveryData).build();
+        doReturn(List.of(recovery)).when(scheduler).getTriggersOfJob(JOB_KEY);
+
+        executionLedger.resumeStaleLedgers();
+
+        verify(scheduler, never()).triggerJob(any(JobKey.class), any(JobDataMap.class));
+    }
+
+    @Test
+    void testResumeStaleLedgers_removesLedgerOfDeletedJob() throws Exception {
+        ExecutionLedger.Ledger ledger = executionLedger.open(context(new JobDataMap()));
+        ledger.complete("037833100/fetch");
+        makeStale();
+        when(lanes.find(JOB_KEY)).thenReturn(null);
+
+        executionLedger.resumeStaleLedgers();
+
+        assertEquals(0, count("DREAM_EXECUTION_LEDGER"));
+        assertEquals(0, count("DREAM_EXECUTION_LEDGER_STEP"));
+    }
+
+    @Test
+    void testResumeStaleLedgers_disabled() throws Exception {
+        properties.setResumeAfterMs(0);
+        executionLedger.open(context(new JobDataMap()));
+        makeStale();
+
+        executionLedger.resumeStaleLedgers();
+
+        verifyNoInteractions(lanes);
+    }
+
+    @Test
+    void testComplete_touchesRunningLedger() throws Exception {
+        properties.setResumeAfterMs(40);
+        ExecutionLedger.Ledger ledger = executionLedger.open(context(new JobDataMap()));
+        makeStale();
+
+        Thread.sleep(20);
+        ledger.complete("037833100/fetch");
+
+        Timestamp updatedAt = jdbcTemplate.queryForObject("SELECT UPDATED_AT FROM DREAM_EXECUTION_LEDGER",
+                Timestamp.class);
+        assertTrue(updatedAt.toLocalDateTime().isAfter(LocalDateTime.now().minusMinutes(1)));
+    }
+
+    @Test
+    void testOpen_recoveringExecutionFindsLedgerOfFailedFire() {
+        JobExecutionContext lost = context(new JobDataMap());
+        ExecutionLedger.Ledger ledger = executionLedger.open(lost);
+        ledger.complete("037833100/fetch");
+
+        JobDataMap recoveryData = new JobDataMap();
+        recoveryData.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_NAME, lost.getTrigger().getKey().getName());
+        recoveryData.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_GROUP, lost.getTrigger().getKey().getGroup());
+        recoveryData.put(Scheduler.FAILED_JOB_ORIGINAL_TRIGGER_SCHEDULED_FIRETIME_IN_MILLISECONDS,
+                String.valueOf(lost.getScheduledFireTime().getTime()));
+        ExecutionLedger.Ledger recovered = executionLedger.open(context(recoveryData, true));
+
+        assertEquals(ledger.getId(), recovered.getId());
+        assertTrue(recovered.isCompleted("037833100/fetch"));
+    }
+
+    private void makeStale() {
+        jdbcTemplate.update("UPDATE DREAM_EXECUTION_LEDGER SET UPDATED_AT = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private JobExecutionContext context(JobDataMap triggerData) {
+        return context(triggerData, false);
+    }
+
+    private JobExecutionContext context(JobDataMap triggerData, boolean recovering) {
+        OperableTrigger trigger = (OperableTrigger) newTrigger().forJob(jobDetail).usingJobData(triggerData)
+                .startNow().build();
+        trigger.setFireInstanceId(UUID.randomUUID().toString());
+        Date scheduled = new Date(System.currentTimeMillis() / 1000 * 1000);
+        return new JobExecutionContextImpl(scheduler,
+                new TriggerFiredBundle(jobDetail, trigger, null, recovering, new Date(), scheduled, null, null),
+                mock(Job.class));
+    }
+}
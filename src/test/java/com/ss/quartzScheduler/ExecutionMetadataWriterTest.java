@@ -0,0 +1,148 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.model.entity.JobExecutionMetadata;
+import com.ss.quartzScheduler.model.enums.OverflowPolicy;
+import com.ss.quartzScheduler.service.ExecutionMetadataWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExecutionMetadataWriter class
+ */
+class ExecutionMetadataWriterTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE DREAM_JOB_EXECUTION_METADATA (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "job_name VARCHAR(255), job_group VARCHAR(255), last_scheduled_time TIMESTAMP, " +
+                "actual_fire_time TIMESTAMP, next_fire_time TIMESTAMP, execution_time TIMESTAMP, bucket_day BIGINT)");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testCallerRuns_writesDirectlyWhenQueueFull() {
+        // Flusher not started, so only the caller can write rows beyond the queue
+        ExecutionMetadataWriter writer = writer(1, OverflowPolicy.CALLER_RUNS);
+        writer.write(row(1));
+        writer.write(row(2));
+        writer.write(row(3));
+
+        assertEquals(2, rowCount());
+
+        writer.shutdown();
+        assertEquals(3, rowCount());
+    }
+
+    @Test
+    void testDrop_discardsRowsWhenQueueFull() {
+        ExecutionMetadataWriter writer = writer(1, OverflowPolicy.DROP);
+        writer.write(row(1));
+        writer.write(row(2));
+        writer.write(row(3));
+
+        assertEquals(0, rowCount());
+        assertEquals(2, meterRegistry.get("scheduler.metadata.dropped").counter().count());
+
+        writer.shutdown();
+        assertEquals(1, rowCount());
+    }
+
+    @Test
+    void testBlock_waitsForQueueSpace() throws InterruptedException {
+        ExecutionMetadataWriter writer = writer(1, OverflowPolicy.BLOCK);
+        writer.write(row(1));
+
+        Thread blocked = new Thread(() -> writer.write(row(2)));
+        blocked.start();
+        blocked.join(200);
+        assertTrue(blocked.isAlive());
+        assertEquals(0, rowCount());
+
+        // The flusher frees queue space
+        writer.start();
+        blocked.join(5000);
+        assertFalse(blocked.isAlive());
+
+        writer.shutdown();
+        assertEquals(2, rowCount());
+    }
+
+    @Test
+    void testShutdown_flushesQueuedRows() {
+        ExecutionMetadataWriter writer = writer(1000, OverflowPolicy.BLOCK);
+        writer.start();
+        for (int i = 0; i < 250; i++) {
+            writer.write(row(i));
+        }
+
+        writer.shutdown();
+        assertEquals(250, rowCount());
+    }
+
+    @Test
+    void testShutdown_concurrentWritesAreNotLost() throws InterruptedException {
+        ExecutionMetadataWriter writer = writer(100, OverflowPolicy.CALLER_RUNS);
+        writer.start();
+
+        int threads = 8;
+        int rowsPerThread = 200;
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < rowsPerThread; i++) {
+                    writer.write(row(i));
+                }
+            });
+            writers.add(thread);
+            thread.start();
+        }
+
+        // Shut down while the workers are still writing
+        started.await();
+        writer.shutdown();
+        for (Thread thread : writers) {
+            thread.join();
+        }
+
+        assertEquals(threads * rowsPerThread, rowCount());
+    }
+
+    private ExecutionMetadataWriter writer(int queueCapacity, OverflowPolicy overflowPolicy) {
+        return new ExecutionMetadataWriter(dataSource, meterRegistry, queueCapacity, 50, 100, overflowPolicy);
+    }
+
+    private int rowCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM DREAM_JOB_EXECUTION_METADATA", Integer.class);
+    }
+
+    private static JobExecutionMetadata row(int i) {
+        Instant now = Instant.now();
+        return JobExecutionMetadata.builder()
+                .jobName("job" + i)
+                .jobGroup("group")
+                .lastScheduledTime(now)
+                .actualFireTime(now)
+                .executionTime(now)
+                .bucketDay(now.getEpochSecond() / 86400)
+                .build();
+    }
+}
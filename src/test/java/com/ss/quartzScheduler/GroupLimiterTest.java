@@ -0,0 +1,170 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.admission.GroupLimiter;
+import com.ss.quartzScheduler.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GroupLimiter class
+ */
+class GroupLimiterTest {
+
+    private long nanoTime = 1_000_000_000L;
+
+    @Test
+    void testTryAcquire_admitsBurstThenRateLimits() {
+        GroupLimiter limiter = limiter(10, 3, 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire().admitted());
+        }
+        GroupLimiter.Decision decision = limiter.tryAcquire();
+        assertFalse(decision.admitted());
+        assertEquals("rate", decision.limit());
+        // One token takes 100ms at 10 per second
+        assertEquals(100, decision.retryAfterMs());
+    }
+
+    @Test
+    void testTryAcquire_refillsTokensOverTime() {
+        GroupLimiter limiter = limiter(10, 3, 0);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+        }
+
+        advance(40);
+        GroupLimiter.Decision decision = limiter.tryAcquire();
+        assertFalse(decision.admitted());
+        assertEquals(60, decision.retryAfterMs());
+
+        advance(60);
+        assertTrue(limiter.tryAcquire().admitted());
+        assertFalse(limiter.tryAcquire().admitted());
+    }
+
+    @Test
+    void testTryAcquire_refillStopsAtBurst() {
+        GroupLimiter limiter = limiter(10, 3, 0);
+        limiter.tryAcquire();
+
+        advance(60_000);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire().admitted());
+        }
+        assertFalse(limiter.tryAcquire().admitted());
+    }
+
+    @Test
+    void testTryAcquire_defaultBurstIsOneSecondOfRate() {
+        GroupLimiter limiter = limiter(2.5, 0, 0);
+
+        assertEquals(3, limiter.limit().getBurst());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire().admitted());
+        }
+        assertFalse(limiter.tryAcquire().admitted());
+    }
+
+    @Test
+    void testTryAcquire_capsInFlightUntilReleased() {
+        GroupLimiter limiter = limiter(0, 0, 2);
+
+        assertTrue(limiter.tryAcquire().admitted());
+        assertTrue(limiter.tryAcquire().admitted());
+        GroupLimiter.Decision decision = limiter.tryAcquire();
+        assertFalse(decision.admitted());
+        assertEquals("in-flight", decision.limit());
+        assertEquals(0, decision.retryAfterMs());
+        assertEquals(2, limiter.inFlight());
+
+        limiter.release();
+        assertEquals(1, limiter.inFlight());
+        assertTrue(limiter.tryAcquire().admitted());
+    }
+
+    @Test
+    void testTryAcquire_inFlightLimitTakesNoToken() {
+        GroupLimiter limiter = limiter(10, 2, 1);
+
+        assertTrue(limiter.tryAcquire().admitted());
+        assertEquals("in-flight", limiter.tryAcquire().limit());
+        limiter.release();
+
+        // The vetoed fire did not use up the second token
+        assertTrue(limiter.tryAcquire().admitted());
+    }
+
+    @Test
+    void testRelease_neverGoesBelowZero() {
+        GroupLimiter limiter = limiter(0, 0, 1);
+        limiter.release();
+
+        assertEquals(0, limiter.inFlight());
+        assertTrue(limiter.tryAcquire().admitted());
+        assertFalse(limiter.tryAcquire().admitted());
+    }
+
+    @Test
+    void testUpdate_keepsTokensAndInFlight() {
+        GroupLimiter limiter = limiter(1, 4, 0);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire();
+        }
+
+        limiter.update(limit(1, 4, 5));
+
+        assertEquals(3, limiter.inFlight());
+        // One token is left, the update did not fill the bucket
+        assertTrue(limiter.tryAcquire().admitted());
+        assertEquals("rate", limiter.tryAcquire().limit());
+
+        advance(2000);
+        assertTrue(limiter.tryAcquire().admitted());
+        // The new in-flight limit counts the fires admitted before the update
+        assertEquals("in-flight", limiter.tryAcquire().limit());
+    }
+
+    @Test
+    void testUpdate_lowerBurstCapsTokens() {
+        GroupLimiter limiter = limiter(1, 10, 0);
+
+        limiter.update(limit(1, 2, 0));
+
+        assertTrue(limiter.tryAcquire().admitted());
+        assertTrue(limiter.tryAcquire().admitted());
+        assertFalse(limiter.tryAcquire().admitted());
+    }
+
+    @Test
+    void testUpdate_removedLimitAdmitsEverything() {
+        GroupLimiter limiter = limiter(1, 1, 1);
+        limiter.tryAcquire();
+
+        limiter.update(new AdmissionProperties.Limit());
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire().admitted());
+        }
+        assertEquals(101, limiter.inFlight());
+    }
+
+    private GroupLimiter limiter(double ratePerSecond, int burst, int maxInFlight) {
+        return new GroupLimiter(limit(ratePerSecond, burst, maxInFlight), () -> nanoTime);
+    }
+
+    private void advance(long millis) {
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static AdmissionProperties.Limit limit(double ratePerSecond, int burst, int maxInFlight) {
+        AdmissionProperties.Limit limit = new AdmissionProperties.Limit();
+        limit.setRatePerSecond(ratePerSecond);
+        limit.setBurst(burst);
+        limit.setMaxInFlight(maxInFlight);
+        return limit;
+    }
+}
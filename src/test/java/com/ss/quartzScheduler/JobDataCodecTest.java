@@ -0,0 +1,139 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.jobstore.JobDataCodec;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDataMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JobDataCodec class
+ */
+class JobDataCodecTest {
+
+    @Test
+    void testEncode_roundTripsEverySupportedType() throws IOException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("string", "value");
+        data.put("emptyString", "");
+        data.put("unicode", "Grüße – 日本");
+        data.put("int", 42);
+        data.put("negativeInt", -1);
+        data.put("minInt", Integer.MIN_VALUE);
+        data.put("maxInt", Integer.MAX_VALUE);
+        data.put("long", 1234567890123L);
+        data.put("negativeLong", -300L);
+        data.put("minLong", Long.MIN_VALUE);
+        data.put("maxLong", Long.MAX_VALUE);
+        data.put("true", true);
+        data.put("false", false);
+        data.put("double", 3.25);
+        data.put("negativeZero", -0.0);
+        data.put("nan", Double.NaN);
+        data.put("float", -1.5f);
+        data.put("date", new Date(1_767_225_600_000L));
+        data.put("dateBeforeEpoch", new Date(-86_400_000L));
+        data.put("null", null);
+
+        Map<String, Object> decoded = JobDataCodec.decode(JobDataCodec.encode(data));
+
+        assertEquals(data, decoded);
+        // Types are kept, not widened
+        assertInstanceOf(Integer.class, decoded.get("negativeInt"));
+        assertInstanceOf(Long.class, decoded.get("negativeLong"));
+        assertInstanceOf(Float.class, decoded.get("float"));
+        assertTrue(decoded.containsKey("null"));
+    }
+
+    @Test
+    void testEncode_emptyMap() throws IOException {
+        assertEquals(Map.of(), JobDataCodec.decode(JobDataCodec.encode(Map.of())));
+    }
+
+    @Test
+    void testEncode_smallNegativeNumbersTakeOneByte() {
+        // Magic, version, count, key length, key, tag, value
+        assertEquals(8, JobDataCodec.encode(Map.of("n", -1)).length);
+        assertEquals(8, JobDataCodec.encode(Map.of("n", -64L)).length);
+        assertEquals(9, JobDataCodec.encode(Map.of("n", -65L)).length);
+    }
+
+    @Test
+    void testEncode_isSmallerThanJavaSerialization() throws IOException {
+        JobDataMap data = new JobDataMap();
+        data.put("cusip", "037833100");
+        data.put("batchSize", 500);
+        data.put("lastRun", new Date());
+
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(data);
+        }
+
+        assertTrue(JobDataCodec.encode(data).length * 5 < serialized.size());
+    }
+
+    @Test
+    void testEncode_equalMapsGiveEqualBytes() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("a", 1);
+        first.put("b", "x");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("b", "x");
+        second.put("a", 1);
+
+        assertArrayEquals(JobDataCodec.encode(first), JobDataCodec.encode(second));
+    }
+
+    @Test
+    void testEncode_returnsNullForUnsupportedValues() {
+        assertNull(JobDataCodec.encode(Map.of("decimal", BigDecimal.ONE)));
+        assertNull(JobDataCodec.encode(Map.of("list", List.of("a"))));
+        assertNull(JobDataCodec.encode(Map.of("array", new int[]{1})));
+        // Date subclasses would come back as plain dates
+        assertNull(JobDataCodec.encode(Map.of("timestamp", new Timestamp(0))));
+        assertNull(JobDataCodec.encode(Map.of("string", "value", "decimal", BigDecimal.ONE)));
+    }
+
+    @Test
+    void testIsEncoded_tellsEncodedFromSerializedBytes() throws IOException {
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(serialized)) {
+            out.writeObject(new JobDataMap(Map.of("key", "value")));
+        }
+
+        assertTrue(JobDataCodec.isEncoded(JobDataCodec.encode(Map.of("key", "value"))));
+        assertFalse(JobDataCodec.isEncoded(serialized.toByteArray()));
+        assertFalse(JobDataCodec.isEncoded(null));
+        assertFalse(JobDataCodec.isEncoded(new byte[]{'J', 'D'}));
+    }
+
+    @Test
+    void testDecode_rejectsUnknownVersionAndType() {
+        byte[] encoded = JobDataCodec.encode(Map.of("key", "value"));
+
+        byte[] futureVersion = encoded.clone();
+        futureVersion[2] = 2;
+        assertThrows(IOException.class, () -> JobDataCodec.decode(futureVersion));
+
+        // The type tag follows the count and the key
+        byte[] unknownType = encoded.clone();
+        unknownType[3 + 1 + 1 + 3] = 99;
+        assertThrows(IOException.class, () -> JobDataCodec.decode(unknownType));
+
+        byte[] truncated = new byte[encoded.length - 2];
+        System.arraycopy(encoded, 0, truncated, 0, truncated.length);
+        assertThrows(IOException.class, () -> JobDataCodec.decode(truncated));
+    }
+}
@@ -0,0 +1,139 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.model.entity.JobUserControl;
+import com.ss.quartzScheduler.repository.JobUserControlRepository;
+import com.ss.quartzScheduler.service.JobStatusCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JobStatusCache class
+ */
+class JobStatusCacheTest {
+
+    private JobUserControlRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private List<List<JobUserControl>> batches;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(JobUserControlRepository.class);
+        when(repository.findByJobNameAndJobGroup(anyString(), anyString())).thenReturn(Optional.empty());
+        meterRegistry = new SimpleMeterRegistry();
+        batches = new ArrayList<>();
+    }
+
+    @Test
+    void testFlush_coalescesTransitionsIntoOneRow() {
+        JobStatusCache cache = new JobStatusCache(repository, batches::add, meterRegistry, 1000);
+        LocalDateTime fireTime = LocalDateTime.of(2026, 1, 5, 9, 0);
+        cache.record("job", "group", fireTime, null, null, "SCHEDULED");
+        cache.record("job", "group", null, fireTime, null, "RUNNING");
+        cache.record("job", "group", null, null, fireTime.plusHours(1), "COMPLETED");
+
+        cache.flush();
+
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).size());
+        JobUserControl row = batches.get(0).get(0);
+        assertEquals("COMPLETED", row.getStatus());
+        assertEquals(fireTime, row.getLastScheduledTime());
+        assertEquals(fireTime, row.getActualFireTime());
+        assertEquals(fireTime.plusHours(1), row.getNextFireTime());
+        assertEquals(2, meterRegistry.get("scheduler.status.cache.coalesced").counter().count());
+
+        // Nothing dirty is left
+        cache.flush();
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    void testFlush_transitionRacingFlushIsWrittenNextTime() {
+        JobStatusCache[] cache = new JobStatusCache[1];
+        cache[0] = new JobStatusCache(repository, batch -> {
+            batches.add(batch);
+            if (batches.size() == 1) {
+                // Transition recorded while the first batch is being written
+                cache[0].record("job", "group", null, null, null, "FAILED");
+            }
+        }, meterRegistry, 1000);
+        cache[0].record("job", "group", null, null, null, "RUNNING");
+
+        cache[0].flush();
+        cache[0].flush();
+
+        assertEquals(2, batches.size());
+        assertEquals("RUNNING", batches.get(0).get(0).getStatus());
+        assertEquals("FAILED", batches.get(1).get(0).getStatus());
+    }
+
+    @Test
+    void testFlush_failedBatchIsRetried() {
+        List<JobUserControl> written = new ArrayList<>();
+        boolean[] fail = {true};
+        JobStatusCache cache = new JobStatusCache(repository, batch -> {
+            if (fail[0]) {
+                throw new IllegalStateException("database down");
+            }
+            written.addAll(batch);
+        }, meterRegistry, 1000);
+        cache.record("job", "group", null, null, null, "RUNNING");
+
+        assertThrows(IllegalStateException.class, cache::flush);
+        fail[0] = false;
+        cache.flush();
+
+        assertEquals(1, written.size());
+    }
+
+    @Test
+    void testGet_cachesAbsentRow() {
+        JobStatusCache cache = new JobStatusCache(repository, batches::add, meterRegistry, 1000);
+
+        assertTrue(cache.get("job", "group").isEmpty());
+        assertTrue(cache.get("job", "group").isEmpty());
+
+        verify(repository, times(1)).findByJobNameAndJobGroup("job", "group");
+        assertEquals(1, meterRegistry.get("scheduler.status.cache.hits").counter().count());
+    }
+
+    @Test
+    void testGet_transitionReplacesAbsentRow() {
+        JobStatusCache cache = new JobStatusCache(repository, batches::add, meterRegistry, 1000);
+        assertTrue(cache.get("job", "group").isEmpty());
+
+        cache.record("job", "group", null, null, null, "SCHEDULED");
+        Optional<JobUserControl> status = cache.get("job", "group");
+
+        assertTrue(status.isPresent());
+        assertEquals("SCHEDULED", status.get().getStatus());
+        verify(repository, times(1)).findByJobNameAndJobGroup("job", "group");
+
+        cache.flush();
+        assertEquals(1, batches.get(0).size());
+    }
+
+    @Test
+    void testGet_mergesPendingTransitionIntoStoredRow() {
+        LocalDateTime scheduled = LocalDateTime.of(2026, 1, 5, 9, 0);
+        when(repository.findByJobNameAndJobGroup("job", "group")).thenReturn(Optional.of(JobUserControl.builder()
+                .id(7L).jobName("job").jobGroup("group").lastScheduledTime(scheduled).status("SCHEDULED").build()));
+        JobStatusCache cache = new JobStatusCache(repository, batches::add, meterRegistry, 1000);
+
+        cache.record("job", "group", null, null, null, "RUNNING");
+        JobUserControl status = cache.get("job", "group").orElseThrow();
+
+        assertEquals("RUNNING", status.getStatus());
+        assertEquals(scheduled, status.getLastScheduledTime());
+        assertEquals(7L, status.getId());
+    }
+}
@@ -0,0 +1,172 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.config.RetryProperties;
+import com.ss.quartzScheduler.job.HelloWorldJob;
+import com.ss.quartzScheduler.retry.RetryScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+/**
+ * Unit tests for RetryScheduler class
+ */
+class RetrySchedulerTest {
+
+    private Scheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private RetryProperties properties;
+    private RetryScheduler retryScheduler;
+    private JobDetail jobDetail;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = mock(Scheduler.class);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new RetryProperties();
+        retryScheduler = new RetryScheduler(properties, meterRegistry);
+        jobDetail = newJob(HelloWorldJob.class).withIdentity("job", "group").build();
+    }
+
+    @Test
+    void testDelayMs_growsExponentially() {
+        RetryProperties.Policy policy = policy(1000, 2.0, 60_000, 0);
+
+        assertEquals(1000, RetryScheduler.delayMs(policy, 0));
+        assertEquals(2000, RetryScheduler.delayMs(policy, 1));
+        assertEquals(4000, RetryScheduler.delayMs(policy, 2));
+        assertEquals(8000, RetryScheduler.delayMs(policy, 3));
+
+        policy.setMultiplier(3.0);
+        assertEquals(9000, RetryScheduler.delayMs(policy, 2));
+    }
+
+    @Test
+    void testDelayMs_isCappedAtMaxDelay() {
+        RetryProperties.Policy policy = policy(1000, 2.0, 10_000, 0);
+
+        assertEquals(8000, RetryScheduler.delayMs(policy, 3));
+        assertEquals(10_000, RetryScheduler.delayMs(policy, 4));
+        assertEquals(10_000, RetryScheduler.delayMs(policy, 50));
+        // Growth far beyond any long stays at the cap
+        assertEquals(10_000, RetryScheduler.delayMs(policy, 5000));
+    }
+
+    @Test
+    void testDelayMs_jitterStaysWithinItsShare() {
+        RetryProperties.Policy policy = policy(1000, 2.0, 60_000, 0.25);
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 10_000; i++) {
+            long delay = RetryScheduler.delayMs(policy, 2);
+            min = Math.min(min, delay);
+            max = Math.max(max, delay);
+        }
+        assertTrue(min >= 3000, "Shortest delay " + min);
+        assertTrue(max <= 4000, "Longest delay " + max);
+        // The delays are actually spread over the jitter share
+        assertTrue(min < 3100 && max > 3900, "Delays between " + min + " and " + max);
+    }
+
+    @Test
+    void testDelayMs_jitterIsClamped() {
+        RetryProperties.Policy negative = policy(1000, 2.0, 60_000, -1);
+        RetryProperties.Policy tooLarge = policy(1000, 2.0, 60_000, 5);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(2000, RetryScheduler.delayMs(negative, 1));
+            long delay = RetryScheduler.delayMs(tooLarge, 1);
+            assertTrue(delay >= 0 && delay <= 2000, "Delay " + delay);
+        }
+    }
+
+    @Test
+    void testScheduleRetry_schedulesNextAttemptWithTriggerData() throws SchedulerException {
+        properties.setDefaultPolicy(policy(1000, 2.0, 60_000, 0));
+        JobDataMap retryData = new JobDataMap();
+        retryData.put("resume", "step-2");
+
+        long before = System.currentTimeMillis();
+        JobExecutionContext context = context(1);
+        assertTrue(retryScheduler.scheduleRetry(context, retryData));
+
+        ArgumentCaptor<Trigger> retry = ArgumentCaptor.forClass(Trigger.class);
+        verify(scheduler).scheduleJob(retry.capture());
+        assertEquals(RetryScheduler.RETRY_TRIGGER_GROUP, retry.getValue().getKey().getGroup());
+        assertEquals(jobDetail.getKey(), retry.getValue().getJobKey());
+        assertEquals(2, retry.getValue().getJobDataMap().getIntValue(RetryScheduler.ATTEMPT_KEY));
+        assertEquals("value", retry.getValue().getJobDataMap().getString("key"));
+        assertEquals("step-2", retry.getValue().getJobDataMap().getString("resume"));
+        long delay = retry.getValue().getStartTime().getTime() - before;
+        assertTrue(delay >= 2000 && delay <= 2000 + System.currentTimeMillis() - before, "Delay " + delay);
+        assertEquals(Boolean.TRUE, context.get(RetryScheduler.RETRY_SCHEDULED_KEY));
+    }
+
+    @Test
+    void testScheduleRetry_stopsAtMaxAttempts() throws SchedulerException {
+        properties.getDefaultPolicy().setMaxAttempts(3);
+
+        assertTrue(retryScheduler.scheduleRetry(context(0), null));
+        assertTrue(retryScheduler.scheduleRetry(context(2), null));
+        JobExecutionContext exhausted = context(3);
+        assertFalse(retryScheduler.scheduleRetry(exhausted, null));
+
+        verify(scheduler, times(2)).scheduleJob(any(Trigger.class));
+        assertNull(exhausted.get(RetryScheduler.RETRY_SCHEDULED_KEY));
+        assertEquals(1, meterRegistry.get("scheduler.job.retries.exhausted").counter().count());
+    }
+
+    @Test
+    void testScheduleRetry_usesPolicyOfJob() throws SchedulerException {
+        RetryProperties.Policy none = new RetryProperties.Policy();
+        none.setMaxAttempts(0);
+        properties.getJobs().put("job", none);
+
+        assertFalse(retryScheduler.scheduleRetry(context(0), null));
+        verify(scheduler, never()).scheduleJob(any(Trigger.class));
+    }
+
+    private JobExecutionContext context(int attempt) {
+        JobDataMap data = new JobDataMap();
+        data.put("key", "value");
+        if (attempt > 0) {
+            data.put(RetryScheduler.ATTEMPT_KEY, attempt);
+        }
+        OperableTrigger trigger = (OperableTrigger) newTrigger().forJob(jobDetail).usingJobData(data).startNow()
+                .build();
+        trigger.setFireInstanceId(UUID.randomUUID().toString());
+        Date now = new Date();
+        return new JobExecutionContextImpl(scheduler,
+                new TriggerFiredBundle(jobDetail, trigger, null, false, now, now, null, null), mock(Job.class));
+    }
+
+    private static RetryProperties.Policy policy(long initialDelayMs, double multiplier, long maxDelayMs,
+                                                 double jitter) {
+        RetryProperties.Policy policy = new RetryProperties.Policy();
+        policy.setInitialDelayMs(initialDelayMs);
+        policy.setMultiplier(multiplier);
+        policy.setMaxDelayMs(maxDelayMs);
+        policy.setJitter(jitter);
+        return policy;
+    }
+}
@@ -0,0 +1,176 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.config.ForecastProperties;
+import com.ss.quartzScheduler.forecast.ScheduleForecaster;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import com.ss.quartzScheduler.model.dto.OversubscribedWindow;
+import com.ss.quartzScheduler.model.dto.SchedulerForecast;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerMetaData;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.spi.OperableTrigger;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.quartz.CronScheduleBuilder.cronSchedule;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+/**
+ * Unit tests for ScheduleForecaster class
+ */
+class ScheduleForecasterTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-05T09:00:30Z");
+
+    private final Map<TriggerKey, Trigger> triggers = new HashMap<>();
+    private JdbcTemplate jdbcTemplate;
+    private ScheduleForecaster forecaster;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE DREAM_JOB_EXECUTION_METADATA (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, job_name VARCHAR(255), job_group VARCHAR(255), " +
+                "last_scheduled_time TIMESTAMP, actual_fire_time TIMESTAMP, next_fire_time TIMESTAMP, " +
+                "execution_time TIMESTAMP, bucket_day BIGINT)");
+
+        Scheduler scheduler = mock(Scheduler.class);
+        when(scheduler.getSchedulerName()).thenReturn("standard");
+        SchedulerMetaData metaData = mock(SchedulerMetaData.class);
+        when(metaData.getThreadPoolSize()).thenReturn(2);
+        when(scheduler.getMetaData()).thenReturn(metaData);
+        when(scheduler.getTriggerGroupNames()).thenReturn(List.of("test"));
+        when(scheduler.getTriggerKeys(any())).thenAnswer(invocation -> triggers.keySet());
+        when(scheduler.getTriggerState(any())).thenReturn(Trigger.TriggerState.NORMAL);
+        when(scheduler.getTrigger(any())).thenAnswer(invocation -> triggers.get(invocation.getArgument(0)));
+        SchedulerLanes lanes = mock(SchedulerLanes.class);
+        when(lanes.getSchedulers()).thenReturn(List.of(scheduler));
+
+        ForecastProperties properties = new ForecastProperties();
+        properties.setDefaultDurationMs(90_000);
+        forecaster = new ScheduleForecaster(lanes, dataSource, properties, NOW::toEpochMilli);
+    }
+
+    @Test
+    void testForecast_concurrencyOfOverlappingCronTriggers() throws Exception {
+        // Every minute and every five minutes, each running for 90 seconds
+        cron("minutely", "0 * * * * ?", null);
+        cron("fiveMinutely", "0 0/5 * * * ?", null);
+
+        SchedulerForecast forecast = forecast(null, Duration.ofMinutes(10));
+
+        // The 08:59 and 09:00 fires are still running at the start of the horizon
+        assertArrayEquals(new int[]{3, 3, 2, 2, 2, 3, 3, 2, 2, 2}, forecast.getConcurrency());
+        assertEquals(2, forecast.getTriggers());
+        assertEquals(13, forecast.getFires());
+        assertEquals(3, forecast.getPeakConcurrency());
+        assertEquals(List.of(window("09:00", "09:02", 3), window("09:05", "09:07", 3)), forecast.getOversubscribed());
+    }
+
+    @Test
+    void testForecast_dueFireRunsNow() throws Exception {
+        // The 09:00 fire has not been picked up yet
+        cron("hourly", "0 0 * * * ?", Instant.parse("2026-01-05T09:00:00Z"));
+
+        SchedulerForecast forecast = forecast(null, Duration.ofMinutes(5));
+
+        // Runs from 09:00:30 to 09:02:00
+        assertArrayEquals(new int[]{1, 1, 1, 0, 0}, forecast.getConcurrency());
+        assertEquals(1, forecast.getFires());
+    }
+
+    @Test
+    void testForecast_futureHorizonHasNoCatchUpFire() throws Exception {
+        cron("hourly", "0 0 * * * ?", null);
+        cron("due", "0 0 * * * ?", Instant.parse("2026-01-05T09:00:00Z"));
+
+        // Both fire before the horizon, at 10:00, and the due fire ran long before it
+        SchedulerForecast forecast = forecast(Instant.parse("2026-01-05T12:10:00Z"), Duration.ofMinutes(30));
+
+        assertEquals(0, forecast.getTriggers());
+        assertEquals(0, forecast.getFires());
+        assertArrayEquals(new int[30], forecast.getConcurrency());
+    }
+
+    @Test
+    void testForecast_horizonStartsAtFireTimeInTheFuture() throws Exception {
+        cron("hourly", "0 0 * * * ?", null);
+
+        SchedulerForecast forecast = forecast(Instant.parse("2026-01-05T12:00:00Z"), Duration.ofMinutes(3));
+
+        assertArrayEquals(new int[]{1, 1, 0}, forecast.getConcurrency());
+        assertEquals(1, forecast.getFires());
+    }
+
+    @Test
+    void testForecast_countsExecutionsStartedBeforeHorizon() throws Exception {
+        cron("hourly", "0 0 * * * ?", null);
+
+        // The 12:00 fire runs until 12:01:30
+        SchedulerForecast forecast = forecast(Instant.parse("2026-01-05T12:01:00Z"), Duration.ofMinutes(3));
+
+        assertArrayEquals(new int[]{1, 0, 0}, forecast.getConcurrency());
+        assertEquals(1, forecast.getFires());
+    }
+
+    @Test
+    void testForecast_averagesDurationsOfHistoryBeforeNow() throws Exception {
+        cron("hourly", "0 0 * * * ?", null);
+        // Within the last 7 days before now, and a month before
+        execution("hourly", Instant.parse("2026-01-04T10:00:00Z"), Duration.ofSeconds(150));
+        execution("hourly", Instant.parse("2025-12-01T10:00:00Z"), Duration.ofHours(1));
+
+        SchedulerForecast forecast = forecast(Instant.parse("2026-01-05T12:00:00Z"), Duration.ofMinutes(5));
+
+        // Runs from 12:00 to 12:02:30
+        assertArrayEquals(new int[]{1, 1, 1, 0, 0}, forecast.getConcurrency());
+    }
+
+    private SchedulerForecast forecast(Instant from, Duration horizon) throws Exception {
+        return forecaster.forecast(from, horizon).getSchedulers().get(0);
+    }
+
+    private static OversubscribedWindow window(String start, String end, int peak) {
+        return new OversubscribedWindow(Instant.parse("2026-01-05T" + start + ":00Z"),
+                Instant.parse("2026-01-05T" + end + ":00Z"), peak);
+    }
+
+    private void execution(String jobName, Instant fireTime, Duration duration) {
+        jdbcTemplate.update("INSERT INTO DREAM_JOB_EXECUTION_METADATA (job_name, job_group, actual_fire_time, " +
+                        "execution_time, bucket_day) VALUES (?, ?, ?, ?, ?)", jobName, "test", Timestamp.from(fireTime),
+                Timestamp.from(fireTime.plus(duration)), fireTime.getEpochSecond() / 86400);
+    }
+
+    /**
+     * Store a cron trigger whose next fire is the first after now, or the given due fire time
+     */
+    private void cron(String name, String expression, Instant dueFireTime) {
+        OperableTrigger trigger = (OperableTrigger) newTrigger()
+                .withIdentity(name, "test")
+                .forJob(name, "test")
+                .startAt(Date.from(NOW.minus(Duration.ofDays(1))))
+                .withSchedule(cronSchedule(expression).inTimeZone(TimeZone.getTimeZone("UTC")))
+                .build();
+        trigger.setNextFireTime(dueFireTime != null ? Date.from(dueFireTime)
+                : trigger.getFireTimeAfter(Date.from(NOW)));
+        triggers.put(trigger.getKey(), trigger);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.lane.ShardRing;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobKey;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShardRing class
+ */
+class ShardRingTest {
+
+    private static final int KEY_COUNT = 20_000;
+
+    @Test
+    void testShardOf_sameKeyAlwaysRoutesToSameShard() {
+        ShardRing ring = new ShardRing(5);
+        ShardRing other = new ShardRing(5);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            JobKey jobKey = key(i);
+            int shard = ring.shardOf(jobKey);
+            assertTrue(shard >= 0 && shard < 5);
+            assertEquals(shard, ring.shardOf(JobKey.jobKey(jobKey.getName(), jobKey.getGroup())));
+            assertEquals(shard, other.shardOf(jobKey));
+        }
+    }
+
+    @Test
+    void testShardOf_singleShardOwnsEveryKey() {
+        ShardRing ring = new ShardRing(1);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, ring.shardOf(key(i)));
+        }
+    }
+
+    @Test
+    void testShardOf_spreadsKeysEvenly() {
+        for (int shardCount = 2; shardCount <= 8; shardCount++) {
+            ShardRing ring = new ShardRing(shardCount);
+            int[] counts = new int[shardCount];
+            for (int i = 0; i < KEY_COUNT; i++) {
+                counts[ring.shardOf(key(i))]++;
+            }
+            double expected = (double) KEY_COUNT / shardCount;
+            for (int shard = 0; shard < shardCount; shard++) {
+                assertTrue(counts[shard] > expected * 0.7 && counts[shard] < expected * 1.3,
+                        "Shard " + shard + " of " + shardCount + " owns " + counts[shard] + " keys");
+            }
+        }
+    }
+
+    @Test
+    void testShardOf_addingShardMovesOnlyItsShareOfKeys() {
+        for (int shardCount = 1; shardCount <= 8; shardCount++) {
+            ShardRing before = new ShardRing(shardCount);
+            ShardRing after = new ShardRing(shardCount + 1);
+            int moved = 0;
+            for (int i = 0; i < KEY_COUNT; i++) {
+                int from = before.shardOf(key(i));
+                int to = after.shardOf(key(i));
+                if (from != to) {
+                    // Keys only move to the new shard, never between the existing ones
+                    assertEquals(shardCount, to);
+                    moved++;
+                }
+            }
+            double expected = (double) KEY_COUNT / (shardCount + 1);
+            assertTrue(moved > expected * 0.7 && moved < expected * 1.3,
+                    "Going from " + shardCount + " to " + (shardCount + 1) + " shards moved " + moved + " keys");
+        }
+    }
+
+    private static JobKey key(int i) {
+        return JobKey.jobKey("job-" + i, i % 3 == 0 ? "DREAM" : "group-" + (i % 7));
+    }
+}
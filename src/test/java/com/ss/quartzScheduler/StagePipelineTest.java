@@ -0,0 +1,74 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.pipeline.PipelineResult;
+import com.ss.quartzScheduler.pipeline.StagePipeline;
+import com.ss.quartzScheduler.pipeline.StageTiming;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StagePipeline class
+ */
+class StagePipelineTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testSubmit_timeQueuedDoesNotCountAgainstTimeout() throws Exception {
+        // The second stage waits for the only thread longer than its timeout, but runs well within it
+        PipelineResult result = StagePipeline.named("queued")
+                .stage("slow", executor, null, () -> Thread.sleep(300))
+                .stage("quick", executor, Duration.ofMillis(200), () -> Thread.sleep(10))
+                .submit().get(5, TimeUnit.SECONDS);
+
+        assertTrue(result.isSuccess());
+        StageTiming quick = timing(result.getTimings(), "quick");
+        assertTrue(quick.isSuccess());
+        assertTrue(quick.getQueuedMillis() >= 250, "queued " + quick.getQueuedMillis() + "ms");
+    }
+
+    @Test
+    void testSubmit_cancelsStageRunningPastTimeout() throws Exception {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        AtomicInteger skipped = new AtomicInteger();
+        PipelineResult result = StagePipeline.named("stuck")
+                .stage("stuck", executor, Duration.ofMillis(100), () -> {
+                    try {
+                        Thread.sleep(5_000);
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                        throw e;
+                    }
+                })
+                .stage("after", executor, null, skipped::incrementAndGet, "stuck")
+                .submit().get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.isSuccess());
+        assertInstanceOf(TimeoutException.class, result.getFailure());
+        assertEquals("timed out after 100ms", timing(result.getTimings(), "stuck").getError());
+        assertEquals(0, skipped.get());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(interrupted.get());
+    }
+
+    private static StageTiming timing(List<StageTiming> timings, String stage) {
+        return timings.stream().filter(timing -> timing.getStage().equals(stage)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,266 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.job.HelloWorldJob;
+import com.ss.quartzScheduler.jobstore.WalJobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.quartz.Job;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.PersistJobDataAfterExecution;
+import org.quartz.Trigger;
+import org.quartz.Trigger.CompletedExecutionInstruction;
+import org.quartz.TriggerKey;
+import org.quartz.simpl.CascadingClassLoadHelper;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.SchedulerSignaler;
+import org.quartz.spi.TriggerFiredBundle;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.quartz.JobBuilder.newJob;
+import static org.quartz.SimpleScheduleBuilder.simpleSchedule;
+import static org.quartz.TriggerBuilder.newTrigger;
+
+/**
+ * Unit tests for WalJobStore class
+ */
+class WalJobStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<WalJobStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(WalJobStore::shutdown);
+    }
+
+    @Test
+    void testInitialize_replaysLogAfterRestart() throws Exception {
+        WalJobStore store = open();
+        store.storeJobAndTrigger(job("a"), trigger("a"));
+        store.storeJobAndTrigger(job("b"), trigger("b"));
+        store.storeJobAndTrigger(job("c"), trigger("c"));
+        store.pauseTrigger(TriggerKey.triggerKey("b", "test"));
+        store.removeJob(JobKey.jobKey("c", "test"));
+
+        // The first store is not shut down, like a crashed process
+        WalJobStore restarted = open();
+
+        assertNotNull(restarted.retrieveJob(JobKey.jobKey("a", "test")));
+        assertNotNull(restarted.retrieveTrigger(TriggerKey.triggerKey("a", "test")));
+        assertEquals(Trigger.TriggerState.PAUSED, restarted.getTriggerState(TriggerKey.triggerKey("b", "test")));
+        assertNull(restarted.retrieveJob(JobKey.jobKey("c", "test")));
+        assertEquals(2, restarted.getNumberOfJobs());
+    }
+
+    @Test
+    void testInitialize_cutsOffCorruptTailRecord() throws Exception {
+        WalJobStore store = open();
+        store.storeJob(job("a"), false);
+        store.storeJob(job("b"), false);
+
+        corruptLastRecord(lastSegment());
+        WalJobStore restarted = open();
+
+        assertNotNull(restarted.retrieveJob(JobKey.jobKey("a", "test")));
+        assertNull(restarted.retrieveJob(JobKey.jobKey("b", "test")));
+
+        // The store keeps logging after the cut off record
+        restarted.storeJob(job("c"), false);
+        WalJobStore again = open();
+        assertNotNull(again.retrieveJob(JobKey.jobKey("a", "test")));
+        assertNotNull(again.retrieveJob(JobKey.jobKey("c", "test")));
+    }
+
+    @Test
+    void testInitialize_ignoresTornTailRecord() throws Exception {
+        WalJobStore store = open();
+        store.storeJob(job("a"), false);
+        store.storeJob(job("b"), false);
+
+        // A crash after the length was published but before the payload reached the disk
+        Path segment = lastSegment();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long last = recordOffsets(file).get(1);
+            file.seek(last);
+            int length = file.readInt();
+            file.seek(last + 2 * Integer.BYTES + length / 2);
+            file.write(new byte[length - length / 2]);
+        }
+        WalJobStore restarted = open();
+
+        assertNotNull(restarted.retrieveJob(JobKey.jobKey("a", "test")));
+        assertNull(restarted.retrieveJob(JobKey.jobKey("b", "test")));
+    }
+
+    @Test
+    void testSnapshot_deletesCoveredSegmentsAndReplaysTheRest() throws Exception {
+        WalJobStore store = open();
+        store.storeJobAndTrigger(job("a"), trigger("a"));
+        Path coveredSegment = lastSegment();
+
+        store.snapshot();
+        store.storeJobAndTrigger(job("b"), trigger("b"));
+
+        assertFalse(Files.exists(coveredSegment));
+        assertEquals(1, files("snapshot-").size());
+        assertEquals(1, files("wal-").size());
+
+        WalJobStore restarted = open();
+        assertNotNull(restarted.retrieveJob(JobKey.jobKey("a", "test")));
+        assertNotNull(restarted.retrieveJob(JobKey.jobKey("b", "test")));
+        assertNotNull(restarted.retrieveTrigger(TriggerKey.triggerKey("b", "test")));
+    }
+
+    @Test
+    void testTriggeredJobComplete_jobDataSurvivesRestart() throws Exception {
+        WalJobStore store = open();
+        JobDetail job = newJob(CountingJob.class).withIdentity("counter", "test").usingJobData("count", 0).build();
+        store.storeJobAndTrigger(job, trigger("counter"));
+
+        TriggerFiredBundle bundle = fire(store, "counter");
+        JobDetail executed = bundle.getJobDetail();
+        executed.getJobDataMap().put("count", 1);
+        store.triggeredJobComplete(bundle.getTrigger(), executed, CompletedExecutionInstruction.NOOP);
+
+        WalJobStore restarted = open();
+        assertEquals(1, restarted.retrieveJob(job.getKey()).getJobDataMap().getInt("count"));
+        // The trigger moved on to its next fire
+        assertEquals(bundle.getNextFireTime(),
+                restarted.retrieveTrigger(TriggerKey.triggerKey("counter", "test")).getNextFireTime());
+    }
+
+    @Test
+    void testTriggeredJobComplete_errorStateSurvivesRestart() throws Exception {
+        WalJobStore store = open();
+        store.storeJobAndTrigger(job("a"), trigger("a"));
+        TriggerKey triggerKey = TriggerKey.triggerKey("a", "test");
+
+        TriggerFiredBundle bundle = fire(store, "a");
+        store.triggeredJobComplete(bundle.getTrigger(), bundle.getJobDetail(),
+                CompletedExecutionInstruction.SET_TRIGGER_ERROR);
+
+        // Replayed from the log
+        WalJobStore restarted = open();
+        assertEquals(Trigger.TriggerState.ERROR, restarted.getTriggerState(triggerKey));
+
+        // Restored from the snapshot taken on startup
+        WalJobStore fromSnapshot = open();
+        assertEquals(Trigger.TriggerState.ERROR, fromSnapshot.getTriggerState(triggerKey));
+
+        fromSnapshot.resetTriggerFromErrorState(triggerKey);
+        assertEquals(Trigger.TriggerState.NORMAL, open().getTriggerState(triggerKey));
+    }
+
+    @Test
+    void testTriggeredJobComplete_completeStateSurvivesRestart() throws Exception {
+        WalJobStore store = open();
+        store.storeJobAndTrigger(job("a"), trigger("a"));
+
+        TriggerFiredBundle bundle = fire(store, "a");
+        store.triggeredJobComplete(bundle.getTrigger(), bundle.getJobDetail(),
+                CompletedExecutionInstruction.SET_TRIGGER_COMPLETE);
+
+        assertEquals(Trigger.TriggerState.COMPLETE, open().getTriggerState(TriggerKey.triggerKey("a", "test")));
+    }
+
+    /**
+     * Open a store on the test directory, recovering whatever an earlier store left there
+     */
+    private WalJobStore open() {
+        WalJobStore store = new WalJobStore();
+        store.setWalDirectory(directory.toString());
+        store.setSegmentSizeBytes(64 * 1024);
+        store.setSnapshotIntervalMs(3_600_000);
+        CascadingClassLoadHelper loadHelper = new CascadingClassLoadHelper();
+        loadHelper.initialize();
+        store.initialize(loadHelper, mock(SchedulerSignaler.class));
+        store.schedulerStarted();
+        stores.add(store);
+        return store;
+    }
+
+    private static TriggerFiredBundle fire(WalJobStore store, String name) throws Exception {
+        List<OperableTrigger> acquired = store.acquireNextTriggers(System.currentTimeMillis() + 1000, 1, 0);
+        assertEquals(TriggerKey.triggerKey(name, "test"), acquired.get(0).getKey());
+        return store.triggersFired(acquired).get(0).getTriggerFiredBundle();
+    }
+
+    private static JobDetail job(String name) {
+        return newJob(HelloWorldJob.class).withIdentity(name, "test").storeDurably().build();
+    }
+
+    private static OperableTrigger trigger(String name) {
+        OperableTrigger trigger = (OperableTrigger) newTrigger()
+                .withIdentity(name, "test")
+                .forJob(name, "test")
+                .startAt(new Date(System.currentTimeMillis() - 100))
+                .withSchedule(simpleSchedule().withIntervalInHours(1).repeatForever())
+                .build();
+        trigger.computeFirstFireTime(null);
+        return trigger;
+    }
+
+    private Path lastSegment() throws IOException {
+        List<Path> segments = files("wal-");
+        return segments.get(segments.size() - 1);
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).sorted().toList();
+        }
+    }
+
+    /**
+     * Flip a payload byte of the last record so its checksum no longer matches
+     */
+    private static void corruptLastRecord(Path segment) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            List<Long> offsets = recordOffsets(file);
+            long payload = offsets.get(offsets.size() - 1) + 2 * Integer.BYTES;
+            file.seek(payload + 10);
+            int value = file.read();
+            file.seek(payload + 10);
+            file.write(value ^ 0xFF);
+        }
+    }
+
+    /**
+     * Offsets of the {@code [int length][int crc32][payload]} records of a segment
+     */
+    private static List<Long> recordOffsets(RandomAccessFile file) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        long offset = 0;
+        while (true) {
+            file.seek(offset);
+            int length = file.readInt();
+            if (length == 0) {
+                return offsets;
+            }
+            offsets.add(offset);
+            offset += 2 * Integer.BYTES + length;
+        }
+    }
+
+    @PersistJobDataAfterExecution
+    public static class CountingJob implements Job {
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.ss.quartzScheduler;
+
+import com.ss.quartzScheduler.exception.JobManagementException;
+import com.ss.quartzScheduler.job.ADRJob;
+import com.ss.quartzScheduler.lane.SchedulerLanes;
+import com.ss.quartzScheduler.model.dto.WorkflowDefinitionRequest;
+import com.ss.quartzScheduler.model.dto.WorkflowRunDto;
+import com.ss.quartzScheduler.model.dto.WorkflowRunStepDto;
+import com.ss.quartzScheduler.model.dto.WorkflowStepDefinition;
+import com.ss.quartzScheduler.model.enums.WorkflowRunStatus;
+import com.ss.quartzScheduler.model.enums.WorkflowStepStatus;
+import com.ss.quartzScheduler.workflow.WorkflowEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.stream.Collectors;
+
+import static com.ss.quartzScheduler.util.CronUtil.GROUP_NAME;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkflowEngine class
+ */
+class WorkflowEngineTest {
+
+    private SchedulerLanes lanes;
+    private Scheduler scheduler;
+    private WorkflowEngine engine;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        ResourceDatabasePopulator populator =
+                new ResourceDatabasePopulator(new ClassPathResource("quartz/schema-h2.sql"));
+        // Only the workflow tables are needed, skip the statements of the script H2 does not accept
+        populator.setContinueOnError(true);
+        populator.execute(dataSource);
+
+        scheduler = mock(Scheduler.class);
+        when(scheduler.getJobDetail(any())).thenAnswer(invocation -> JobBuilder.newJob(ADRJob.class)
+                .withIdentity((JobKey) invocation.getArgument(0)).storeDurably().build());
+        lanes = mock(SchedulerLanes.class);
+        when(lanes.find(any())).thenReturn(scheduler);
+        ObjectProvider<SchedulerLanes> lanesProvider = mock(ObjectProvider.class);
+        when(lanesProvider.getObject()).thenReturn(lanes);
+
+        engine = new WorkflowEngine(dataSource, lanesProvider);
+    }
+
+    @Test
+    void testDefine_rejectsDuplicateSteps() {
+        JobManagementException e = assertThrows(JobManagementException.class,
+                () -> engine.define(workflow(step("a"), step("b"), step("a", "b"))));
+        assertEquals("Duplicate step: a", e.getMessage());
+        verifyNoInteractions(lanes);
+    }
+
+    @Test
+    void testDefine_rejectsUnknownDependency() {
+        JobManagementException e = assertThrows(JobManagementException.class,
+                () -> engine.define(workflow(step("a"), step("b", "missing"))));
+        assertEquals("Step b depends on unknown step missing", e.getMessage());
+        verifyNoInteractions(lanes);
+    }
+
+    @Test
+    void testDefine_rejectsCycle() {
+        JobManagementException e = assertThrows(JobManagementException.class,
+                () -> engine.define(workflow(step("a"), step("b", "a", "d"), step("c", "b"), step("d", "c"))));
+        assertEquals("Workflow steps have a dependency cycle", e.getMessage());
+
+        // A step depending on itself is a cycle too
+        assertThrows(JobManagementException.class, () -> engine.define(workflow(step("a", "a"))));
+        verifyNoInteractions(lanes);
+    }
+
+    @Test
+    void testStartRun_firesStepsWithoutUpstreamSteps() throws Exception {
+        engine.define(workflow(step("a"), step("b"), step("c", "a", "b")));
+
+        long runId = engine.startRun("daily");
+
+        verify(scheduler).triggerJob(eq(JobKey.jobKey("a", GROUP_NAME)), any(JobDataMap.class));
+        verify(scheduler).triggerJob(eq(JobKey.jobKey("b", GROUP_NAME)), any(JobDataMap.class));
+        verify(scheduler, never()).triggerJob(eq(JobKey.jobKey("c", GROUP_NAME)), any(JobDataMap.class));
+        assertEquals(WorkflowStepStatus.RUNNING, steps(runId).get("a"));
+        assertEquals(WorkflowStepStatus.PENDING, steps(runId).get("c"));
+
+        // A second run waits for the first one
+        assertThrows(JobManagementException.class, () -> engine.startRun("daily"));
+    }
+
+    @Test
+    void testStepFinished_fanInStepFiresOnceWhenUpstreamStepsFinishConcurrently() throws Exception {
+        engine.define(workflow(step("a"), step("b"), step("c", "a", "b")));
+
+        for (int round = 0; round < 20; round++) {
+            long runId = engine.startRun("daily");
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            List<Thread> threads = new ArrayList<>();
+            for (String upstream : List.of("a", "b")) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        barrier.await();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    engine.stepFinished(runId, upstream, true);
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            verify(scheduler, times(round + 1)).triggerJob(eq(JobKey.jobKey("c", GROUP_NAME)),
+                    any(JobDataMap.class));
+            assertEquals(WorkflowStepStatus.RUNNING, steps(runId).get("c"));
+
+            engine.stepFinished(runId, "c", true);
+            assertEquals(WorkflowRunStatus.COMPLETED, engine.getRun(runId).orElseThrow().getStatus());
+        }
+    }
+
+    @Test
+    void testStepFinished_failedStepSkipsPendingSteps() throws Exception {
+        engine.define(workflow(step("a"), step("b", "a"), step("c", "b"), step("x")));
+        long runId = engine.startRun("daily");
+
+        engine.stepFinished(runId, "a", false);
+
+        WorkflowRunDto run = engine.getRun(runId).orElseThrow();
+        assertEquals(WorkflowRunStatus.FAILED, run.getStatus());
+        Map<String, WorkflowStepStatus> steps = steps(runId);
+        assertEquals(WorkflowStepStatus.FAILED, steps.get("a"));
+        assertEquals(WorkflowStepStatus.SKIPPED, steps.get("b"));
+        assertEquals(WorkflowStepStatus.SKIPPED, steps.get("c"));
+        // A step already running finishes, but starts nothing
+        assertEquals(WorkflowStepStatus.RUNNING, steps.get("x"));
+
+        engine.stepFinished(runId, "x", true);
+        assertEquals(WorkflowStepStatus.COMPLETED, steps(runId).get("x"));
+        assertEquals(WorkflowRunStatus.FAILED, engine.getRun(runId).orElseThrow().getStatus());
+        verify(scheduler, never()).triggerJob(eq(JobKey.jobKey("b", GROUP_NAME)), any(JobDataMap.class));
+    }
+
+    @Test
+    void testStepFinished_ignoresSecondReport() throws Exception {
+        engine.define(workflow(step("a"), step("b", "a")));
+        long runId = engine.startRun("daily");
+
+        engine.stepFinished(runId, "a", true);
+        engine.stepFinished(runId, "a", false);
+
+        assertEquals(WorkflowRunStatus.RUNNING, engine.getRun(runId).orElseThrow().getStatus());
+        assertEquals(WorkflowStepStatus.COMPLETED, steps(runId).get("a"));
+        verify(scheduler, times(1)).triggerJob(eq(JobKey.jobKey("b", GROUP_NAME)), any(JobDataMap.class));
+    }
+
+    private Map<String, WorkflowStepStatus> steps(long runId) {
+        return engine.getRun(runId).orElseThrow().getSteps().stream()
+                .collect(Collectors.toMap(WorkflowRunStepDto::getStepName, WorkflowRunStepDto::getStatus));
+    }
+
+    private static WorkflowDefinitionRequest workflow(WorkflowStepDefinition... steps) {
+        WorkflowDefinitionRequest request = new WorkflowDefinitionRequest();
+        request.setWorkflowName("daily");
+        request.setSteps(List.of(steps));
+        return request;
+    }
+
+    private static WorkflowStepDefinition step(String name, String... dependsOn) {
+        WorkflowStepDefinition step = new WorkflowStepDefinition();
+        step.setJobName(name);
+        step.setDependsOn(List.of(dependsOn));
+        return step;
+    }
+}